@@ -21,6 +21,9 @@ public final class ClientConfig implements IClientConfig {
 	private final Supplier<Boolean> centerSearchBarEnabled;
 	private final Supplier<Boolean> lowMemorySlowSearchEnabled;
 	private final Supplier<Boolean> catchRenderErrorsEnabled;
+	private final Supplier<Boolean> batchedItemRenderingEnabled;
+	private final Supplier<Boolean> ingredientGridTextureCacheEnabled;
+	private final Supplier<Integer> tooltipCacheTimeout;
 	private final Supplier<Boolean> cheatToHotbarUsingHotkeysEnabled;
 	private final Supplier<Boolean> addBookmarksToFrontEnabled;
 	private final Supplier<Boolean> lookupFluidContentsEnabled;
@@ -53,6 +56,23 @@ public final class ClientConfig implements IClientConfig {
 			!isDev,
 			"Catch render errors from ingredients and attempt to recover from them instead of crashing."
 		);
+		batchedItemRenderingEnabled = advanced.addBoolean(
+			"BatchedItemRenderingEnabled",
+			true,
+			"Draw the items in the ingredient list together in batches, which is faster. Disable this if items are drawn incorrectly."
+		);
+		ingredientGridTextureCacheEnabled = advanced.addBoolean(
+			"IngredientGridTextureCacheEnabled",
+			false,
+			"Draw each page of the ingredient list once into a texture and reuse it until the page changes (experimental)."
+		);
+		tooltipCacheTimeout = advanced.addInteger(
+			"TooltipCacheTimeout",
+			1000,
+			0,
+			60000,
+			"How long in milliseconds to reuse the tooltip of a hovered ingredient list entry before building it again. Set to 0 to disable."
+		);
 		cheatToHotbarUsingHotkeysEnabled = advanced.addBoolean(
 			"CheatToHotbarUsingHotkeysEnabled",
 			false,
@@ -138,6 +158,21 @@ public final class ClientConfig implements IClientConfig {
 		return catchRenderErrorsEnabled.get();
 	}
 
+	@Override
+	public boolean isBatchedItemRenderingEnabled() {
+		return batchedItemRenderingEnabled.get();
+	}
+
+	@Override
+	public boolean isIngredientGridTextureCacheEnabled() {
+		return ingredientGridTextureCacheEnabled.get();
+	}
+
+	@Override
+	public int getTooltipCacheTimeout() {
+		return tooltipCacheTimeout.get();
+	}
+
 	@Override
 	public boolean isCheatToHotbarUsingHotkeysEnabled() {
 		return cheatToHotbarUsingHotkeysEnabled.get();
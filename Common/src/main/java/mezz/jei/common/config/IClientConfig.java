@@ -14,6 +14,12 @@ public interface IClientConfig {
 
 	boolean isCatchRenderErrorsEnabled();
 
+	boolean isBatchedItemRenderingEnabled();
+
+	boolean isIngredientGridTextureCacheEnabled();
+
+	int getTooltipCacheTimeout();
+
 	boolean isCheatToHotbarUsingHotkeysEnabled();
 
 	boolean isAddingBookmarksToFrontEnabled();
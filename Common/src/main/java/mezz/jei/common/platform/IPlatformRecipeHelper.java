@@ -15,5 +15,10 @@ public interface IPlatformRecipeHelper {
 	Ingredient getTemplate(SmithingRecipe recipe);
 	boolean isHandled(SmithingRecipe recipe);
 
+	/**
+	 * Implementations must be read-only (only read registries, the ingredient manager and potionBrewing),
+	 * because JEI calls this from a background thread.
+	 * The returned list must be mutable.
+	 */
 	List<IJeiBrewingRecipe> getBrewingRecipes(IIngredientManager ingredientManager, IVanillaRecipeFactory vanillaRecipeFactory, PotionBrewing potionBrewing);
 }
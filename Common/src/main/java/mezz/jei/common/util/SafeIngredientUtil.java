@@ -82,7 +82,7 @@ public final class SafeIngredientUtil {
 	}
 
 	public static <T> void render(GuiGraphics guiGraphics, IIngredientRenderer<T> ingredientRenderer, ITypedIngredient<T> typedIngredient) {
-		if (CRASHING_INGREDIENT_RENDER_CACHE.getIfPresent(typedIngredient) == Boolean.TRUE) {
+		if (hasRenderCrashed(typedIngredient)) {
 			renderError(guiGraphics);
 			return;
 		}
@@ -91,16 +91,32 @@ public final class SafeIngredientUtil {
 		try {
 			ingredientRenderer.render(guiGraphics, ingredient);
 		} catch (RuntimeException | LinkageError e) {
-			CRASHING_INGREDIENT_RENDER_CACHE.put(typedIngredient, Boolean.TRUE);
-
-			IIngredientManager ingredientManager = Internal.getJeiRuntime().getIngredientManager();
-			if (shouldCatchRenderErrors()) {
-				ErrorUtil.logIngredientCrash(e, "Caught an error rendering an Ingredient", ingredientManager, typedIngredient);
-				renderError(guiGraphics);
-			} else {
-				CrashReport crashReport = ErrorUtil.createIngredientCrashReport(e, "Rendering ingredient", ingredientManager, typedIngredient);
-				throw new ReportedException(crashReport);
-			}
+			handleRenderError(guiGraphics, typedIngredient, e);
+		}
+	}
+
+	/**
+	 * @return true if rendering this ingredient has recently crashed, so it should be drawn as an error instead.
+	 */
+	public static boolean hasRenderCrashed(ITypedIngredient<?> typedIngredient) {
+		return CRASHING_INGREDIENT_RENDER_CACHE.getIfPresent(typedIngredient) == Boolean.TRUE;
+	}
+
+	/**
+	 * Handles an error from rendering an ingredient without going through {@link #render},
+	 * for example when many ingredients are rendered together in a batch.
+	 * Depending on the config this either draws an error in place of the ingredient or crashes the game.
+	 */
+	public static <T> void handleRenderError(GuiGraphics guiGraphics, ITypedIngredient<T> typedIngredient, Throwable e) {
+		CRASHING_INGREDIENT_RENDER_CACHE.put(typedIngredient, Boolean.TRUE);
+
+		IIngredientManager ingredientManager = Internal.getJeiRuntime().getIngredientManager();
+		if (shouldCatchRenderErrors()) {
+			ErrorUtil.logIngredientCrash(e, "Caught an error rendering an Ingredient", ingredientManager, typedIngredient);
+			renderError(guiGraphics);
+		} else {
+			CrashReport crashReport = ErrorUtil.createIngredientCrashReport(e, "Rendering ingredient", ingredientManager, typedIngredient);
+			throw new ReportedException(crashReport);
 		}
 	}
 
@@ -1,17 +1,39 @@
 package mezz.jei.common.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import mezz.jei.api.constants.VanillaTypes;
 import mezz.jei.api.helpers.IStackHelper;
 import mezz.jei.api.ingredients.subtypes.ISubtypeManager;
 import mezz.jei.api.ingredients.subtypes.UidContext;
+import net.minecraft.core.component.DataComponentPatch;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class StackHelper implements IStackHelper {
+	/**
+	 * Stacks with components are less likely to be seen again, so only the most recently used ones are kept.
+	 */
+	private static final int MAX_CACHED_COMPONENT_UIDS = 10_000;
+
 	private final ISubtypeManager subtypeManager;
+	/**
+	 * Unique ids of stacks with no components, which only depend on the item.
+	 */
+	private final Map<UidKey, String> itemUids = new ConcurrentHashMap<>();
+	/**
+	 * Unique ids of stacks with components.
+	 * The keys hold the stack's component patch but not the stack, so transient stacks are not kept alive.
+	 */
+	private final Cache<UidKey, String> componentUids = CacheBuilder.newBuilder()
+		.maximumSize(MAX_CACHED_COMPONENT_UIDS)
+		.build();
 
 	public StackHelper(ISubtypeManager subtypeManager) {
 		this.subtypeManager = subtypeManager;
@@ -37,8 +59,36 @@ public class StackHelper implements IStackHelper {
 		return keyLhs.equals(keyRhs);
 	}
 
+	/**
+	 * Subtype interpreters only look at the item and its components,
+	 * so the unique id is cached for each item and component patch instead of being built again for every stack.
+	 */
 	@Override
 	public String getUniqueIdentifierForStack(ItemStack stack, UidContext context) {
+		if (stack.isEmpty()) {
+			return getUncachedUniqueIdentifierForStack(stack, context);
+		}
+		Item item = stack.getItem();
+		if (stack.isComponentsPatchEmpty()) {
+			UidKey key = new UidKey(item, DataComponentPatch.EMPTY, context);
+			String uid = itemUids.get(key);
+			if (uid == null) {
+				uid = getUncachedUniqueIdentifierForStack(stack, context);
+				itemUids.put(key, uid);
+			}
+			return uid;
+		}
+
+		UidKey key = new UidKey(item, stack.getComponentsPatch(), context);
+		String uid = componentUids.getIfPresent(key);
+		if (uid == null) {
+			uid = getUncachedUniqueIdentifierForStack(stack, context);
+			componentUids.put(key, uid);
+		}
+		return uid;
+	}
+
+	private String getUncachedUniqueIdentifierForStack(ItemStack stack, UidContext context) {
 		String result = getRegistryNameForStack(stack);
 		String subtypeInfo = subtypeManager.getSubtypeInfo(stack, context);
 		if (!subtypeInfo.isEmpty()) {
@@ -65,4 +115,6 @@ public class StackHelper implements IStackHelper {
 		}
 		return key.toString();
 	}
+
+	private record UidKey(Item item, DataComponentPatch components, UidContext context) {}
 }
@@ -5,6 +5,8 @@ import mezz.jei.api.ingredients.IIngredientType;
 import mezz.jei.api.ingredients.ITypedIngredient;
 import mezz.jei.api.registration.IRecipeRegistration;
 
+import java.util.Collection;
+
 /**
  * The {@link IIngredientVisibility} allows mod plugins to do advanced filtering of
  * ingredients based on what is visible in JEI.
@@ -55,5 +57,19 @@ public interface IIngredientVisibility {
 		 * @since 11.5.0
 		 */
 		<V> void onIngredientVisibilityChanged(ITypedIngredient<V> ingredient, boolean visible);
+
+		/**
+		 * Called when many ingredients are made visible or invisible at once,
+		 * for example when ingredients are added or removed at runtime.
+		 *
+		 * Override this to handle the whole batch at once instead of one ingredient at a time.
+		 *
+		 * @since 19.5.0
+		 */
+		default <V> void onIngredientsVisibilityChanged(Collection<ITypedIngredient<V>> ingredients, boolean visible) {
+			for (ITypedIngredient<V> ingredient : ingredients) {
+				onIngredientVisibilityChanged(ingredient, visible);
+			}
+		}
 	}
 }
@@ -0,0 +1,76 @@
+package mezz.jei.core.collect;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Computes the closure of a set of seed values under an expansion function.
+ *
+ * This is a semi-naive worklist algorithm: each round only expands the values that were
+ * discovered in the previous round, so every distinct value is expanded exactly once.
+ * Values are considered equal when their keys are equal.
+ */
+public final class WorklistClosure<T, K> {
+	private final Function<T, K> keyFunction;
+	private final Map<K, T> known = new LinkedHashMap<>();
+	private int rounds;
+
+	public static <T, K> WorklistClosure<T, K> compute(
+		Collection<T> seeds,
+		Function<T, K> keyFunction,
+		BiConsumer<T, Consumer<T>> expander
+	) {
+		WorklistClosure<T, K> closure = new WorklistClosure<>(keyFunction);
+		closure.run(seeds, expander);
+		return closure;
+	}
+
+	private WorklistClosure(Function<T, K> keyFunction) {
+		this.keyFunction = keyFunction;
+	}
+
+	private void run(Collection<T> seeds, BiConsumer<T, Consumer<T>> expander) {
+		List<T> frontier = new ArrayList<>(seeds.size());
+		for (T seed : seeds) {
+			addIfNew(seed, frontier);
+		}
+
+		while (!frontier.isEmpty()) {
+			rounds++;
+			List<T> nextFrontier = new ArrayList<>();
+			Consumer<T> discovered = value -> addIfNew(value, nextFrontier);
+			for (T value : frontier) {
+				expander.accept(value, discovered);
+			}
+			frontier = nextFrontier;
+		}
+	}
+
+	private void addIfNew(T value, List<T> frontier) {
+		K key = keyFunction.apply(value);
+		if (!known.containsKey(key)) {
+			known.put(key, value);
+			frontier.add(value);
+		}
+	}
+
+	/**
+	 * @return every value in the closure, in the order it was discovered.
+	 */
+	public Collection<T> getValues() {
+		return known.values();
+	}
+
+	/**
+	 * @return the number of rounds that expanded at least one value.
+	 */
+	public int getRounds() {
+		return rounds;
+	}
+}
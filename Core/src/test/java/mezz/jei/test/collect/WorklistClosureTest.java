@@ -0,0 +1,78 @@
+package mezz.jei.test.collect;
+
+import mezz.jei.core.collect.WorklistClosure;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class WorklistClosureTest {
+	@Test
+	public void testNoSeeds() {
+		WorklistClosure<String, String> closure = WorklistClosure.compute(
+			List.of(),
+			Function.identity(),
+			(value, consumer) -> Assertions.fail("nothing should be expanded")
+		);
+		Assertions.assertTrue(closure.getValues().isEmpty());
+		Assertions.assertEquals(0, closure.getRounds());
+	}
+
+	@Test
+	public void testChain() {
+		// 0 -> 1 -> 2 -> ... -> 9
+		WorklistClosure<Integer, Integer> closure = WorklistClosure.compute(
+			List.of(0),
+			Function.identity(),
+			(value, consumer) -> {
+				if (value < 9) {
+					consumer.accept(value + 1);
+				}
+			}
+		);
+		Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), List.copyOf(closure.getValues()));
+		Assertions.assertEquals(10, closure.getRounds());
+	}
+
+	@Test
+	public void testEachValueExpandedOnce() {
+		// every value leads back to all the values, like potions that can be brewed into each other
+		List<Integer> all = List.of(0, 1, 2, 3, 4);
+		Map<Integer, Integer> expansions = new HashMap<>();
+		WorklistClosure<Integer, Integer> closure = WorklistClosure.compute(
+			List.of(0, 0, 1),
+			Function.identity(),
+			(value, consumer) -> {
+				expansions.merge(value, 1, Integer::sum);
+				all.forEach(consumer);
+			}
+		);
+		Assertions.assertEquals(all, List.copyOf(closure.getValues()));
+		for (Integer value : all) {
+			Assertions.assertEquals(1, expansions.get(value), "value expanded more than once: " + value);
+		}
+	}
+
+	@Test
+	public void testValuesAreDedupedByKey() {
+		// values that are different objects but share a key are treated as the same value
+		List<String> expanded = new ArrayList<>();
+		WorklistClosure<String, String> closure = WorklistClosure.compute(
+			List.of("a"),
+			String::toLowerCase,
+			(value, consumer) -> {
+				expanded.add(value);
+				consumer.accept(value.toUpperCase());
+				if (value.length() < 3) {
+					consumer.accept(value + "b");
+				}
+			}
+		);
+		Assertions.assertEquals(List.of("a", "ab", "abb"), List.copyOf(closure.getValues()));
+		Assertions.assertEquals(List.of("a", "ab", "abb"), expanded);
+	}
+}
@@ -9,10 +9,10 @@ import mezz.jei.api.gui.handlers.IGhostIngredientHandler.Target;
 import mezz.jei.api.ingredients.IIngredientRenderer;
 import mezz.jei.api.ingredients.ITypedIngredient;
 import mezz.jei.common.util.ImmutableRect2i;
-import mezz.jei.common.util.MathUtil;
 import mezz.jei.common.util.SafeIngredientUtil;
 import mezz.jei.gui.input.UserInput;
 import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.renderer.GameRenderer;
 import net.minecraft.client.renderer.Rect2i;
 import net.minecraft.client.renderer.RenderType;
@@ -20,14 +20,19 @@ import net.minecraft.world.phys.Vec2;
 import org.lwjgl.opengl.GL11;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 public class GhostIngredientDrag<T> {
 	private static final int targetColor = 0x4013C90A;
 	private static final int hoverColor = 0x804CC919;
 
 	private final IGhostIngredientHandler<?> handler;
-	private final List<Target<T>> targets;
-	private final List<Rect2i> targetAreas;
+	private final Screen screen;
+	private final Supplier<List<Target<T>>> targetRefresher;
+	private List<Target<T>> targets;
+	private GhostTargetAreas targetAreas;
+	private int screenWidth;
+	private int screenHeight;
 	private final IIngredientRenderer<T> ingredientRenderer;
 	private final ITypedIngredient<T> ingredient;
 	private final double mouseStartX;
@@ -36,7 +41,9 @@ public class GhostIngredientDrag<T> {
 
 	public GhostIngredientDrag(
 		IGhostIngredientHandler<?> handler,
+		Screen screen,
 		List<Target<T>> targets,
+		Supplier<List<Target<T>>> targetRefresher,
 		IIngredientRenderer<T> ingredientRenderer,
 		ITypedIngredient<T> ingredient,
 		double mouseX,
@@ -44,10 +51,12 @@ public class GhostIngredientDrag<T> {
 		ImmutableRect2i origin
 	) {
 		this.handler = handler;
+		this.screen = screen;
+		this.targetRefresher = targetRefresher;
 		this.targets = targets;
-		this.targetAreas = targets.stream()
-			.map(Target::getArea)
-			.toList();
+		this.targetAreas = createTargetAreas(targets);
+		this.screenWidth = screen.width;
+		this.screenHeight = screen.height;
 		this.ingredientRenderer = ingredientRenderer;
 		this.ingredient = ingredient;
 		this.origin = origin;
@@ -55,7 +64,28 @@ public class GhostIngredientDrag<T> {
 		this.mouseStartY = mouseY;
 	}
 
+	public static <T> GhostTargetAreas createTargetAreas(List<Target<T>> targets) {
+		List<Rect2i> areas = targets.stream()
+			.map(Target::getArea)
+			.toList();
+		return new GhostTargetAreas(areas);
+	}
+
+	/**
+	 * Targets are fetched once when the drag starts, and only fetched again if the screen is resized,
+	 * because that moves everything on the screen.
+	 */
+	private void refreshTargetsIfResized() {
+		if (screen.width != screenWidth || screen.height != screenHeight) {
+			screenWidth = screen.width;
+			screenHeight = screen.height;
+			targets = targetRefresher.get();
+			targetAreas = createTargetAreas(targets);
+		}
+	}
+
 	public void drawTargets(GuiGraphics guiGraphics, int mouseX, int mouseY) {
+		refreshTargetsIfResized();
 		if (handler.shouldHighlightTargets()) {
 			drawTargets(guiGraphics, mouseX, mouseY, targetAreas);
 		}
@@ -121,11 +151,13 @@ public class GhostIngredientDrag<T> {
 		poseStack.popPose();
 	}
 
-	public static void drawTargets(GuiGraphics guiGraphics, int mouseX, int mouseY, List<Rect2i> targetAreas) {
+	public static void drawTargets(GuiGraphics guiGraphics, int mouseX, int mouseY, GhostTargetAreas targetAreas) {
 		RenderSystem.disableDepthTest();
-		for (Rect2i area : targetAreas) {
+		List<Rect2i> areas = targetAreas.getAreas();
+		for (int i = 0; i < areas.size(); i++) {
+			Rect2i area = areas.get(i);
 			int color;
-			if (MathUtil.contains(area, mouseX, mouseY)) {
+			if (targetAreas.isHovered(i, mouseX, mouseY)) {
 				color = hoverColor;
 			} else {
 				color = targetColor;
@@ -143,15 +175,15 @@ public class GhostIngredientDrag<T> {
 	}
 
 	public boolean onClick(UserInput input) {
-		for (Target<T> target : targets) {
-			Rect2i area = target.getArea();
-			if (MathUtil.contains(area, input.getMouseX(), input.getMouseY())) {
-				if (!input.isSimulate()) {
-					target.accept(ingredient.getIngredient());
-					handler.onComplete();
-				}
-				return true;
+		refreshTargetsIfResized();
+		int targetIndex = targetAreas.getFirstTargetAt(input.getMouseX(), input.getMouseY());
+		if (targetIndex >= 0) {
+			if (!input.isSimulate()) {
+				Target<T> target = targets.get(targetIndex);
+				target.accept(ingredient.getIngredient());
+				handler.onComplete();
 			}
+			return true;
 		}
 		if (!input.isSimulate()) {
 			handler.onComplete();
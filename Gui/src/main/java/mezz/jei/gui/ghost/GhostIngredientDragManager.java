@@ -17,7 +17,6 @@ import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.client.player.LocalPlayer;
-import net.minecraft.client.renderer.Rect2i;
 import net.minecraft.world.item.ItemStack;
 import org.jetbrains.annotations.Nullable;
 
@@ -36,7 +35,9 @@ public class GhostIngredientDragManager {
 	@Nullable
 	private ITypedIngredient<?> hoveredIngredient;
 	@Nullable
-	private List<Rect2i> hoveredTargetAreas;
+	private GhostTargetAreas hoveredTargetAreas;
+	private int hoveredScreenWidth;
+	private int hoveredScreenHeight;
 
 	public GhostIngredientDragManager(
 		IRecipeFocusSource source,
@@ -73,18 +74,17 @@ public class GhostIngredientDragManager {
 				.map(IClickableIngredientInternal::getTypedIngredient)
 				.findFirst()
 				.orElse(null);
-			if (!equals(hovered, this.hoveredIngredient)) {
+			Screen currentScreen = minecraft.screen;
+			if (!equals(hovered, this.hoveredIngredient) || isResized(currentScreen)) {
 				this.hoveredIngredient = hovered;
 				this.hoveredTargetAreas = null;
-				Screen currentScreen = minecraft.screen;
 				if (currentScreen != null && hovered != null) {
+					this.hoveredScreenWidth = currentScreen.width;
+					this.hoveredScreenHeight = currentScreen.height;
 					screenHelper.getGhostIngredientHandler(currentScreen)
 						.filter(IGhostIngredientHandler::shouldHighlightTargets)
 						.ifPresent(handler ->
-							this.hoveredTargetAreas = handler.getTargetsTyped(currentScreen, hovered, false)
-								.stream()
-								.map(IGhostIngredientHandler.Target::getArea)
-								.toList()
+							this.hoveredTargetAreas = GhostIngredientDrag.createTargetAreas(handler.getTargetsTyped(currentScreen, hovered, false))
 						);
 				}
 			}
@@ -94,6 +94,12 @@ public class GhostIngredientDragManager {
 		}
 	}
 
+	private boolean isResized(@Nullable Screen currentScreen) {
+		return currentScreen != null &&
+			this.hoveredIngredient != null &&
+			(currentScreen.width != this.hoveredScreenWidth || currentScreen.height != this.hoveredScreenHeight);
+	}
+
 	private static boolean equals(@Nullable ITypedIngredient<?> a, @Nullable ITypedIngredient<?> b) {
 		if (a == b) {
 			return true;
@@ -125,7 +131,17 @@ public class GhostIngredientDragManager {
 				}
 				IIngredientRenderer<V> ingredientRenderer = ingredientManager.getIngredientRenderer(type);
 				ImmutableRect2i clickedArea = clicked.getArea();
-				this.ghostIngredientDrag = new GhostIngredientDrag<>(handler, targets, ingredientRenderer, ingredient, input.getMouseX(), input.getMouseY(), clickedArea);
+				this.ghostIngredientDrag = new GhostIngredientDrag<>(
+					handler,
+					currentScreen,
+					targets,
+					() -> handler.getTargetsTyped(currentScreen, ingredient, false),
+					ingredientRenderer,
+					ingredient,
+					input.getMouseX(),
+					input.getMouseY(),
+					clickedArea
+				);
 				return true;
 			})
 			.orElse(false);
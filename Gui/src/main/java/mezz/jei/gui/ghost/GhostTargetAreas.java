@@ -0,0 +1,140 @@
+package mezz.jei.gui.ghost;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import mezz.jei.common.util.MathUtil;
+import net.minecraft.client.renderer.Rect2i;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The areas of ghost ingredient targets, indexed in a coarse grid so that
+ * finding the targets under the mouse does not have to test every target.
+ *
+ * The hovered targets are remembered, and only looked up again when the mouse moves.
+ */
+final class GhostTargetAreas {
+	private static final int CELL_SIZE = 32;
+	/**
+	 * Targets covering more cells than this are always tested instead of being added to every cell.
+	 */
+	private static final int MAX_CELLS_PER_TARGET = 64;
+
+	private final List<Rect2i> areas;
+	private final Long2ObjectMap<IntList> cells = new Long2ObjectOpenHashMap<>();
+	private final IntList largeTargets = new IntArrayList();
+
+	private final boolean[] hovered;
+	private final IntList hoveredTargets = new IntArrayList();
+	private int hoverMouseX = Integer.MIN_VALUE;
+	private int hoverMouseY = Integer.MIN_VALUE;
+
+	public GhostTargetAreas(List<Rect2i> areas) {
+		this.areas = areas;
+		this.hovered = new boolean[areas.size()];
+		for (int i = 0; i < areas.size(); i++) {
+			addToIndex(i, areas.get(i));
+		}
+	}
+
+	private void addToIndex(int index, Rect2i area) {
+		if (area.getWidth() <= 0 || area.getHeight() <= 0) {
+			return;
+		}
+		int minCellX = Math.floorDiv(area.getX(), CELL_SIZE);
+		int minCellY = Math.floorDiv(area.getY(), CELL_SIZE);
+		int maxCellX = Math.floorDiv(area.getX() + area.getWidth() - 1, CELL_SIZE);
+		int maxCellY = Math.floorDiv(area.getY() + area.getHeight() - 1, CELL_SIZE);
+		long cellCount = (long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1);
+		if (cellCount > MAX_CELLS_PER_TARGET) {
+			largeTargets.add(index);
+			return;
+		}
+		for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+			for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+				cells.computeIfAbsent(cellKey(cellX, cellY), k -> new IntArrayList())
+					.add(index);
+			}
+		}
+	}
+
+	private static long cellKey(int cellX, int cellY) {
+		return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+	}
+
+	public List<Rect2i> getAreas() {
+		return areas;
+	}
+
+	/**
+	 * @return the index of the first target containing the given point, or -1 if there is none.
+	 */
+	public int getFirstTargetAt(double x, double y) {
+		int first = getFirstTargetAt(largeTargets, x, y, Integer.MAX_VALUE);
+		IntList cellTargets = getCellTargets(x, y);
+		if (cellTargets != null) {
+			first = getFirstTargetAt(cellTargets, x, y, first);
+		}
+		return first == Integer.MAX_VALUE ? -1 : first;
+	}
+
+	private int getFirstTargetAt(IntList targets, double x, double y, int first) {
+		for (int i = 0; i < targets.size(); i++) {
+			int index = targets.getInt(i);
+			if (index >= first) {
+				// targets are added in order, so the rest can't be any earlier
+				break;
+			}
+			if (MathUtil.contains(areas.get(index), x, y)) {
+				return index;
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * @return true if the target at the given index is under the mouse.
+	 */
+	public boolean isHovered(int index, int mouseX, int mouseY) {
+		if (mouseX != hoverMouseX || mouseY != hoverMouseY) {
+			updateHovered(mouseX, mouseY);
+		}
+		return hovered[index];
+	}
+
+	private void updateHovered(int mouseX, int mouseY) {
+		hoverMouseX = mouseX;
+		hoverMouseY = mouseY;
+
+		for (int i = 0; i < hoveredTargets.size(); i++) {
+			hovered[hoveredTargets.getInt(i)] = false;
+		}
+		hoveredTargets.clear();
+
+		addHovered(largeTargets, mouseX, mouseY);
+		IntList cellTargets = getCellTargets(mouseX, mouseY);
+		if (cellTargets != null) {
+			addHovered(cellTargets, mouseX, mouseY);
+		}
+	}
+
+	private void addHovered(IntList targets, int mouseX, int mouseY) {
+		for (int i = 0; i < targets.size(); i++) {
+			int index = targets.getInt(i);
+			if (MathUtil.contains(areas.get(index), mouseX, mouseY)) {
+				hovered[index] = true;
+				hoveredTargets.add(index);
+			}
+		}
+	}
+
+	@Nullable
+	private IntList getCellTargets(double x, double y) {
+		int cellX = Math.floorDiv((int) Math.floor(x), CELL_SIZE);
+		int cellY = Math.floorDiv((int) Math.floor(y), CELL_SIZE);
+		return cells.get(cellKey(cellX, cellY));
+	}
+}
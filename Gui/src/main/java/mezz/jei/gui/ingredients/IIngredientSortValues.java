@@ -0,0 +1,37 @@
+package mezz.jei.gui.ingredients;
+
+import mezz.jei.common.config.IngredientSortStage;
+
+/**
+ * The values of an element that each {@link IngredientSortStage} sorts by.
+ *
+ * @see IngredientSorterComparators#getSortKeys(IngredientSortStage, IIngredientSortValues)
+ */
+public interface IIngredientSortValues {
+	/**
+	 * @return the position of the element's mod in the mod name sort order.
+	 */
+	int getModNameSortIndex(IListElementInfo<?> elementInfo);
+
+	/**
+	 * @return the position of the element's ingredient type in the ingredient type sort order.
+	 */
+	int getIngredientTypeSortIndex(IListElementInfo<?> elementInfo);
+
+	/**
+	 * @return the tag to sort the element by, or an empty string if it has none.
+	 */
+	String getTagForSorting(IListElementInfo<?> elementInfo);
+
+	boolean isArmor(IListElementInfo<?> elementInfo);
+
+	int getArmorSlotIndex(IListElementInfo<?> elementInfo);
+
+	int getArmorDamageReduce(IListElementInfo<?> elementInfo);
+
+	float getArmorToughness(IListElementInfo<?> elementInfo);
+
+	int getArmorDurability(IListElementInfo<?> elementInfo);
+
+	int getMaxDurability(IListElementInfo<?> elementInfo);
+}
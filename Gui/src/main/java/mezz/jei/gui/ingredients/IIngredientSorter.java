@@ -2,6 +2,7 @@ package mezz.jei.gui.ingredients;
 
 import mezz.jei.api.runtime.IIngredientManager;
 
+import java.util.Collection;
 import java.util.Comparator;
 
 public interface IIngredientSorter {
@@ -11,6 +12,14 @@ public interface IIngredientSorter {
 
 	Comparator<IListElementInfo<?>> getComparator(IngredientFilter ingredientFilter, IIngredientManager ingredientManager);
 
+	/**
+	 * Called when elements are added to the ingredient filter after its ingredients were sorted.
+	 * Sorters that can not add elements to their existing sort order should invalidate it instead.
+	 */
+	default void onElementsAdded(Collection<IListElementInfo<?>> elementInfos) {
+		invalidateCache();
+	}
+
 	default void invalidateCache() {
 	}
 }
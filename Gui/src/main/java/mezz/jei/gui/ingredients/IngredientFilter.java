@@ -15,6 +15,7 @@ import mezz.jei.gui.filter.IFilterTextSource;
 import mezz.jei.gui.overlay.elements.IElement;
 import mezz.jei.gui.overlay.IIngredientGridSource;
 import mezz.jei.gui.overlay.elements.IngredientElement;
+import mezz.jei.gui.search.ColorSearchIndexer;
 import mezz.jei.gui.search.ElementPrefixParser;
 import mezz.jei.gui.search.ElementSearch;
 import mezz.jei.gui.search.ElementSearchLowMem;
@@ -30,22 +31,28 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
-public class IngredientFilter implements IIngredientGridSource, IIngredientManager.IIngredientListener {
+public class IngredientFilter implements IIngredientGridSource, IIngredientManager.IIngredientListener, IIngredientVisibility.IListener {
 	private static final Logger LOGGER = LogManager.getLogger();
 	private static final Pattern QUOTE_PATTERN = Pattern.compile("\"");
 	private static final Pattern FILTER_SPLIT_PATTERN = Pattern.compile("(-?\".*?(?:\"|$)|\\S+)");
+	/**
+	 * How often the search results are refreshed while color search results are still being added in the background.
+	 */
+	private static final long COLOR_SEARCH_REFRESH_INTERVAL_MS = 1000;
 
 	private final IClientConfig clientConfig;
+	private final IIngredientFilterConfig config;
 	private final IFilterTextSource filterTextSource;
 	private final IIngredientManager ingredientManager;
 	private final IIngredientSorter sorter;
@@ -53,7 +60,15 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 	private final IIngredientVisibility ingredientVisibility;
 
 	private final ElementPrefixParser elementPrefixParser;
+	private final ColorSearchIndexer colorSearchIndexer;
+	private boolean colorSearchComplete = true;
+	private long lastColorSearchRefreshTime;
 	private final Set<String> modNamesForSorting = new HashSet<>();
+	/**
+	 * Every element in the filter, by ingredient type and unique id.
+	 * Used to find the element for an ingredient without searching.
+	 */
+	private final Map<IIngredientType<?>, Map<String, IListElementInfo<?>>> elementsByUid = new IdentityHashMap<>();
 	private IElementSearch elementSearch;
 
 	@Nullable
@@ -73,21 +88,26 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 	) {
 		this.filterTextSource = filterTextSource;
 		this.clientConfig = clientConfig;
+		this.config = config;
 		this.ingredientManager = ingredientManager;
 		this.sorter = sorter;
 		this.modIdHelper = modIdHelper;
 		this.ingredientVisibility = ingredientVisibility;
 		this.elementPrefixParser = new ElementPrefixParser(ingredientManager, config, colorHelper, modIdHelper);
 
-		this.elementSearch = createElementSearch(clientConfig, elementPrefixParser);
+		this.colorSearchIndexer = new ColorSearchIndexer(ingredientManager, elementPrefixParser);
+
+		this.elementSearch = createElementSearch(clientConfig, elementPrefixParser, colorSearchIndexer);
 
 		LOGGER.info("Adding {} ingredients", ingredients.size());
+		List<IListElementInfo<?>> infos = new ArrayList<>(ingredients.size());
 		for (IListElement<?> ingredient : ingredients) {
 			IListElementInfo<?> info = ListElementInfo.create(ingredient, ingredientManager, modIdHelper);
 			if (info != null) {
-				addIngredient(info);
+				infos.add(info);
 			}
 		}
+		addIngredients(infos);
 		LOGGER.info("Added {} ingredients", ingredients.size());
 
 		this.filterTextSource.addListener(filterText -> {
@@ -96,24 +116,54 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 		});
 	}
 
-	private static IElementSearch createElementSearch(IClientConfig clientConfig, ElementPrefixParser elementPrefixParser) {
+	private static IElementSearch createElementSearch(IClientConfig clientConfig, ElementPrefixParser elementPrefixParser, ColorSearchIndexer colorSearchIndexer) {
 		if (clientConfig.isLowMemorySlowSearchEnabled()) {
+			colorSearchIndexer.setStorage(null);
 			return new ElementSearchLowMem();
 		} else {
-			return new ElementSearch(elementPrefixParser);
+			return new ElementSearch(elementPrefixParser, colorSearchIndexer);
 		}
 	}
 
 	public <V> void addIngredient(IListElementInfo<V> info) {
-		IListElement<V> element = info.getElement();
-		updateHiddenState(element);
+		addIngredients(List.<IListElementInfo<?>>of(info));
+	}
+
+	/**
+	 * Adds many ingredients at once, so that the search storages are only filled and the list is only resorted once.
+	 */
+	public void addIngredients(Collection<IListElementInfo<?>> infos) {
+		for (IListElementInfo<?> info : infos) {
+			addToUidIndex(info);
+		}
+		addIndexedIngredients(infos);
+	}
 
-		this.elementSearch.add(info);
+	private void addIndexedIngredients(Collection<IListElementInfo<?>> infos) {
+		for (IListElementInfo<?> info : infos) {
+			updateHiddenState(info.getElement());
 
-		String modNameForSorting = info.getModNameForSorting();
-		this.modNamesForSorting.add(modNameForSorting);
+			String modNameForSorting = info.getModNameForSorting();
+			this.modNamesForSorting.add(modNameForSorting);
+		}
+		this.elementSearch.addAll(infos);
 
-		invalidateCache();
+		ingredientListCached = null;
+		sorter.onElementsAdded(infos);
+	}
+
+	private <V> void addToUidIndex(IListElementInfo<V> info) {
+		ITypedIngredient<V> typedIngredient = info.getTypedIngredient();
+		IIngredientType<V> type = typedIngredient.getType();
+		IIngredientHelper<V> ingredientHelper = ingredientManager.getIngredientHelper(type);
+		try {
+			String uid = ingredientHelper.getUniqueId(typedIngredient.getIngredient(), UidContext.Ingredient);
+			this.elementsByUid.computeIfAbsent(type, k -> new HashMap<>())
+				.putIfAbsent(uid, info);
+		} catch (RuntimeException e) {
+			String ingredientInfo = ingredientHelper.getErrorInfo(typedIngredient.getIngredient());
+			LOGGER.warn("Failed to get the unique id of ingredient {}", ingredientInfo, e);
+		}
 	}
 
 	public void invalidateCache() {
@@ -122,28 +172,62 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 	}
 
 	public void rebuildItemFilter() {
-		this.invalidateCache();
+		// the elements stay the same, so their sort order is still valid
+		ingredientListCached = null;
 		Collection<IListElementInfo<?>> ingredients = this.elementSearch.getAllIngredients();
-		this.elementSearch = createElementSearch(this.clientConfig, this.elementPrefixParser);
+		this.elementSearch = createElementSearch(this.clientConfig, this.elementPrefixParser, this.colorSearchIndexer);
 		this.elementSearch.addAll(ingredients);
 	}
 
+	/**
+	 * Continues filling the color search in the background.
+	 * Must be called regularly on the render thread.
+	 */
+	public void updateColorSearch() {
+		boolean changed = colorSearchIndexer.update();
+		boolean complete = colorSearchIndexer.isComplete();
+		boolean completed = complete && !colorSearchComplete;
+		colorSearchComplete = complete;
+		if (!(changed || completed) || !isColorSearchUsed()) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		if (complete || now - lastColorSearchRefreshTime >= COLOR_SEARCH_REFRESH_INTERVAL_MS) {
+			lastColorSearchRefreshTime = now;
+			ingredientListCached = null;
+			notifyListenersOfChange();
+		}
+	}
+
+	@Override
+	public boolean hasPartialResults() {
+		return !colorSearchIndexer.isComplete() && isColorSearchUsed();
+	}
+
+	private boolean isColorSearchUsed() {
+		String filterText = filterTextSource.getFilterText();
+		return switch (config.getColorSearchMode()) {
+			case ENABLED -> !filterText.isBlank();
+			case REQUIRE_PREFIX -> filterText.indexOf('^') >= 0;
+			case DISABLED -> false;
+		};
+	}
+
 	public <V> Optional<IListElementInfo<V>> searchForMatchingElement(
 		IIngredientHelper<V> ingredientHelper,
 		ITypedIngredient<V> typedIngredient
 	) {
-		V ingredient = typedIngredient.getIngredient();
 		IIngredientType<V> type = typedIngredient.getType();
-		Function<ITypedIngredient<V>, String> uidFunction = (i) -> ingredientHelper.getUniqueId(i.getIngredient(), UidContext.Ingredient);
-		String ingredientUid = uidFunction.apply(typedIngredient);
-		String lowercaseDisplayName = DisplayNameUtil.getLowercaseDisplayNameForSearch(ingredient, ingredientHelper);
-
-		ElementPrefixParser.TokenInfo tokenInfo = new ElementPrefixParser.TokenInfo(lowercaseDisplayName, ElementPrefixParser.NO_PREFIX);
-		return this.elementSearch.getSearchResults(tokenInfo)
-			.stream()
-			.map(elementInfo -> checkForMatch(elementInfo, type, ingredientUid, uidFunction))
-			.flatMap(Optional::stream)
-			.findFirst();
+		Map<String, IListElementInfo<?>> typeElements = this.elementsByUid.get(type);
+		if (typeElements == null) {
+			return Optional.empty();
+		}
+		String ingredientUid = ingredientHelper.getUniqueId(typedIngredient.getIngredient(), UidContext.Ingredient);
+		IListElementInfo<?> elementInfo = typeElements.get(ingredientUid);
+		if (elementInfo == null) {
+			return Optional.empty();
+		}
+		return optionalCast(elementInfo, type);
 	}
 
 	public void updateHidden() {
@@ -168,17 +252,30 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 		return false;
 	}
 
+	@Override
 	public <V> void onIngredientVisibilityChanged(ITypedIngredient<V> ingredient, boolean visible) {
-		IIngredientType<V> ingredientType = ingredient.getType();
-		IIngredientHelper<V> ingredientHelper = ingredientManager.getIngredientHelper(ingredientType);
-		searchForMatchingElement(ingredientHelper, ingredient)
-			.ifPresent(matchingElementInfo -> {
-				IListElement<V> element = matchingElementInfo.getElement();
+		onIngredientsVisibilityChanged(List.of(ingredient), visible);
+	}
+
+	@Override
+	public <V> void onIngredientsVisibilityChanged(Collection<ITypedIngredient<V>> ingredients, boolean visible) {
+		boolean changed = false;
+		for (ITypedIngredient<V> ingredient : ingredients) {
+			IIngredientType<V> ingredientType = ingredient.getType();
+			IIngredientHelper<V> ingredientHelper = ingredientManager.getIngredientHelper(ingredientType);
+			Optional<IListElementInfo<V>> matchingElementInfo = searchForMatchingElement(ingredientHelper, ingredient);
+			if (matchingElementInfo.isPresent()) {
+				IListElement<V> element = matchingElementInfo.get().getElement();
 				if (element.isVisible() != visible) {
 					element.setVisible(visible);
-					notifyListenersOfChange();
+					changed = true;
 				}
-			});
+			}
+		}
+		if (changed) {
+			ingredientListCached = null;
+			notifyListenersOfChange();
+		}
 	}
 
 	@Override
@@ -195,11 +292,8 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 
 	//This is used to allow the sorting function to set all item's indexes, precomputing the master sort order.
 	@Unmodifiable
-	public List<IListElementInfo<?>> getIngredientListPreSort(Comparator<IListElementInfo<?>> directComparator) {
-		return this.elementSearch.getAllIngredients()
-			.stream()
-			.sorted(directComparator)
-			.toList();
+	public List<IListElementInfo<?>> getIngredientListPreSort() {
+		return List.copyOf(this.elementSearch.getAllIngredients());
 	}
 
 	public Set<String> getModNamesForSorting() {
@@ -239,15 +333,6 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 			.map(IListElementInfo::getTypedIngredient);
 	}
 
-	private static <T> Optional<IListElementInfo<T>> checkForMatch(IListElementInfo<?> info, IIngredientType<T> ingredientType, String uid, Function<ITypedIngredient<T>, String> uidFunction) {
-		return optionalCast(info, ingredientType)
-			.filter(cast -> {
-				ITypedIngredient<T> typedIngredient = cast.getTypedIngredient();
-				String elementUid = uidFunction.apply(typedIngredient);
-				return uid.equals(elementUid);
-			});
-	}
-
 	private static <T> Optional<IListElementInfo<T>> optionalCast(IListElementInfo<?> info, IIngredientType<T> ingredientType) {
 		ITypedIngredient<?> typedIngredient = info.getTypedIngredient();
 		if (typedIngredient.getType() == ingredientType) {
@@ -260,6 +345,7 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 
 	@Override
 	public <V> void onIngredientsAdded(IIngredientHelper<V> ingredientHelper, Collection<ITypedIngredient<V>> ingredients) {
+		List<IListElementInfo<?>> addedInfos = new ArrayList<>();
 		for (ITypedIngredient<V> value : ingredients) {
 			Optional<IListElementInfo<V>> matchingElementInfo = searchForMatchingElement(ingredientHelper, value);
 			if (matchingElementInfo.isPresent()) {
@@ -272,14 +358,17 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 				IListElement<V> element = IngredientListElementFactory.createOrderedElement(value);
 				IListElementInfo<V> listElementInfo = ListElementInfo.create(element, this.ingredientManager, modIdHelper);
 				if (listElementInfo != null) {
-					addIngredient(listElementInfo);
+					// index it right away, so that duplicates later in this batch are found
+					addToUidIndex(listElementInfo);
+					addedInfos.add(listElementInfo);
 					if (DebugConfig.isDebugModeEnabled()) {
 						LOGGER.debug("Added ingredient: {}", ingredientHelper.getErrorInfo(value.getIngredient()));
 					}
 				}
 			}
 		}
-		invalidateCache();
+		addIndexedIngredients(addedInfos);
+		notifyListenersOfChange();
 	}
 
 	@Override
@@ -298,7 +387,9 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 			}
 		}
 
-		invalidateCache();
+		// removed elements are only hidden, so the sort order is still valid
+		ingredientListCached = null;
+		notifyListenersOfChange();
 	}
 
 	private record SearchTokens(List<ElementPrefixParser.TokenInfo> toSearch, List<ElementPrefixParser.TokenInfo> toRemove) {}
@@ -0,0 +1,86 @@
+package mezz.jei.gui.ingredients;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * A part of the ingredient sort order, computed once for each element.
+ * Elements with lower keys are sorted first.
+ *
+ * @see IngredientSortKeys
+ */
+@FunctionalInterface
+public interface IngredientSortKey {
+	/**
+	 * @return a new column with no rows, that holds this key for each element added to it.
+	 */
+	Column createColumn();
+
+	/**
+	 * The keys of a list of elements, one row per element.
+	 * Keeping the keys lets elements that are added later be compared with the existing ones,
+	 * without computing the keys of the existing elements again.
+	 */
+	interface Column {
+		/**
+		 * Computes the key for each of the elements, and adds them as new rows after the existing ones.
+		 */
+		void addAll(List<IListElementInfo<?>> elements);
+
+		/**
+		 * @return an int key for every row, that sorts the rows in the same order as {@link #compare}.
+		 */
+		int[] getKeys();
+
+		int compare(int row1, int row2);
+	}
+
+	static IngredientSortKey ofInt(ToIntFunction<IListElementInfo<?>> keyFunction) {
+		return () -> new IngredientSortKeyColumns.IntColumn(keyFunction);
+	}
+
+	/**
+	 * Sorts in the same order as {@link Float#compare}.
+	 */
+	static IngredientSortKey ofFloat(ToFloatFunction keyFunction) {
+		return ofInt(element -> {
+			float value = keyFunction.applyAsFloat(element);
+			int bits = Float.floatToIntBits(value);
+			// flip the value bits of negative numbers, so that the bits of all floats sort like ints
+			return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+		});
+	}
+
+	/**
+	 * Sorts false before true, like {@link Boolean#compare}.
+	 */
+	static IngredientSortKey ofBoolean(Predicate<IListElementInfo<?>> keyFunction) {
+		return ofInt(element -> keyFunction.test(element) ? 1 : 0);
+	}
+
+	/**
+	 * Sorts in the natural order of the strings.
+	 */
+	static IngredientSortKey ofString(Function<IListElementInfo<?>, String> keyFunction) {
+		return ofObject(keyFunction, Comparator.naturalOrder());
+	}
+
+	/**
+	 * Sorts in the order of the given comparator, which must be consistent with equals.
+	 */
+	static <T> IngredientSortKey ofObject(Function<IListElementInfo<?>, T> keyFunction, Comparator<? super T> comparator) {
+		return () -> new IngredientSortKeyColumns.ObjectColumn<>(keyFunction, comparator);
+	}
+
+	default IngredientSortKey reversed() {
+		return () -> new IngredientSortKeyColumns.ReversedColumn(createColumn());
+	}
+
+	@FunctionalInterface
+	interface ToFloatFunction {
+		float applyAsFloat(IListElementInfo<?> element);
+	}
+}
@@ -0,0 +1,115 @@
+package mezz.jei.gui.ingredients;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * The {@link IngredientSortKey.Column} implementations for the {@link IngredientSortKey} factories.
+ */
+final class IngredientSortKeyColumns {
+	private IngredientSortKeyColumns() {
+
+	}
+
+	static final class IntColumn implements IngredientSortKey.Column {
+		private final ToIntFunction<IListElementInfo<?>> keyFunction;
+		private final IntArrayList keys = new IntArrayList();
+
+		IntColumn(ToIntFunction<IListElementInfo<?>> keyFunction) {
+			this.keyFunction = keyFunction;
+		}
+
+		@Override
+		public void addAll(List<IListElementInfo<?>> elements) {
+			keys.ensureCapacity(keys.size() + elements.size());
+			for (IListElementInfo<?> element : elements) {
+				keys.add(keyFunction.applyAsInt(element));
+			}
+		}
+
+		@Override
+		public int[] getKeys() {
+			return keys.toIntArray();
+		}
+
+		@Override
+		public int compare(int row1, int row2) {
+			return Integer.compare(keys.getInt(row1), keys.getInt(row2));
+		}
+	}
+
+	static final class ObjectColumn<T> implements IngredientSortKey.Column {
+		private final Function<IListElementInfo<?>, T> keyFunction;
+		private final Comparator<? super T> comparator;
+		private final List<T> values = new ArrayList<>();
+
+		ObjectColumn(Function<IListElementInfo<?>, T> keyFunction, Comparator<? super T> comparator) {
+			this.keyFunction = keyFunction;
+			this.comparator = comparator;
+		}
+
+		@Override
+		public void addAll(List<IListElementInfo<?>> elements) {
+			for (IListElementInfo<?> element : elements) {
+				values.add(keyFunction.apply(element));
+			}
+		}
+
+		/**
+		 * The keys are the positions of each value in the sorted list of distinct values,
+		 * so the comparator is only used to sort the distinct values and to find each row's value.
+		 */
+		@Override
+		public int[] getKeys() {
+			List<T> distinctValues = values.stream()
+				.distinct()
+				.sorted(comparator)
+				.toList();
+
+			int[] keys = new int[values.size()];
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = Collections.binarySearch(distinctValues, values.get(i), comparator);
+			}
+			return keys;
+		}
+
+		@Override
+		public int compare(int row1, int row2) {
+			return comparator.compare(values.get(row1), values.get(row2));
+		}
+	}
+
+	static final class ReversedColumn implements IngredientSortKey.Column {
+		private final IngredientSortKey.Column column;
+
+		ReversedColumn(IngredientSortKey.Column column) {
+			this.column = column;
+		}
+
+		@Override
+		public void addAll(List<IListElementInfo<?>> elements) {
+			column.addAll(elements);
+		}
+
+		@Override
+		public int[] getKeys() {
+			int[] keys = column.getKeys();
+			for (int i = 0; i < keys.length; i++) {
+				// bitwise not reverses the order of every int, without overflowing like negation does
+				keys[i] = ~keys[i];
+			}
+			return keys;
+		}
+
+		@Override
+		public int compare(int row1, int row2) {
+			return column.compare(row2, row1);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package mezz.jei.gui.ingredients;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@link IngredientSortKey}s of a list of elements, one row per element.
+ *
+ * Each key is computed once per element, instead of once per comparison like a chained {@link java.util.Comparator}.
+ * To sort, the keys are combined one at a time into a single rank per element,
+ * by packing the rank so far and the next key into a long and sorting the longs.
+ */
+public final class IngredientSortKeys {
+	private final List<IngredientSortKey.Column> columns;
+	private final List<IListElementInfo<?>> elements = new ArrayList<>();
+
+	public IngredientSortKeys(List<IngredientSortKey> sortKeys) {
+		this.columns = sortKeys.stream()
+			.map(IngredientSortKey::createColumn)
+			.toList();
+	}
+
+	/**
+	 * Computes the keys of the elements, and adds them as new rows after the existing ones.
+	 */
+	public void addAll(List<IListElementInfo<?>> elements) {
+		for (IngredientSortKey.Column column : columns) {
+			column.addAll(elements);
+		}
+		this.elements.addAll(elements);
+	}
+
+	public int size() {
+		return elements.size();
+	}
+
+	public IListElementInfo<?> getElement(int row) {
+		return elements.get(row);
+	}
+
+	/**
+	 * Compares two rows by each of the keys in turn.
+	 */
+	public int compare(int row1, int row2) {
+		for (IngredientSortKey.Column column : columns) {
+			int result = column.compare(row1, row2);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @return the rows in sorted order.
+	 * Rows with equal keys keep the order they were added in.
+	 */
+	public int[] getSortedOrder() {
+		final int size = elements.size();
+		int[] ranks = new int[size];
+		for (IngredientSortKey.Column column : columns) {
+			int[] keys = column.getKeys();
+			combineRanks(ranks, keys);
+		}
+
+		long[] packed = new long[size];
+		for (int i = 0; i < size; i++) {
+			packed[i] = ((long) ranks[i] << 32) | i;
+		}
+		Arrays.parallelSort(packed);
+
+		int[] order = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = (int) packed[i];
+		}
+		return order;
+	}
+
+	/**
+	 * Replaces each rank with its rank when ordered by the previous rank first, and then by the key.
+	 * Equal ranks stay equal, so that later keys can break the tie.
+	 */
+	private static void combineRanks(int[] ranks, int[] keys) {
+		final int size = ranks.length;
+		long[] packed = new long[size];
+		for (int i = 0; i < size; i++) {
+			packed[i] = pack(ranks[i], keys[i]);
+		}
+
+		long[] distinct = packed.clone();
+		Arrays.parallelSort(distinct);
+		int distinctCount = 0;
+		for (int i = 0; i < size; i++) {
+			if (i == 0 || distinct[i] != distinct[distinctCount - 1]) {
+				distinct[distinctCount++] = distinct[i];
+			}
+		}
+
+		for (int i = 0; i < size; i++) {
+			ranks[i] = Arrays.binarySearch(distinct, 0, distinctCount, packed[i]);
+		}
+	}
+
+	private static long pack(int rank, int key) {
+		// ranks are never negative, and flipping the sign bit of the key makes it sort like an unsigned int
+		return ((long) rank << 32) | ((key ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+	}
+}
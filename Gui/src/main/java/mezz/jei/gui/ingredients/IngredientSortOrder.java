@@ -0,0 +1,144 @@
+package mezz.jei.gui.ingredients;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+
+import java.util.List;
+
+/**
+ * The sorted order of all the elements in the ingredient filter,
+ * stored in each element's {@link IListElementInfo#getSortedIndex()}.
+ *
+ * The elements are sorted all at once when this is created.
+ * Elements added later are inserted into the existing order with a binary search over the stored sort keys,
+ * without computing the keys of the existing elements or sorting them again.
+ * Large batches of added elements are sorted on their own and merged into the existing order in one pass instead.
+ *
+ * Sorted indexes are spread out with gaps between them,
+ * so that an inserted element can usually take an unused index between its neighbors.
+ * Only when there is no gap left are the sorted indexes of all the elements set again.
+ */
+public final class IngredientSortOrder {
+	/**
+	 * The largest gap left between two sorted indexes.
+	 * Smaller gaps are used when there are too many elements to fit this one into an int.
+	 */
+	private static final int MAX_GAP = 1 << 10;
+	/**
+	 * Inserting an element shifts every sorted row after it, so inserting a batch one at a time
+	 * costs about as much as merging it in (which touches every sorted row once) times the batch size.
+	 * Batches larger than this are merged.
+	 */
+	private static final int MERGE_THRESHOLD = 64;
+
+	private final IngredientSortKeys sortKeys;
+	/**
+	 * The rows of {@link #sortKeys}, in sorted order.
+	 */
+	private IntArrayList sortedRows;
+
+	public IngredientSortOrder(List<IngredientSortKey> sortKeys, List<IListElementInfo<?>> elements) {
+		this.sortKeys = new IngredientSortKeys(sortKeys);
+		this.sortKeys.addAll(elements);
+		this.sortedRows = IntArrayList.wrap(this.sortKeys.getSortedOrder());
+		setSortedIndexes();
+	}
+
+	/**
+	 * Inserts the elements into the sorted order.
+	 * Elements with keys equal to existing elements are sorted after them.
+	 */
+	public void addAll(List<IListElementInfo<?>> elements) {
+		int firstRow = sortKeys.size();
+		sortKeys.addAll(elements);
+
+		if (elements.size() > MERGE_THRESHOLD) {
+			mergeRows(firstRow);
+			return;
+		}
+
+		boolean gapsFull = false;
+		for (int row = firstRow; row < sortKeys.size(); row++) {
+			int position = findInsertPosition(row);
+			sortedRows.add(position, row);
+			if (!gapsFull) {
+				gapsFull = !setSortedIndexBetweenNeighbors(position);
+			}
+		}
+		if (gapsFull) {
+			setSortedIndexes();
+		}
+	}
+
+	/**
+	 * Sorts the rows from firstRow onward, merges them into the sorted rows, and sets every sorted index again.
+	 */
+	private void mergeRows(int firstRow) {
+		int[] addedRows = new int[sortKeys.size() - firstRow];
+		for (int i = 0; i < addedRows.length; i++) {
+			addedRows[i] = firstRow + i;
+		}
+		// a stable sort, so added rows with equal keys keep the order they were added in
+		IntArrays.mergeSort(addedRows, sortKeys::compare);
+
+		int[] mergedRows = new int[sortedRows.size() + addedRows.length];
+		int existing = 0;
+		int added = 0;
+		for (int i = 0; i < mergedRows.length; i++) {
+			if (added == addedRows.length ||
+				(existing < sortedRows.size() && sortKeys.compare(sortedRows.getInt(existing), addedRows[added]) <= 0)
+			) {
+				mergedRows[i] = sortedRows.getInt(existing++);
+			} else {
+				mergedRows[i] = addedRows[added++];
+			}
+		}
+		sortedRows = IntArrayList.wrap(mergedRows);
+		setSortedIndexes();
+	}
+
+	/**
+	 * @return the position after every sorted row that is less than or equal to the given row.
+	 */
+	private int findInsertPosition(int row) {
+		int low = 0;
+		int high = sortedRows.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sortKeys.compare(sortedRows.getInt(middle), row) <= 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @return false if there is no unused sorted index between the neighbors of the position.
+	 */
+	private boolean setSortedIndexBetweenNeighbors(int position) {
+		long previous = position > 0 ? getElementAt(position - 1).getSortedIndex() : 0;
+		long next = position + 1 < sortedRows.size() ? getElementAt(position + 1).getSortedIndex() : Integer.MAX_VALUE;
+		if (next - previous < 2) {
+			return false;
+		}
+		int sortedIndex = (int) ((previous + next) / 2);
+		getElementAt(position).setSortedIndex(sortedIndex);
+		return true;
+	}
+
+	private void setSortedIndexes() {
+		final int size = sortedRows.size();
+		// leave a gap before the first index and after the last one too
+		int gap = (int) Math.max(1, Math.min(MAX_GAP, Integer.MAX_VALUE / (size + 2L)));
+		for (int i = 0; i < size; i++) {
+			getElementAt(i).setSortedIndex((i + 1) * gap);
+		}
+	}
+
+	private IListElementInfo<?> getElementAt(int position) {
+		int row = sortedRows.getInt(position);
+		return sortKeys.getElement(row);
+	}
+}
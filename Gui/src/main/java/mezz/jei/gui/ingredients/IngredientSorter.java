@@ -5,25 +5,37 @@ import mezz.jei.common.config.IngredientSortStage;
 import mezz.jei.common.config.IClientConfig;
 import mezz.jei.gui.config.IngredientTypeSortingConfig;
 import mezz.jei.gui.config.ModNameSortingConfig;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 
 public final class IngredientSorter implements IIngredientSorter {
 	private static final Comparator<IListElementInfo<?>> PRE_SORTED =
-		Comparator.comparing(IListElementInfo::getSortedIndex);
+		Comparator.comparingInt(IListElementInfo::getSortedIndex);
 
 	private final IClientConfig clientConfig;
 	private final ModNameSortingConfig modNameSortingConfig;
 	private final IngredientTypeSortingConfig ingredientTypeSortingConfig;
 
-	private boolean isCacheValid;
+	@Nullable
+	private IngredientSortOrder sortOrder;
+	/**
+	 * The sort stages that {@link #sortOrder} was built with.
+	 * The order is built again when they change in the config.
+	 */
+	private List<IngredientSortStage> sortOrderStages = List.of();
+	/**
+	 * Elements that were added since the sort order was built, to be inserted the next time it is used.
+	 */
+	private final List<IListElementInfo<?>> addedElements = new ArrayList<>();
 
 	public IngredientSorter(IClientConfig clientConfig, ModNameSortingConfig modNameSortingConfig, IngredientTypeSortingConfig ingredientTypeSortingConfig) {
 		this.clientConfig = clientConfig;
 		this.modNameSortingConfig = modNameSortingConfig;
 		this.ingredientTypeSortingConfig = ingredientTypeSortingConfig;
-		this.isCacheValid = false;
 	}
 
 	@Override
@@ -32,31 +44,38 @@ public final class IngredientSorter implements IIngredientSorter {
 
 		List<IngredientSortStage> ingredientSorterStages = this.clientConfig.getIngredientSorterStages();
 
-		Comparator<IListElementInfo<?>> completeComparator = comparators.getComparator(ingredientSorterStages);
+		List<IngredientSortKey> sortKeys = comparators.getSortKeys(ingredientSorterStages);
 
-		// Get all of the items sorted with our custom comparator.
-		List<IListElementInfo<?>> results = ingredientFilter.getIngredientListPreSort(completeComparator);
-
-		// Go through all of the items and set their sorted index.
-		for (int i = 0, resultsSize = results.size(); i < resultsSize; i++) {
-			IListElementInfo<?> element = results.get(i);
-			element.setSortedIndex(i);
-		}
-		this.isCacheValid = true;
+		// Compute each sort key once per element, sort all the items by their keys, and set their sorted index.
+		List<IListElementInfo<?>> elements = ingredientFilter.getIngredientListPreSort();
+		this.sortOrder = new IngredientSortOrder(sortKeys, elements);
+		this.sortOrderStages = ingredientSorterStages;
+		this.addedElements.clear();
 	}
 
 	@Override
 	public Comparator<IListElementInfo<?>> getComparator(IngredientFilter ingredientFilter, IIngredientManager ingredientManager) {
-		if (!this.isCacheValid) {
+		if (this.sortOrder == null || !this.sortOrderStages.equals(this.clientConfig.getIngredientSorterStages())) {
 			doPreSort(ingredientFilter, ingredientManager);
+		} else if (!this.addedElements.isEmpty()) {
+			this.sortOrder.addAll(this.addedElements);
+			this.addedElements.clear();
 		}
 		//Now the comparator just uses that index value to order everything.
 		return PRE_SORTED;
 	}
 
+	@Override
+	public void onElementsAdded(Collection<IListElementInfo<?>> elementInfos) {
+		if (this.sortOrder != null) {
+			this.addedElements.addAll(elementInfos);
+		}
+	}
+
 	@Override
 	public void invalidateCache() {
-		this.isCacheValid = false;
+		this.sortOrder = null;
+		this.addedElements.clear();
 	}
 
 }
@@ -14,11 +14,16 @@ import net.minecraft.tags.TagKey;
 import net.minecraft.world.item.ArmorItem;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 public class IngredientSorterComparators {
@@ -39,85 +44,142 @@ public class IngredientSorterComparators {
 		this.ingredientTypeSortingConfig = ingredientTypeSortingConfig;
 	}
 
-	public Comparator<IListElementInfo<?>> getComparator(List<IngredientSortStage> ingredientSorterStages) {
-		return ingredientSorterStages.stream()
-			.map(this::getComparator)
-			.reduce(Comparator::thenComparing)
-			.orElseGet(this::getDefault);
+	public List<IngredientSortKey> getSortKeys(List<IngredientSortStage> ingredientSorterStages) {
+		return getSortKeys(ingredientSorterStages, new SortValues());
 	}
 
-	public Comparator<IListElementInfo<?>> getComparator(IngredientSortStage ingredientSortStage) {
+	public static List<IngredientSortKey> getSortKeys(List<IngredientSortStage> ingredientSorterStages, IIngredientSortValues values) {
+		if (ingredientSorterStages.isEmpty()) {
+			return getDefaultSortKeys(values);
+		}
+		List<IngredientSortKey> sortKeys = new ArrayList<>();
+		for (IngredientSortStage ingredientSortStage : ingredientSorterStages) {
+			sortKeys.addAll(getSortKeys(ingredientSortStage, values));
+		}
+		return sortKeys;
+	}
+
+	public static List<IngredientSortKey> getSortKeys(IngredientSortStage ingredientSortStage, IIngredientSortValues values) {
 		return switch (ingredientSortStage) {
-			case ALPHABETICAL -> getAlphabeticalComparator();
-			case CREATIVE_MENU -> getCreativeMenuComparator();
-			case INGREDIENT_TYPE -> getIngredientTypeComparator();
-			case MOD_NAME -> getModNameComparator();
-			case TAG -> getTagComparator();
-			case ARMOR -> getArmorComparator();
-			case MAX_DURABILITY -> getMaxDurabilityComparator();
+			case ALPHABETICAL -> List.of(getAlphabeticalSortKey());
+			case CREATIVE_MENU -> List.of(getCreativeMenuSortKey());
+			case INGREDIENT_TYPE -> List.of(IngredientSortKey.ofInt(values::getIngredientTypeSortIndex));
+			case MOD_NAME -> List.of(IngredientSortKey.ofInt(values::getModNameSortIndex));
+			case TAG -> List.of(getTagSortKey(values));
+			case ARMOR -> getArmorSortKeys(values);
+			case MAX_DURABILITY -> List.of(IngredientSortKey.ofInt(values::getMaxDurability).reversed());
 		};
 	}
 
-	public Comparator<IListElementInfo<?>> getDefault() {
-		return getModNameComparator()
-			.thenComparing(getIngredientTypeComparator())
-			.thenComparing(getCreativeMenuComparator());
+	public static List<IngredientSortKey> getDefaultSortKeys(IIngredientSortValues values) {
+		return List.of(
+			IngredientSortKey.ofInt(values::getModNameSortIndex),
+			IngredientSortKey.ofInt(values::getIngredientTypeSortIndex),
+			getCreativeMenuSortKey()
+		);
 	}
 
-	private static Comparator<IListElementInfo<?>> getCreativeMenuComparator() {
-		return Comparator.comparingInt(o -> {
+	private static IngredientSortKey getCreativeMenuSortKey() {
+		return IngredientSortKey.ofInt(o -> {
 			IListElement<?> element = o.getElement();
 			return element.getOrderIndex();
 		});
 	}
 
-	private static Comparator<IListElementInfo<?>> getAlphabeticalComparator() {
-		return Comparator.comparing(IListElementInfo::getName);
+	private static IngredientSortKey getAlphabeticalSortKey() {
+		return IngredientSortKey.ofString(IListElementInfo::getName);
 	}
 
-	private Comparator<IListElementInfo<?>> getModNameComparator() {
-		Set<String> modNames = this.ingredientFilter.getModNamesForSorting();
-		return this.modNameSortingConfig.getComparatorFromMappedValues(modNames);
+	private static IngredientSortKey getTagSortKey(IIngredientSortValues values) {
+		// tagged elements first, then by tag
+		Comparator<String> tagOrder = Comparator.comparing(String::isEmpty)
+			.thenComparing(Comparator.naturalOrder());
+		return IngredientSortKey.ofObject(values::getTagForSorting, tagOrder);
 	}
 
-	private Comparator<IListElementInfo<?>> getIngredientTypeComparator() {
+	private static List<IngredientSortKey> getArmorSortKeys(IIngredientSortValues values) {
+		return List.of(
+			IngredientSortKey.ofBoolean(values::isArmor).reversed(),
+			IngredientSortKey.ofInt(values::getArmorSlotIndex).reversed(),
+			IngredientSortKey.ofInt(values::getArmorDamageReduce).reversed(),
+			IngredientSortKey.ofFloat(values::getArmorToughness).reversed(),
+			IngredientSortKey.ofInt(values::getArmorDurability).reversed()
+		);
+	}
+
+	private Set<String> getIngredientTypeStrings() {
 		Collection<IIngredientType<?>> ingredientTypes = this.ingredientManager.getRegisteredIngredientTypes();
-		Set<String> ingredientTypeStrings = ingredientTypes.stream()
+		return ingredientTypes.stream()
 			.map(IngredientTypeSortingConfig::getIngredientTypeString)
 			.collect(Collectors.toSet());
-		return this.ingredientTypeSortingConfig.getComparatorFromMappedValues(ingredientTypeStrings);
 	}
 
-	private static Comparator<IListElementInfo<?>> getMaxDurabilityComparator() {
-		Comparator<IListElementInfo<?>> maxDamage =
-			Comparator.comparing(o -> getItemStack(o).getMaxDamage());
-		return maxDamage.reversed();
-	}
+	/**
+	 * Looks up the values of real ingredients.
+	 * The sort orders and tag sizes are looked up once, the first time they are needed.
+	 */
+	private class SortValues implements IIngredientSortValues {
+		private @Nullable ToIntFunction<IListElementInfo<?>> modNameSortIndex;
+		private @Nullable ToIntFunction<IListElementInfo<?>> ingredientTypeSortIndex;
+		// tags only change when JEI restarts, so each tag's size only needs to be looked up once
+		private final Map<ResourceLocation, Integer> tagCounts = new HashMap<>();
+
+		@Override
+		public int getModNameSortIndex(IListElementInfo<?> elementInfo) {
+			if (modNameSortIndex == null) {
+				Set<String> modNames = ingredientFilter.getModNamesForSorting();
+				modNameSortIndex = modNameSortingConfig.getSortIndexFromMappedValues(modNames);
+			}
+			return modNameSortIndex.applyAsInt(elementInfo);
+		}
 
-	private Comparator<IListElementInfo<?>> getTagComparator() {
-		Comparator<IListElementInfo<?>> isTagged =
-			Comparator.comparing(this::hasTag);
-		Comparator<IListElementInfo<?>> tag =
-			Comparator.comparing(this::getTagForSorting);
-		return isTagged.reversed().thenComparing(tag);
-	}
+		@Override
+		public int getIngredientTypeSortIndex(IListElementInfo<?> elementInfo) {
+			if (ingredientTypeSortIndex == null) {
+				Set<String> ingredientTypeStrings = getIngredientTypeStrings();
+				ingredientTypeSortIndex = ingredientTypeSortingConfig.getSortIndexFromMappedValues(ingredientTypeStrings);
+			}
+			return ingredientTypeSortIndex.applyAsInt(elementInfo);
+		}
+
+		@Override
+		public String getTagForSorting(IListElementInfo<?> elementInfo) {
+			// Choose the most popular tag it has.
+			return elementInfo.getTagIds(ingredientManager)
+				.max(Comparator.comparingInt(tagId -> tagCounts.computeIfAbsent(tagId, IngredientSorterComparators::tagCount)))
+				.map(ResourceLocation::getPath)
+				.orElse("");
+		}
+
+		@Override
+		public boolean isArmor(IListElementInfo<?> elementInfo) {
+			return IngredientSorterComparators.isArmor(getItemStack(elementInfo));
+		}
 
-	private static Comparator<IListElementInfo<?>> getArmorComparator() {
-		Comparator<IListElementInfo<?>> isArmorComp =
-			Comparator.comparing(o -> isArmor(getItemStack(o)));
-		Comparator<IListElementInfo<?>> armorSlot =
-			Comparator.comparing(o -> getArmorSlotIndex(getItemStack(o)));
-		Comparator<IListElementInfo<?>> armorDamage =
-			Comparator.comparing(o -> getArmorDamageReduce(getItemStack(o)));
-		Comparator<IListElementInfo<?>> armorToughness =
-			Comparator.comparing(o -> getArmorToughness(getItemStack(o)));
-		Comparator<IListElementInfo<?>> maxDamage =
-			Comparator.comparing(o -> getArmorDurability(getItemStack(o)));
-		return isArmorComp.reversed()
-			.thenComparing(armorSlot.reversed())
-			.thenComparing(armorDamage.reversed())
-			.thenComparing(armorToughness.reversed())
-			.thenComparing(maxDamage.reversed());
+		@Override
+		public int getArmorSlotIndex(IListElementInfo<?> elementInfo) {
+			return IngredientSorterComparators.getArmorSlotIndex(getItemStack(elementInfo));
+		}
+
+		@Override
+		public int getArmorDamageReduce(IListElementInfo<?> elementInfo) {
+			return IngredientSorterComparators.getArmorDamageReduce(getItemStack(elementInfo));
+		}
+
+		@Override
+		public float getArmorToughness(IListElementInfo<?> elementInfo) {
+			return IngredientSorterComparators.getArmorToughness(getItemStack(elementInfo));
+		}
+
+		@Override
+		public int getArmorDurability(IListElementInfo<?> elementInfo) {
+			return IngredientSorterComparators.getArmorDurability(getItemStack(elementInfo));
+		}
+
+		@Override
+		public int getMaxDurability(IListElementInfo<?> elementInfo) {
+			return getItemStack(elementInfo).getMaxDamage();
+		}
 	}
 
 	private static boolean isArmor(ItemStack itemStack) {
@@ -156,14 +218,6 @@ public class IngredientSorterComparators {
 		return 0;
 	}
 
-	private String getTagForSorting(IListElementInfo<?> elementInfo) {
-		// Choose the most popular tag it has.
-		return elementInfo.getTagIds(ingredientManager)
-			.max(Comparator.comparing(IngredientSorterComparators::tagCount))
-			.map(ResourceLocation::getPath)
-			.orElse("");
-	}
-
 	private static int tagCount(ResourceLocation tagId) {
 		//TODO: make a tag blacklist.
 		if (tagId.toString().equals("itemfilters:check_nbt")) {
@@ -176,10 +230,6 @@ public class IngredientSorterComparators {
 			.orElse(0);
 	}
 
-	private boolean hasTag(IListElementInfo<?> elementInfo) {
-		return !getTagForSorting(elementInfo).isEmpty();
-	}
-
 	public static <V> ItemStack getItemStack(IListElementInfo<V> ingredientInfo) {
 		ITypedIngredient<V> ingredient = ingredientInfo.getTypedIngredient();
 		if (ingredient.getIngredient() instanceof ItemStack itemStack) {
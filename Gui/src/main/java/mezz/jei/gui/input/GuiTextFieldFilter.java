@@ -24,6 +24,7 @@ public class GuiTextFieldFilter extends EditBox {
 	private static final int maxSearchLength = 128;
 	private static final TextHistory history = new TextHistory();
 	private final BooleanSupplier filterEmpty;
+	private final BooleanSupplier resultsPartial;
 
 	private ImmutableRect2i area;
 	private final DrawableNineSliceTexture background;
@@ -31,10 +32,11 @@ public class GuiTextFieldFilter extends EditBox {
 
 	private @Nullable AbstractWidget previouslyFocusedWidget;
 
-	public GuiTextFieldFilter(BooleanSupplier filterEmpty) {
+	public GuiTextFieldFilter(BooleanSupplier filterEmpty, BooleanSupplier resultsPartial) {
 		// TODO narrator string
 		super(Minecraft.getInstance().font, 0, 0, 0, 0, CommonComponents.EMPTY);
 		this.filterEmpty = filterEmpty;
+		this.resultsPartial = resultsPartial;
 
 		setMaxLength(maxSearchLength);
 		this.area = ImmutableRect2i.EMPTY;
@@ -58,8 +60,21 @@ public class GuiTextFieldFilter extends EditBox {
 		if (!filterText.equals(getValue())) {
 			super.setValue(filterText);
 		}
-		int color = filterEmpty.getAsBoolean() ? 0xFFFF0000 : 0xFFFFFFFF;
-		setTextColor(color);
+		setTextColor(getTextColor());
+	}
+
+	private int getTextColor() {
+		if (resultsPartial.getAsBoolean()) {
+			return 0xFFFFFF55;
+		}
+		if (filterEmpty.getAsBoolean()) {
+			return 0xFFFF0000;
+		}
+		return 0xFFFFFFFF;
+	}
+
+	public boolean isResultsPartial() {
+		return resultsPartial.getAsBoolean();
 	}
 
 	public Optional<String> getHistory(TextHistory.Direction direction) {
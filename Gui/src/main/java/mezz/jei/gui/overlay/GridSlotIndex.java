@@ -0,0 +1,44 @@
+package mezz.jei.gui.overlay;
+
+import mezz.jei.common.util.ImmutableRect2i;
+
+/**
+ * Spatial index for slots laid out as a regular lattice, in row-major order starting at the top-left of an area.
+ * Finds the slot at a position arithmetically instead of testing every slot.
+ */
+public final class GridSlotIndex {
+	public static final GridSlotIndex EMPTY = new GridSlotIndex(ImmutableRect2i.EMPTY, 1, 1);
+
+	private final ImmutableRect2i area;
+	private final int slotWidth;
+	private final int slotHeight;
+	private final int columns;
+	private final int rows;
+
+	public GridSlotIndex(ImmutableRect2i area, int slotWidth, int slotHeight) {
+		this.area = area;
+		this.slotWidth = slotWidth;
+		this.slotHeight = slotHeight;
+		this.columns = area.getWidth() / slotWidth;
+		this.rows = area.getHeight() / slotHeight;
+	}
+
+	/**
+	 * @return the row-major index of the slot containing the position, or -1 if there is no slot there.
+	 */
+	public int getIndex(double x, double y) {
+		if (!area.contains(x, y)) {
+			return -1;
+		}
+		int column = (int) ((x - area.getX()) / slotWidth);
+		int row = (int) ((y - area.getY()) / slotHeight);
+		if (column >= columns || row >= rows) {
+			return -1;
+		}
+		return (row * columns) + column;
+	}
+
+	public int size() {
+		return columns * rows;
+	}
+}
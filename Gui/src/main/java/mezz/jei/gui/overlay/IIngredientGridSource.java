@@ -11,6 +11,13 @@ public interface IIngredientGridSource {
 
 	void addSourceListChangedListener(SourceListChangedListener listener);
 
+	/**
+	 * @return true if some elements may be missing because they are still being added in the background.
+	 */
+	default boolean hasPartialResults() {
+		return false;
+	}
+
 	interface SourceListChangedListener {
 		void onSourceListChanged();
 	}
@@ -28,6 +28,7 @@ import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.client.renderer.RenderType;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -48,6 +49,7 @@ public class IngredientGrid implements IRecipeFocusSource, IIngredientGrid {
 	private final IngredientGridTooltipHelper tooltipHelper;
 	private Set<ImmutableRect2i> guiExclusionAreas = Set.of();
 	private ImmutableRect2i area = ImmutableRect2i.EMPTY;
+	private GridSlotIndex slotIndex = GridSlotIndex.EMPTY;
 
 	public IngredientGrid(
 		IIngredientManager ingredientManager,
@@ -61,8 +63,8 @@ public class IngredientGrid implements IRecipeFocusSource, IIngredientGrid {
 		IColorHelper colorHelper
 	) {
 		this.gridConfig = gridConfig;
-		this.ingredientListRenderer = new IngredientListRenderer();
-		this.tooltipHelper = new IngredientGridTooltipHelper(ingredientManager, ingredientFilterConfig, toggleState, modIdHelper, keyBindings, colorHelper);
+		this.ingredientListRenderer = new IngredientListRenderer(clientConfig);
+		this.tooltipHelper = new IngredientGridTooltipHelper(ingredientManager, ingredientFilterConfig, clientConfig, toggleState, modIdHelper, keyBindings, colorHelper);
 		this.deleteItemHandler = new DeleteItemInputHandler(this, toggleState, clientConfig, serverConnection, ingredientManager);
 	}
 
@@ -75,21 +77,28 @@ public class IngredientGrid implements IRecipeFocusSource, IIngredientGrid {
 	}
 
 	public void updateBounds(ImmutableRect2i availableArea, Set<ImmutableRect2i> guiExclusionAreas, @Nullable ImmutablePoint2i mouseExclusionPoint) {
-		this.ingredientListRenderer.clear();
-
-		this.area = calculateBounds(this.gridConfig, availableArea);
+		ImmutableRect2i area = calculateBounds(this.gridConfig, availableArea);
 		this.guiExclusionAreas = guiExclusionAreas;
 
-		for (int y = this.area.getY(); y < this.area.getY() + this.area.getHeight(); y += INGREDIENT_HEIGHT) {
-			for (int x = this.area.getX(); x < this.area.getX() + this.area.getWidth(); x += INGREDIENT_WIDTH) {
-				IngredientListSlot ingredientListSlot = new IngredientListSlot(x, y, INGREDIENT_WIDTH, INGREDIENT_HEIGHT, INGREDIENT_PADDING);
-				ImmutableRect2i stackArea = ingredientListSlot.getArea();
-				final boolean blocked = MathUtil.intersects(guiExclusionAreas, stackArea.expandBy(2)) ||
-					(mouseExclusionPoint != null && stackArea.contains(mouseExclusionPoint));
-				ingredientListSlot.setBlocked(blocked);
-				this.ingredientListRenderer.add(ingredientListSlot);
+		// the slots only depend on the grid area, keep them when it has not moved or resized
+		if (!area.equals(this.area)) {
+			this.area = area;
+			this.slotIndex = new GridSlotIndex(area, INGREDIENT_WIDTH, INGREDIENT_HEIGHT);
+			this.ingredientListRenderer.clear();
+
+			for (int y = this.area.getY(); y < this.area.getY() + this.area.getHeight(); y += INGREDIENT_HEIGHT) {
+				for (int x = this.area.getX(); x < this.area.getX() + this.area.getWidth(); x += INGREDIENT_WIDTH) {
+					IngredientListSlot ingredientListSlot = new IngredientListSlot(x, y, INGREDIENT_WIDTH, INGREDIENT_HEIGHT, INGREDIENT_PADDING);
+					this.ingredientListRenderer.add(ingredientListSlot);
+				}
 			}
 		}
+
+		this.ingredientListRenderer.updateBlocked(ingredientListSlot -> {
+			ImmutableRect2i stackArea = ingredientListSlot.getArea();
+			return MathUtil.intersects(guiExclusionAreas, stackArea.expandBy(2)) ||
+				(mouseExclusionPoint != null && stackArea.contains(mouseExclusionPoint));
+		});
 	}
 
 	public static ImmutableSize2i calculateSize(IIngredientGridConfig config, ImmutableRect2i availableArea) {
@@ -116,21 +125,40 @@ public class IngredientGrid implements IRecipeFocusSource, IIngredientGrid {
 	}
 
 	public static SlotInfo calculateBlockedSlotPercentage(IIngredientGridConfig config, ImmutableRect2i availableArea, Set<ImmutableRect2i> exclusionAreas) {
-		ImmutableRect2i area = calculateBounds(config, availableArea);
+		List<ImmutableRect2i> slotExclusionTestAreas = getSlotExclusionTestAreas(config, availableArea);
 
-		int total = 0;
 		int blocked = 0;
+		for (ImmutableRect2i slotExclusionTestArea : slotExclusionTestAreas) {
+			if (MathUtil.intersects(exclusionAreas, slotExclusionTestArea)) {
+				blocked++;
+			}
+		}
+		return new SlotInfo(slotExclusionTestAreas.size(), blocked);
+	}
+
+	/**
+	 * Returns the areas that are tested against the gui exclusion areas to decide if each slot of a grid is blocked.
+	 */
+	public static List<ImmutableRect2i> getSlotExclusionTestAreas(IIngredientGridConfig config, ImmutableRect2i availableArea) {
+		ImmutableRect2i area = calculateBounds(config, availableArea);
+
+		List<ImmutableRect2i> slotExclusionTestAreas = new ArrayList<>();
 		for (int y = area.getY(); y < area.getY() + area.getHeight(); y += INGREDIENT_HEIGHT) {
 			for (int x = area.getX(); x < area.getX() + area.getWidth(); x += INGREDIENT_WIDTH) {
 				IngredientListSlot ingredientListSlot = new IngredientListSlot(x, y, INGREDIENT_WIDTH, INGREDIENT_HEIGHT, INGREDIENT_PADDING);
 				ImmutableRect2i stackArea = ingredientListSlot.getArea();
-				if (MathUtil.intersects(exclusionAreas, stackArea.expandBy(2))) {
-					blocked++;
-				}
-				total++;
+				slotExclusionTestAreas.add(stackArea.expandBy(2));
 			}
 		}
-		return new SlotInfo(total, blocked);
+		return slotExclusionTestAreas;
+	}
+
+	/**
+	 * Replaces the gui exclusion areas used for mouse hit tests, without updating which slots are blocked.
+	 * Only valid when the new areas block the same slots as the ones passed to {@link #updateBounds}.
+	 */
+	public void updateExclusionAreas(Set<ImmutableRect2i> guiExclusionAreas) {
+		this.guiExclusionAreas = guiExclusionAreas;
 	}
 
 	public ImmutableRect2i getArea() {
@@ -138,16 +166,21 @@ public class IngredientGrid implements IRecipeFocusSource, IIngredientGrid {
 	}
 
 	public void draw(Minecraft minecraft, GuiGraphics guiGraphics, int mouseX, int mouseY) {
+		drawIngredients(guiGraphics);
+		drawHighlight(minecraft, guiGraphics, mouseX, mouseY);
+	}
+
+	public void drawIngredients(GuiGraphics guiGraphics) {
 		RenderSystem.disableBlend();
 
 		ingredientListRenderer.render(guiGraphics);
+	}
 
+	public void drawHighlight(Minecraft minecraft, GuiGraphics guiGraphics, int mouseX, int mouseY) {
 		if (isMouseOver(mouseX, mouseY)) {
 			if (!this.deleteItemHandler.shouldDeleteItemOnClick(minecraft, mouseX, mouseY)) {
-				ingredientListRenderer.getSlots()
-					.filter(s -> s.getArea().contains(mouseX, mouseY))
+				getSlotUnderMouse(mouseX, mouseY)
 					.filter(s -> s.getElement().isPresent())
-					.findFirst()
 					.ifPresent(s -> drawHighlight(guiGraphics, s.getArea()));
 			}
 		}
@@ -175,10 +208,8 @@ public class IngredientGrid implements IRecipeFocusSource, IIngredientGrid {
 			if (this.deleteItemHandler.shouldDeleteItemOnClick(minecraft, mouseX, mouseY)) {
 				this.deleteItemHandler.drawTooltips(guiGraphics, mouseX, mouseY);
 			} else {
-				ingredientListRenderer.getSlots()
-					.filter(s -> s.isMouseOver(mouseX, mouseY))
+				getSlotUnderMouse(mouseX, mouseY)
 					.filter(s -> s.getElement().isPresent())
-					.findFirst()
 					.ifPresent(s -> s.drawTooltip(guiGraphics, mouseX, mouseY, tooltipHelper));
 			}
 		}
@@ -193,10 +224,17 @@ public class IngredientGrid implements IRecipeFocusSource, IIngredientGrid {
 
 	@Override
 	public Stream<IClickableIngredientInternal<?>> getIngredientUnderMouse(double mouseX, double mouseY) {
-		return ingredientListRenderer.getSlots()
-			.filter(s -> s.isMouseOver(mouseX, mouseY))
-			.map(IngredientListSlot::getClickableIngredient)
-			.flatMap(Optional::stream);
+		return getSlotUnderMouse(mouseX, mouseY)
+			.flatMap(IngredientListSlot::getClickableIngredient)
+			.stream();
+	}
+
+	/**
+	 * Finds the unblocked slot under the mouse in constant time, using the grid layout.
+	 */
+	public Optional<IngredientListSlot> getSlotUnderMouse(double mouseX, double mouseY) {
+		int index = slotIndex.getIndex(mouseX, mouseY);
+		return ingredientListRenderer.getSlot(index);
 	}
 
 	public Stream<IngredientListSlot> getSlots() {
@@ -216,6 +254,13 @@ public class IngredientGrid implements IRecipeFocusSource, IIngredientGrid {
 		this.ingredientListRenderer.set(firstItemIndex, ingredientList);
 	}
 
+	/**
+	 * @return true if the current page has animated ingredients, so it must be drawn every frame.
+	 */
+	public boolean hasAnimatedIngredients() {
+		return this.ingredientListRenderer.hasAnimatedElements();
+	}
+
 	public boolean hasRoom() {
 		return !this.area.isEmpty();
 	}
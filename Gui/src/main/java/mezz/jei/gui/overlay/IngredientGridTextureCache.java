@@ -0,0 +1,184 @@
+package mezz.jei.gui.overlay;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.platform.Window;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import mezz.jei.api.constants.VanillaTypes;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.common.Internal;
+import mezz.jei.common.util.ImmutableRect2i;
+import mezz.jei.gui.overlay.elements.IElement;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.client.renderer.block.model.ItemOverrides;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+import java.util.function.Consumer;
+
+/**
+ * Caches a drawn page of ingredients in an offscreen framebuffer,
+ * so that a page that has not changed can be drawn with a single textured quad
+ * instead of drawing every ingredient again each frame.
+ *
+ * The cache is redrawn after {@link #invalidate()}, when the window is resized,
+ * when resources are reloaded, or when edit mode is toggled.
+ * Pages with animated ingredients are not cached, see {@link #isAnimated(IElement)}.
+ */
+public class IngredientGridTextureCache {
+	private static int resourceReloadCount = 0;
+
+	private @Nullable TextureTarget textureTarget;
+	private boolean valid = false;
+	private int validResourceReloadCount = -1;
+	private boolean validEditMode = false;
+
+	/**
+	 * Invalidates every cache, for when textures and models have been reloaded.
+	 */
+	public static void onResourceReload() {
+		resourceReloadCount++;
+	}
+
+	public void invalidate() {
+		this.valid = false;
+	}
+
+	/**
+	 * Draws the area from the cache, first calling the drawer to fill the cache if it is not valid.
+	 */
+	public void draw(GuiGraphics guiGraphics, ImmutableRect2i area, Consumer<GuiGraphics> drawer) {
+		if (area.isEmpty()) {
+			return;
+		}
+
+		Minecraft minecraft = Minecraft.getInstance();
+		RenderTarget mainTarget = minecraft.getMainRenderTarget();
+		TextureTarget textureTarget = getTextureTarget(mainTarget.width, mainTarget.height);
+
+		boolean editMode = Internal.getClientToggleState().isEditModeEnabled();
+		if (!valid || validResourceReloadCount != resourceReloadCount || validEditMode != editMode) {
+			guiGraphics.flush();
+			textureTarget.setClearColor(0, 0, 0, 0);
+			textureTarget.clear(Minecraft.ON_OSX);
+			textureTarget.bindWrite(true);
+			drawer.accept(guiGraphics);
+			guiGraphics.flush();
+			mainTarget.bindWrite(true);
+
+			valid = true;
+			validResourceReloadCount = resourceReloadCount;
+			validEditMode = editMode;
+		}
+
+		blit(guiGraphics, minecraft, mainTarget, textureTarget, area);
+	}
+
+	/**
+	 * Frees the framebuffer, for when the cache is disabled.
+	 */
+	public void release() {
+		if (textureTarget != null) {
+			textureTarget.destroyBuffers();
+			textureTarget = null;
+		}
+		valid = false;
+	}
+
+	private TextureTarget getTextureTarget(int width, int height) {
+		if (textureTarget == null) {
+			textureTarget = new TextureTarget(width, height, true, Minecraft.ON_OSX);
+			valid = false;
+		} else if (textureTarget.width != width || textureTarget.height != height) {
+			textureTarget.resize(width, height, Minecraft.ON_OSX);
+			valid = false;
+		}
+		return textureTarget;
+	}
+
+	private static void blit(GuiGraphics guiGraphics, Minecraft minecraft, RenderTarget mainTarget, TextureTarget textureTarget, ImmutableRect2i area) {
+		// the gui projection uses the unrounded scaled size, getGuiScaledWidth() and getGuiScaledHeight() are rounded up
+		Window window = minecraft.getWindow();
+		float guiScale = (float) window.getGuiScale();
+		float guiWidth = mainTarget.width / guiScale;
+		float guiHeight = mainTarget.height / guiScale;
+
+		int x = area.getX();
+		int y = area.getY();
+		int width = area.getWidth();
+		int height = area.getHeight();
+
+		// the cached page was drawn with the same pose, so use its transformed position to find it in the texture.
+		// the framebuffer texture has its origin at the bottom left.
+		Matrix4f matrix = guiGraphics.pose().last().pose();
+		Vector3f topLeft = matrix.transformPosition(x, y, 0, new Vector3f());
+		Vector3f bottomRight = matrix.transformPosition(x + width, y + height, 0, new Vector3f());
+		float minU = topLeft.x() / guiWidth;
+		float maxU = bottomRight.x() / guiWidth;
+		float minV = 1.0f - (topLeft.y() / guiHeight);
+		float maxV = 1.0f - (bottomRight.y() / guiHeight);
+
+		// the page was drawn onto transparent black, so its colors are already multiplied by its alpha
+		RenderSystem.enableBlend();
+		RenderSystem.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+		RenderSystem.setShader(GameRenderer::getPositionTexShader);
+		RenderSystem.setShaderTexture(0, textureTarget.getColorTextureId());
+
+		Tesselator tesselator = Tesselator.getInstance();
+		BufferBuilder bufferBuilder = tesselator.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+		bufferBuilder.addVertex(matrix, x, y + height, 0)
+			.setUv(minU, maxV);
+		bufferBuilder.addVertex(matrix, x + width, y + height, 0)
+			.setUv(maxU, maxV);
+		bufferBuilder.addVertex(matrix, x + width, y, 0)
+			.setUv(maxU, minV);
+		bufferBuilder.addVertex(matrix, x, y, 0)
+			.setUv(minU, minV);
+		BufferUploader.drawWithShader(bufferBuilder.buildOrThrow());
+
+		RenderSystem.defaultBlendFunc();
+		RenderSystem.disableBlend();
+	}
+
+	/**
+	 * @return true if the element may look different from one frame to the next, so a page containing it can't be cached.
+	 * This is conservative: every ingredient that is not an item stack counts as animated,
+	 * and so do item stacks with an enchantment glint, a custom renderer (like block entity items),
+	 * model overrides (like clocks and compasses), or an animated texture.
+	 */
+	public static boolean isAnimated(IElement<?> element) {
+		ITypedIngredient<?> typedIngredient = element.getTypedIngredient();
+		if (typedIngredient.getType() != VanillaTypes.ITEM_STACK) {
+			return true;
+		}
+		ItemStack itemStack = (ItemStack) typedIngredient.getIngredient();
+		if (itemStack.hasFoil()) {
+			return true;
+		}
+
+		Minecraft minecraft = Minecraft.getInstance();
+		BakedModel model = minecraft.getItemRenderer().getModel(itemStack, minecraft.level, null, 0);
+		if (model.isCustomRenderer()) {
+			return true;
+		}
+		if (model.getOverrides() != ItemOverrides.EMPTY) {
+			return true;
+		}
+		return model.getParticleIcon()
+			.contents()
+			.getUniqueFrames()
+			.limit(2)
+			.count() > 1;
+	}
+}
@@ -4,33 +4,67 @@ import mezz.jei.api.helpers.IColorHelper;
 import mezz.jei.api.helpers.IModIdHelper;
 import mezz.jei.api.ingredients.IIngredientHelper;
 import mezz.jei.api.ingredients.IIngredientRenderer;
+import mezz.jei.api.ingredients.IIngredientType;
 import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.ingredients.subtypes.UidContext;
 import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.common.config.IClientConfig;
 import mezz.jei.common.config.IClientToggleState;
 import mezz.jei.common.config.IIngredientFilterConfig;
 import mezz.jei.common.gui.TooltipHelper;
 import mezz.jei.common.input.IInternalKeyMappings;
 import mezz.jei.common.util.SafeIngredientUtil;
 import mezz.jei.core.search.SearchMode;
+import mezz.jei.gui.bookmarks.IBookmark;
+import mezz.jei.gui.overlay.elements.IElement;
 import net.minecraft.ChatFormatting;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.client.gui.screens.inventory.tooltip.ClientTooltipComponent;
 import net.minecraft.network.chat.CommonComponents;
 import net.minecraft.network.chat.Component;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 public final class IngredientGridTooltipHelper {
+	private static final int MAX_CACHED_TOOLTIPS = 16;
+	private static int resourceReloadCount = 0;
+
 	private final IIngredientManager ingredientManager;
 	private final IIngredientFilterConfig ingredientFilterConfig;
+	private final IClientConfig clientConfig;
 	private final IClientToggleState toggleState;
 	private final IModIdHelper modIdHelper;
 	private final IInternalKeyMappings keyBindings;
 	private final IColorHelper colorHelper;
+	/**
+	 * Recently built tooltips, so that hovering an ingredient does not rebuild its whole tooltip every frame.
+	 */
+	private final Map<TooltipKey, CachedTooltip> tooltipCache = new LinkedHashMap<>(MAX_CACHED_TOOLTIPS, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<TooltipKey, CachedTooltip> eldest) {
+			return size() > MAX_CACHED_TOOLTIPS;
+		}
+	};
+	private int validResourceReloadCount = resourceReloadCount;
+
+	/**
+	 * Tooltips may contain translated text and data from resources, so they are rebuilt after a reload.
+	 * This includes changing the language.
+	 */
+	public static void onResourceReload() {
+		resourceReloadCount++;
+	}
 
 	public IngredientGridTooltipHelper(
 		IIngredientManager ingredientManager,
 		IIngredientFilterConfig ingredientFilterConfig,
+		IClientConfig clientConfig,
 		IClientToggleState toggleState,
 		IModIdHelper modIdHelper,
 		IInternalKeyMappings keyBindings,
@@ -38,12 +72,62 @@ public final class IngredientGridTooltipHelper {
 	) {
 		this.ingredientManager = ingredientManager;
 		this.ingredientFilterConfig = ingredientFilterConfig;
+		this.clientConfig = clientConfig;
 		this.toggleState = toggleState;
 		this.modIdHelper = modIdHelper;
 		this.keyBindings = keyBindings;
 		this.colorHelper = colorHelper;
 	}
 
+	/**
+	 * Get the tooltip for an element in the ingredient grid, reusing a recently built one if nothing it depends on has changed.
+	 * Cached tooltips expire after {@link IClientConfig#getTooltipCacheTimeout()}, so tooltips that change over time are still updated.
+	 */
+	public <T> List<ClientTooltipComponent> getTooltipComponents(
+		IElement<T> element,
+		IIngredientRenderer<T> ingredientRenderer,
+		IIngredientHelper<T> ingredientHelper
+	) {
+		int timeout = clientConfig.getTooltipCacheTimeout();
+		if (timeout <= 0) {
+			return element.getTooltipComponents(this, ingredientRenderer, ingredientHelper);
+		}
+
+		if (validResourceReloadCount != resourceReloadCount) {
+			validResourceReloadCount = resourceReloadCount;
+			tooltipCache.clear();
+		}
+
+		TooltipKey key = createTooltipKey(element, ingredientHelper);
+		long now = System.currentTimeMillis();
+		CachedTooltip cachedTooltip = tooltipCache.get(key);
+		if (cachedTooltip != null && now - cachedTooltip.createdTime() < timeout) {
+			return cachedTooltip.components();
+		}
+
+		List<ClientTooltipComponent> components = List.copyOf(element.getTooltipComponents(this, ingredientRenderer, ingredientHelper));
+		tooltipCache.put(key, new CachedTooltip(components, now));
+		return components;
+	}
+
+	private <T> TooltipKey createTooltipKey(IElement<T> element, IIngredientHelper<T> ingredientHelper) {
+		ITypedIngredient<T> typedIngredient = element.getTypedIngredient();
+		String uid = ingredientHelper.getUniqueId(typedIngredient.getIngredient(), UidContext.Ingredient);
+		Minecraft minecraft = Minecraft.getInstance();
+		return new TooltipKey(
+			element.getClass(),
+			element.getBookmark(),
+			typedIngredient.getType(),
+			uid,
+			minecraft.options.advancedItemTooltips,
+			Screen.hasShiftDown(),
+			Screen.hasControlDown(),
+			Screen.hasAltDown(),
+			toggleState.isEditModeEnabled(),
+			ingredientFilterConfig.getColorSearchMode()
+		);
+	}
+
 	public <T> List<Component> getIngredientTooltip(
 		ITypedIngredient<T> typedIngredient,
 		IIngredientRenderer<T> ingredientRenderer,
@@ -91,4 +175,19 @@ public final class IngredientGridTooltipHelper {
 		);
 		tooltip.addAll(lines);
 	}
+
+	private record TooltipKey(
+		Class<?> elementClass,
+		Optional<IBookmark> bookmark,
+		IIngredientType<?> ingredientType,
+		String uid,
+		boolean advancedTooltips,
+		boolean shiftDown,
+		boolean controlDown,
+		boolean altDown,
+		boolean editMode,
+		SearchMode colorSearchMode
+	) {}
+
+	private record CachedTooltip(List<ClientTooltipComponent> components, long createdTime) {}
 }
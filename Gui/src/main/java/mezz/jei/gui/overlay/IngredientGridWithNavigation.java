@@ -34,10 +34,12 @@ import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.world.item.ItemStack;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -62,10 +64,18 @@ public class IngredientGridWithNavigation implements IRecipeFocusSource {
 	private final DrawableNineSliceTexture slotBackground;
 	private final CommandUtil commandUtil;
 	private final GhostIngredientDragManager ghostIngredientDragManager;
+	private final IngredientGridTextureCache textureCache = new IngredientGridTextureCache();
+	private final MaximalRectangle maximalRectangle = new MaximalRectangle();
 
 	private ImmutableRect2i backgroundArea = ImmutableRect2i.EMPTY;
 	private ImmutableRect2i slotBackgroundArea = ImmutableRect2i.EMPTY;
 	private Set<ImmutableRect2i> guiExclusionAreas = Set.of();
+	/**
+	 * Every area that the last layout tested against the gui exclusion areas, and whether it intersected them.
+	 * New exclusion areas that give the same results block the same slots, so they do not need a new layout.
+	 */
+	private final List<ImmutableRect2i> exclusionTestAreas = new ArrayList<>();
+	private final BitSet exclusionTestResults = new BitSet();
 
 	public IngredientGridWithNavigation(
 		IIngredientGridSource ingredientSource,
@@ -112,9 +122,10 @@ public class IngredientGridWithNavigation implements IRecipeFocusSource {
 		}
 		this.ingredientGrid.set(firstItemIndex, ingredientList);
 		this.navigation.updatePageNumber();
+		this.textureCache.invalidate();
 	}
 
-	private static ImmutableRect2i avoidExclusionAreas(
+	private ImmutableRect2i avoidExclusionAreas(
 		ImmutableRect2i availableArea,
 		ImmutableRect2i estimatedNavigationArea,
 		Set<ImmutableRect2i> guiExclusionAreas,
@@ -123,14 +134,18 @@ public class IngredientGridWithNavigation implements IRecipeFocusSource {
 		final int maxDimension = Math.max(availableArea.getWidth(), availableArea.getHeight());
 		final int samplingScale = Math.max(IngredientGrid.INGREDIENT_HEIGHT / 2, maxDimension / 25);
 
-		ImmutableRect2i largestSafeArea = MaximalRectangle.getLargestRectangles(
+		LargestGridAreaFinder largestGridAreaFinder = new LargestGridAreaFinder(gridConfig);
+		maximalRectangle.forEachLargestRectangle(
 			availableArea,
 			guiExclusionAreas,
-			samplingScale
-		)
-			.max(Comparator.comparingInt((ImmutableRect2i rect) -> IngredientGrid.calculateSize(gridConfig, rect).getArea())
-				.thenComparing(r -> r.getWidth() * r.getHeight()))
-			.orElse(ImmutableRect2i.EMPTY);
+			samplingScale,
+			largestGridAreaFinder
+		);
+		ImmutableRect2i largestSafeArea = largestGridAreaFinder.getLargest();
+
+		exclusionTestAreas.add(estimatedNavigationArea);
+		exclusionTestAreas.addAll(IngredientGrid.getSlotExclusionTestAreas(gridConfig, availableArea));
+		exclusionTestAreas.addAll(IngredientGrid.getSlotExclusionTestAreas(gridConfig, largestSafeArea));
 
 		final boolean intersectsNavigationArea = guiExclusionAreas.stream()
 			.anyMatch(estimatedNavigationArea::intersects);
@@ -177,11 +192,14 @@ public class IngredientGridWithNavigation implements IRecipeFocusSource {
 			}
 		}
 
+		exclusionTestAreas.addAll(IngredientGrid.getSlotExclusionTestAreas(gridConfig, availableGridArea));
 		this.ingredientGrid.updateBounds(availableGridArea, guiExclusionAreas, mouseExclusionPoint);
 	}
 
 	public void updateBounds(final ImmutableRect2i availableArea, Set<ImmutableRect2i> guiExclusionAreas, @Nullable ImmutablePoint2i mouseExclusionPoint) {
 		this.guiExclusionAreas = guiExclusionAreas;
+		this.textureCache.invalidate();
+		this.exclusionTestAreas.clear();
 
 		final boolean navigationEnabled =
 			switch (this.gridConfig.getButtonNavigationVisibility()) {
@@ -195,6 +213,12 @@ public class IngredientGridWithNavigation implements IRecipeFocusSource {
 		if (navigationEnabled) {
 			updateGridBounds(availableArea, mouseExclusionPoint, true);
 		}
+		this.exclusionTestResults.clear();
+		for (int i = 0; i < this.exclusionTestAreas.size(); i++) {
+			if (MathUtil.intersects(guiExclusionAreas, this.exclusionTestAreas.get(i))) {
+				this.exclusionTestResults.set(i);
+			}
+		}
 		if (!hasRoom()) {
 			return;
 		}
@@ -210,6 +234,24 @@ public class IngredientGridWithNavigation implements IRecipeFocusSource {
 		}
 	}
 
+	/**
+	 * Updates the gui exclusion areas without a new layout, if they block the same slots as the ones used by the current layout.
+	 * Mods that move their exclusion areas slightly every frame (for example while animating a panel) take this path.
+	 *
+	 * @return false if the new exclusion areas would change the layout, in that case nothing is updated and
+	 * {@link #updateBounds} must be called instead.
+	 */
+	public boolean updateExclusionAreas(Set<ImmutableRect2i> guiExclusionAreas) {
+		for (int i = 0; i < this.exclusionTestAreas.size(); i++) {
+			if (MathUtil.intersects(guiExclusionAreas, this.exclusionTestAreas.get(i)) != this.exclusionTestResults.get(i)) {
+				return false;
+			}
+		}
+		this.guiExclusionAreas = guiExclusionAreas;
+		this.ingredientGrid.updateExclusionAreas(guiExclusionAreas);
+		return true;
+	}
+
 	private static ImmutableRect2i calculateSlotBackgroundArea(ImmutableRect2i ingredientGridArea, IIngredientGridConfig gridConfig) {
 		if (gridConfig.drawBackground()) {
 			return ingredientGridArea.expandBy(INNER_PADDING);
@@ -258,7 +300,17 @@ public class IngredientGridWithNavigation implements IRecipeFocusSource {
 			slotBackground.draw(guiGraphics, this.slotBackgroundArea);
 		}
 
-		this.ingredientGrid.draw(minecraft, guiGraphics, mouseX, mouseY);
+		if (clientConfig.isIngredientGridTextureCacheEnabled()) {
+			if (this.ingredientGrid.hasAnimatedIngredients()) {
+				this.ingredientGrid.drawIngredients(guiGraphics);
+			} else {
+				this.textureCache.draw(guiGraphics, this.ingredientGrid.getArea(), this.ingredientGrid::drawIngredients);
+			}
+			this.ingredientGrid.drawHighlight(minecraft, guiGraphics, mouseX, mouseY);
+		} else {
+			this.textureCache.release();
+			this.ingredientGrid.draw(minecraft, guiGraphics, mouseX, mouseY);
+		}
 		this.navigation.draw(minecraft, guiGraphics, mouseX, mouseY, partialTicks);
 	}
 
@@ -310,6 +362,35 @@ public class IngredientGridWithNavigation implements IRecipeFocusSource {
 		return this.ingredientGrid.getSlots();
 	}
 
+	/**
+	 * Keeps the rectangle that fits the most ingredients, using the size in pixels to break ties.
+	 */
+	private static class LargestGridAreaFinder implements Consumer<ImmutableRect2i> {
+		private final IIngredientGridConfig gridConfig;
+		private ImmutableRect2i largest = ImmutableRect2i.EMPTY;
+		private int largestGridArea = -1;
+		private int largestArea = -1;
+
+		public LargestGridAreaFinder(IIngredientGridConfig gridConfig) {
+			this.gridConfig = gridConfig;
+		}
+
+		@Override
+		public void accept(ImmutableRect2i rect) {
+			int gridArea = IngredientGrid.calculateSize(gridConfig, rect).getArea();
+			int area = rect.getWidth() * rect.getHeight();
+			if (gridArea > largestGridArea || (gridArea == largestGridArea && area > largestArea)) {
+				largest = rect;
+				largestGridArea = gridArea;
+				largestArea = area;
+			}
+		}
+
+		public ImmutableRect2i getLargest() {
+			return largest;
+		}
+	}
+
 	private class IngredientGridPaged implements IPaged {
 		@Override
 		public boolean nextPage() {
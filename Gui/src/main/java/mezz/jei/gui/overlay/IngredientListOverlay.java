@@ -7,6 +7,7 @@ import mezz.jei.api.runtime.IIngredientListOverlay;
 import mezz.jei.api.runtime.IScreenHelper;
 import mezz.jei.common.config.IClientConfig;
 import mezz.jei.common.config.IClientToggleState;
+import mezz.jei.common.gui.TooltipRenderer;
 import mezz.jei.common.input.IInternalKeyMappings;
 import mezz.jei.common.util.ImmutableRect2i;
 import mezz.jei.gui.GuiProperties;
@@ -26,6 +27,7 @@ import mezz.jei.gui.input.handlers.ProxyDragHandler;
 import mezz.jei.gui.input.handlers.ProxyInputHandler;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.network.chat.Component;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
@@ -63,7 +65,7 @@ public class IngredientListOverlay implements IIngredientListOverlay, IRecipeFoc
 		this.clientConfig = clientConfig;
 		this.toggleState = toggleState;
 
-		this.searchField = new GuiTextFieldFilter(contents::isEmpty);
+		this.searchField = new GuiTextFieldFilter(contents::isEmpty, ingredientGridSource::hasPartialResults);
 		this.keyBindings = keyBindings;
 		this.filterTextSource = filterTextSource;
 		this.searchField.setValue(filterTextSource.getFilterText());
@@ -97,7 +99,7 @@ public class IngredientListOverlay implements IIngredientListOverlay, IRecipeFoc
 
 
 	public ScreenPropertiesCache.Updater getScreenPropertiesUpdater() {
-		return this.screenPropertiesCache.getUpdater(this::onScreenPropertiesChanged);
+		return this.screenPropertiesCache.getUpdater(this::onScreenPropertiesChanged, this::onExclusionAreasChanged);
 	}
 
 	private void onScreenPropertiesChanged() {
@@ -112,6 +114,13 @@ public class IngredientListOverlay implements IIngredientListOverlay, IRecipeFoc
 			});
 	}
 
+	private void onExclusionAreasChanged() {
+		Set<ImmutableRect2i> guiExclusionAreas = screenPropertiesCache.getGuiExclusionAreas();
+		if (!this.contents.updateExclusionAreas(guiExclusionAreas)) {
+			onScreenPropertiesChanged();
+		}
+	}
+
 	private void updateBounds(IGuiProperties guiProperties, ImmutableRect2i displayArea, Set<ImmutableRect2i> guiExclusionAreas) {
 		final boolean searchBarCentered = isSearchBarCentered(this.clientConfig, guiProperties);
 
@@ -174,6 +183,9 @@ public class IngredientListOverlay implements IIngredientListOverlay, IRecipeFoc
 		}
 		if (this.screenPropertiesCache.hasValidScreen()) {
 			this.configButton.drawTooltips(guiGraphics, mouseX, mouseY);
+			if (this.searchField.isMouseOver(mouseX, mouseY) && this.searchField.isResultsPartial()) {
+				TooltipRenderer.drawHoveringText(guiGraphics, List.of(Component.translatable("jei.tooltip.search.colors.partial")), mouseX, mouseY);
+			}
 		}
 	}
 
@@ -2,25 +2,34 @@ package mezz.jei.gui.overlay;
 
 import mezz.jei.api.ingredients.IIngredientType;
 import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.common.config.IClientConfig;
 import mezz.jei.gui.overlay.elements.ElementRenderer;
 import mezz.jei.gui.overlay.elements.ElementRenderers;
 import mezz.jei.gui.overlay.elements.IElement;
-import mezz.jei.gui.overlay.elements.RenderableElement;
+import mezz.jei.gui.overlay.elements.ItemStackBatchRenderer;
 import net.minecraft.client.gui.GuiGraphics;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 public class IngredientListRenderer {
 	private final List<IngredientListSlot> slots = new ArrayList<>();
 	private final ElementRenderers elementRenderers;
+	private final ItemStackBatchRenderer batchRenderer;
+	private final IClientConfig clientConfig;
 
 	private int blocked = 0;
+	private boolean animated = false;
+	private boolean animatedChecked = false;
 
-	public IngredientListRenderer() {
+	public IngredientListRenderer(IClientConfig clientConfig) {
+		this.clientConfig = clientConfig;
 		this.elementRenderers = new ElementRenderers();
+		this.batchRenderer = new ItemStackBatchRenderer();
 	}
 
 	public void clear() {
@@ -36,13 +45,39 @@ public class IngredientListRenderer {
 		slots.add(ingredientListSlot);
 	}
 
+	/**
+	 * Recalculates which slots are blocked, keeping the existing slot objects.
+	 * The blocked count is updated by the next call to {@link #set}.
+	 */
+	public void updateBlocked(Predicate<IngredientListSlot> isBlocked) {
+		blocked = 0;
+		for (IngredientListSlot slot : slots) {
+			slot.setBlocked(isBlocked.test(slot));
+		}
+	}
+
 	public Stream<IngredientListSlot> getSlots() {
 		return slots.stream()
 			.filter(s -> !s.isBlocked());
 	}
 
+	/**
+	 * @return the unblocked slot at the given index, in the order the slots were added.
+	 */
+	public Optional<IngredientListSlot> getSlot(int index) {
+		if (index < 0 || index >= slots.size()) {
+			return Optional.empty();
+		}
+		IngredientListSlot slot = slots.get(index);
+		if (slot.isBlocked()) {
+			return Optional.empty();
+		}
+		return Optional.of(slot);
+	}
+
 	public void set(final int startIndex, List<IElement<?>> ingredientList) {
 		blocked = 0;
+		animatedChecked = false;
 
 		ListIterator<IElement<?>> elementIterator = ingredientList.listIterator(startIndex);
 
@@ -56,8 +91,7 @@ public class IngredientListRenderer {
 					element = elementIterator.next();
 				}
 				if (element.isVisible()) {
-					RenderableElement<?> renderableElement = createRenderableElement(element);
-					ingredientListSlot.setElement(renderableElement);
+					bindElement(ingredientListSlot, element);
 				} else {
 					ingredientListSlot.clear();
 				}
@@ -67,16 +101,37 @@ public class IngredientListRenderer {
 		}
 	}
 
-	private <T> RenderableElement<T> createRenderableElement(IElement<T> element) {
+	/**
+	 * @return true if any element on the current page is animated, see {@link IngredientGridTextureCache#isAnimated}.
+	 */
+	public boolean hasAnimatedElements() {
+		if (!animatedChecked) {
+			animated = getSlots()
+				.map(IngredientListSlot::getElement)
+				.flatMap(Optional::stream)
+				.anyMatch(IngredientGridTextureCache::isAnimated);
+			animatedChecked = true;
+		}
+		return animated;
+	}
+
+	private <T> void bindElement(IngredientListSlot ingredientListSlot, IElement<T> element) {
 		ITypedIngredient<T> typedIngredient = element.getTypedIngredient();
 		IIngredientType<T> type = typedIngredient.getType();
 		ElementRenderer<T> renderer = elementRenderers.get(type);
-		return new RenderableElement<>(element, renderer);
+		ingredientListSlot.setElement(element, renderer);
 	}
 
 	public void render(GuiGraphics guiGraphics) {
-		for (IngredientListSlot slot : slots) {
-			slot.render(guiGraphics);
+		if (clientConfig.isBatchedItemRenderingEnabled()) {
+			for (IngredientListSlot slot : slots) {
+				slot.render(guiGraphics, batchRenderer);
+			}
+			batchRenderer.render(guiGraphics);
+		} else {
+			for (IngredientListSlot slot : slots) {
+				slot.render(guiGraphics);
+			}
 		}
 	}
 }
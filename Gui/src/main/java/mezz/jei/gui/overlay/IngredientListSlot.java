@@ -4,18 +4,18 @@ import mezz.jei.gui.input.ClickableIngredientInternal;
 import mezz.jei.gui.input.IClickableIngredientInternal;
 import mezz.jei.common.util.ImmutableRect2i;
 import mezz.jei.gui.overlay.elements.IElement;
+import mezz.jei.gui.overlay.elements.IElementRenderer;
+import mezz.jei.gui.overlay.elements.ItemStackBatchRenderer;
 import mezz.jei.gui.overlay.elements.RenderableElement;
 import net.minecraft.client.gui.GuiGraphics;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
 public class IngredientListSlot {
 	private final ImmutableRect2i area;
 	private final int padding;
+	private final RenderableElement renderableElement = new RenderableElement();
 	private boolean blocked = false;
-	@Nullable
-	private RenderableElement<?> renderableElement;
 
 	public IngredientListSlot(int xPosition, int yPosition, int width, int height, int padding) {
 		this.area = new ImmutableRect2i(xPosition, yPosition, width, height);
@@ -23,32 +23,39 @@ public class IngredientListSlot {
 	}
 
 	public Optional<IElement<?>> getElement() {
-		return Optional.ofNullable(renderableElement)
-			.map(RenderableElement::getElement);
+		return renderableElement.getElement();
 	}
 
 	public Optional<IClickableIngredientInternal<?>> getClickableIngredient() {
-		return Optional.ofNullable(renderableElement)
-			.map(RenderableElement::getElement)
+		return renderableElement.getElement()
 			.map(element -> new ClickableIngredientInternal<>(element, area, true, true));
 	}
 
 	public void render(GuiGraphics guiGraphics) {
-		if (!blocked && renderableElement != null) {
+		if (!blocked) {
+			renderableElement.render(guiGraphics, area, padding);
+		}
+	}
+
+	/**
+	 * Adds the element to the batch if it supports batching, otherwise draws it immediately.
+	 */
+	public void render(GuiGraphics guiGraphics, ItemStackBatchRenderer batchRenderer) {
+		if (!blocked && !renderableElement.addToBatch(guiGraphics, batchRenderer, area, padding)) {
 			renderableElement.render(guiGraphics, area, padding);
 		}
 	}
 
 	public void clear() {
-		this.renderableElement = null;
+		this.renderableElement.clear();
 	}
 
 	public boolean isMouseOver(double mouseX, double mouseY) {
-		return (this.renderableElement != null) && area.contains(mouseX, mouseY);
+		return !this.renderableElement.isEmpty() && area.contains(mouseX, mouseY);
 	}
 
-	public void setElement(RenderableElement<?> renderableElement) {
-		this.renderableElement = renderableElement;
+	public <T> void setElement(IElement<T> element, IElementRenderer<T> renderer) {
+		this.renderableElement.set(element, renderer);
 	}
 
 	public ImmutableRect2i getArea() {
@@ -67,8 +74,6 @@ public class IngredientListSlot {
 	}
 
 	public void drawTooltip(GuiGraphics guiGraphics, int mouseX, int mouseY, IngredientGridTooltipHelper tooltipHelper) {
-		if (renderableElement != null) {
-			renderableElement.drawTooltip(guiGraphics, mouseX, mouseY, tooltipHelper);
-		}
+		renderableElement.drawTooltip(guiGraphics, mouseX, mouseY, tooltipHelper);
 	}
 }
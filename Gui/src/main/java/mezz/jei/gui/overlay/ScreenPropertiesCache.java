@@ -25,11 +25,14 @@ public class ScreenPropertiesCache {
 	public static class Updater {
 		private final ScreenPropertiesCache cache;
 		private final Runnable onChange;
+		private final Runnable onExclusionAreasChange;
 		private boolean changed = false;
+		private boolean exclusionAreasChanged = false;
 
-		public Updater(ScreenPropertiesCache cache, Runnable onChange) {
+		public Updater(ScreenPropertiesCache cache, Runnable onChange, Runnable onExclusionAreasChange) {
 			this.cache = cache;
 			this.onChange = onChange;
+			this.onExclusionAreasChange = onExclusionAreasChange;
 		}
 
 		public Updater updateScreen(@Nullable Screen guiScreen) {
@@ -45,10 +48,10 @@ public class ScreenPropertiesCache {
 			return this;
 		}
 
-		public Updater updateExclusionAreas(Set<ImmutableRect2i> updatedGuiExclusionAreas) {
-			if (!cache.previousGuiExclusionAreas.equals(updatedGuiExclusionAreas)) {
-				cache.previousGuiExclusionAreas = updatedGuiExclusionAreas;
-				changed = true;
+		public Updater updateExclusionAreas(Set<ImmutableRect2i> guiExclusionAreas) {
+			if (!cache.previousGuiExclusionAreas.equals(guiExclusionAreas)) {
+				cache.previousGuiExclusionAreas = guiExclusionAreas;
+				exclusionAreasChanged = true;
 			}
 			return this;
 		}
@@ -61,15 +64,22 @@ public class ScreenPropertiesCache {
 			return this;
 		}
 
+		/**
+		 * Calls onChange if the screen or mouse exclusion area changed.
+		 * If only the gui exclusion areas changed, calls onExclusionAreasChange instead,
+		 * so the owner can check if the new areas affect its layout before doing a full update.
+		 */
 		public void update() {
 			if (changed) {
 				onChange.run();
+			} else if (exclusionAreasChanged) {
+				onExclusionAreasChange.run();
 			}
 		}
 	}
 
-	public Updater getUpdater(Runnable onChange) {
-		return new Updater(this, onChange);
+	public Updater getUpdater(Runnable onChange, Runnable onExclusionAreasChange) {
+		return new Updater(this, onChange, onExclusionAreasChange);
 	}
 
 	public boolean hasValidScreen() {
@@ -89,7 +89,7 @@ public class BookmarkOverlay implements IRecipeFocusSource, IBookmarkOverlay {
 	}
 
 	public ScreenPropertiesCache.Updater getScreenPropertiesUpdater() {
-		return this.screenPropertiesCache.getUpdater(this::onScreenPropertiesChanged);
+		return this.screenPropertiesCache.getUpdater(this::onScreenPropertiesChanged, this::onExclusionAreasChanged);
 	}
 
 	private void onScreenPropertiesChanged() {
@@ -97,6 +97,13 @@ public class BookmarkOverlay implements IRecipeFocusSource, IBookmarkOverlay {
 			.ifPresentOrElse(this::updateBounds, this.contents::close);
 	}
 
+	private void onExclusionAreasChanged() {
+		Set<ImmutableRect2i> guiExclusionAreas = this.screenPropertiesCache.getGuiExclusionAreas();
+		if (!this.contents.updateExclusionAreas(guiExclusionAreas)) {
+			onScreenPropertiesChanged();
+		}
+	}
+
 	private void updateBounds(IGuiProperties guiProperties) {
 		ImmutableRect2i displayArea = getDisplayArea(guiProperties);
 		Set<ImmutableRect2i> guiExclusionAreas = this.screenPropertiesCache.getGuiExclusionAreas();
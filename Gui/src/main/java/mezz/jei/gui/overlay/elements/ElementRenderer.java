@@ -48,7 +48,7 @@ public class ElementRenderer<T> implements IElementRenderer<T> {
 		poseStack.popPose();
 	}
 
-	private static <T> void renderEditMode(GuiGraphics guiGraphics, ImmutableRect2i area, int padding, ITypedIngredient<T> typedIngredient) {
+	static <T> void renderEditMode(GuiGraphics guiGraphics, ImmutableRect2i area, int padding, ITypedIngredient<T> typedIngredient) {
 		IEditModeConfig editModeConfig = Internal.getJeiRuntime().getEditModeConfig();
 		if (editModeConfig.isIngredientHiddenUsingConfigFile(typedIngredient)) {
 			guiGraphics.fill(
@@ -72,7 +72,7 @@ public class ElementRenderer<T> implements IElementRenderer<T> {
 		IIngredientRenderer<T> ingredientRenderer = ingredientManager.getIngredientRenderer(ingredientType);
 		IIngredientHelper<T> ingredientHelper = ingredientManager.getIngredientHelper(ingredientType);
 
-		List<ClientTooltipComponent> tooltip = element.getTooltipComponents(tooltipHelper, ingredientRenderer, ingredientHelper);
+		List<ClientTooltipComponent> tooltip = tooltipHelper.getTooltipComponents(element, ingredientRenderer, ingredientHelper);
 
 		TooltipRenderer.drawHoveringTooltip(guiGraphics, tooltip, mouseX, mouseY, typedIngredient, ingredientRenderer, ingredientManager);
 	}
@@ -0,0 +1,222 @@
+package mezz.jei.gui.overlay.elements;
+
+import com.google.common.base.Preconditions;
+import com.mojang.blaze3d.platform.Lighting;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.PoseStack;
+import mezz.jei.api.constants.VanillaTypes;
+import mezz.jei.api.ingredients.IIngredientRenderer;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.common.Internal;
+import mezz.jei.common.util.ImmutableRect2i;
+import mezz.jei.common.util.SafeIngredientUtil;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.entity.ItemRenderer;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.world.item.ItemDisplayContext;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws the item stacks of an ingredient grid together, instead of one at a time.
+ *
+ * Drawing an item through {@link GuiGraphics#renderFakeItem} flushes the buffers and switches the lighting for every item.
+ * Here the item models are grouped by flat or 3D block lighting,
+ * each group is submitted to the shared buffer source and flushed once,
+ * and then the decorations (counts, durability bars) and element extras are drawn in a second pass.
+ *
+ * The result matches drawing each item with the item stack ingredient renderer.
+ */
+public class ItemStackBatchRenderer {
+	private final List<BatchedItem> pool = new ArrayList<>();
+	private final List<BatchedItem> flatItems = new ArrayList<>();
+	private final List<BatchedItem> blockLitItems = new ArrayList<>();
+	private int size = 0;
+
+	/**
+	 * Adds an element to the batch if it is an item stack that can be drawn in a batch.
+	 * The edit mode background is drawn immediately, the item itself is drawn by {@link #render}.
+	 *
+	 * @return false if the element must be drawn on its own instead.
+	 */
+	public boolean add(GuiGraphics guiGraphics, IElement<?> element, ImmutableRect2i area, int padding) {
+		ITypedIngredient<?> typedIngredient = element.getTypedIngredient();
+		if (typedIngredient.getType() != VanillaTypes.ITEM_STACK || SafeIngredientUtil.hasRenderCrashed(typedIngredient)) {
+			return false;
+		}
+		@SuppressWarnings("unchecked")
+		ITypedIngredient<ItemStack> itemIngredient = (ITypedIngredient<ItemStack>) typedIngredient;
+		ItemStack itemStack = itemIngredient.getIngredient();
+		if (itemStack.isEmpty()) {
+			return false;
+		}
+
+		if (Internal.getClientToggleState().isEditModeEnabled()) {
+			ElementRenderer.renderEditMode(guiGraphics, area, padding, itemIngredient);
+			RenderSystem.enableBlend();
+		}
+
+		Minecraft minecraft = Minecraft.getInstance();
+		BakedModel model = minecraft.getItemRenderer().getModel(itemStack, minecraft.level, null, 0);
+
+		BatchedItem batchedItem = next();
+		batchedItem.set(element, itemIngredient, model, area, padding);
+		if (model.usesBlockLight()) {
+			blockLitItems.add(batchedItem);
+		} else {
+			flatItems.add(batchedItem);
+		}
+		return true;
+	}
+
+	/**
+	 * Draws everything that was added since the last call, and empties the batch.
+	 */
+	public void render(GuiGraphics guiGraphics) {
+		if (size == 0) {
+			return;
+		}
+
+		IIngredientManager ingredientManager = Internal.getJeiRuntime().getIngredientManager();
+		IIngredientRenderer<ItemStack> ingredientRenderer = ingredientManager.getIngredientRenderer(VanillaTypes.ITEM_STACK);
+		Minecraft minecraft = Minecraft.getInstance();
+		ItemRenderer itemRenderer = minecraft.getItemRenderer();
+
+		RenderSystem.enableDepthTest();
+
+		if (!flatItems.isEmpty()) {
+			Lighting.setupForFlatItems();
+			renderModels(guiGraphics, itemRenderer, flatItems);
+			Lighting.setupFor3DItems();
+		}
+		if (!blockLitItems.isEmpty()) {
+			renderModels(guiGraphics, itemRenderer, blockLitItems);
+		}
+
+		for (int i = 0; i < size; i++) {
+			BatchedItem batchedItem = pool.get(i);
+			renderDecorations(guiGraphics, minecraft, ingredientRenderer, batchedItem);
+		}
+		RenderSystem.disableBlend();
+
+		clear();
+	}
+
+	private static void renderModels(GuiGraphics guiGraphics, ItemRenderer itemRenderer, List<BatchedItem> batchedItems) {
+		PoseStack poseStack = guiGraphics.pose();
+		for (BatchedItem batchedItem : batchedItems) {
+			poseStack.pushPose();
+			try {
+				// matches the transform used by GuiGraphics#renderItem
+				poseStack.translate(batchedItem.x + 8, batchedItem.y + 8, 150);
+				poseStack.scale(16.0F, -16.0F, 16.0F);
+				itemRenderer.render(
+					batchedItem.getItemStack(),
+					ItemDisplayContext.GUI,
+					false,
+					poseStack,
+					guiGraphics.bufferSource(),
+					LightTexture.FULL_BRIGHT,
+					OverlayTexture.NO_OVERLAY,
+					batchedItem.getModel()
+				);
+			} catch (RuntimeException | LinkageError e) {
+				batchedItem.error = e;
+			} finally {
+				poseStack.popPose();
+			}
+		}
+		guiGraphics.flush();
+	}
+
+	private static void renderDecorations(GuiGraphics guiGraphics, Minecraft minecraft, IIngredientRenderer<ItemStack> ingredientRenderer, BatchedItem batchedItem) {
+		PoseStack poseStack = guiGraphics.pose();
+		poseStack.pushPose();
+		{
+			poseStack.translate(batchedItem.x, batchedItem.y, 0);
+			ITypedIngredient<ItemStack> typedIngredient = batchedItem.getTypedIngredient();
+			Throwable error = batchedItem.error;
+			if (error != null) {
+				SafeIngredientUtil.handleRenderError(guiGraphics, typedIngredient, error);
+			} else {
+				ItemStack itemStack = typedIngredient.getIngredient();
+				try {
+					Font font = ingredientRenderer.getFontRenderer(minecraft, itemStack);
+					guiGraphics.renderItemDecorations(font, itemStack, 0, 0);
+				} catch (RuntimeException | LinkageError e) {
+					SafeIngredientUtil.handleRenderError(guiGraphics, typedIngredient, e);
+				}
+			}
+			batchedItem.getElement().renderExtras(guiGraphics);
+		}
+		poseStack.popPose();
+	}
+
+	private BatchedItem next() {
+		if (size == pool.size()) {
+			pool.add(new BatchedItem());
+		}
+		return pool.get(size++);
+	}
+
+	private void clear() {
+		for (int i = 0; i < size; i++) {
+			pool.get(i).clear();
+		}
+		size = 0;
+		flatItems.clear();
+		blockLitItems.clear();
+	}
+
+	/**
+	 * Reused between frames, so that drawing a batch does not allocate.
+	 */
+	private static class BatchedItem {
+		private @Nullable IElement<?> element;
+		private @Nullable ITypedIngredient<ItemStack> typedIngredient;
+		private @Nullable BakedModel model;
+		private @Nullable Throwable error;
+		private int x;
+		private int y;
+
+		public void set(IElement<?> element, ITypedIngredient<ItemStack> typedIngredient, BakedModel model, ImmutableRect2i area, int padding) {
+			this.element = element;
+			this.typedIngredient = typedIngredient;
+			this.model = model;
+			this.error = null;
+			this.x = area.getX() + padding;
+			this.y = area.getY() + padding;
+		}
+
+		public void clear() {
+			this.element = null;
+			this.typedIngredient = null;
+			this.model = null;
+			this.error = null;
+		}
+
+		public IElement<?> getElement() {
+			return Preconditions.checkNotNull(element);
+		}
+
+		public ITypedIngredient<ItemStack> getTypedIngredient() {
+			return Preconditions.checkNotNull(typedIngredient);
+		}
+
+		public ItemStack getItemStack() {
+			return getTypedIngredient().getIngredient();
+		}
+
+		public BakedModel getModel() {
+			return Preconditions.checkNotNull(model);
+		}
+	}
+}
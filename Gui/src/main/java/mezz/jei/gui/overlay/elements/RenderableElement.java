@@ -3,25 +3,64 @@ package mezz.jei.gui.overlay.elements;
 import mezz.jei.common.util.ImmutableRect2i;
 import mezz.jei.gui.overlay.IngredientGridTooltipHelper;
 import net.minecraft.client.gui.GuiGraphics;
+import org.jetbrains.annotations.Nullable;
 
-public class RenderableElement<T> {
-	private final IElement<T> element;
-	private final IElementRenderer<T> renderer;
+import java.util.Optional;
 
-	public RenderableElement(IElement<T> element, IElementRenderer<T> renderer) {
+/**
+ * Pairs an element with the renderer for its ingredient type.
+ * Instances are owned by a slot and rebound in place when the displayed page changes,
+ * so that flipping pages does not allocate a new wrapper for every slot.
+ */
+public class RenderableElement {
+	private @Nullable IElement<?> element;
+	private @Nullable IElementRenderer<?> renderer;
+
+	public <T> void set(IElement<T> element, IElementRenderer<T> renderer) {
 		this.element = element;
 		this.renderer = renderer;
 	}
 
+	public void clear() {
+		this.element = null;
+		this.renderer = null;
+	}
+
+	public boolean isEmpty() {
+		return element == null;
+	}
+
 	public void render(GuiGraphics guiGraphics, ImmutableRect2i area, int padding) {
-		renderer.render(guiGraphics, element, area, padding);
+		if (element != null && renderer != null) {
+			render(renderer, element, guiGraphics, area, padding);
+		}
+	}
+
+	/**
+	 * @return true if the element was added to the batch, false if it must be drawn with {@link #render} instead.
+	 */
+	public boolean addToBatch(GuiGraphics guiGraphics, ItemStackBatchRenderer batchRenderer, ImmutableRect2i area, int padding) {
+		return element != null && batchRenderer.add(guiGraphics, element, area, padding);
 	}
 
 	public void drawTooltip(GuiGraphics guiGraphics, int mouseX, int mouseY, IngredientGridTooltipHelper tooltipHelper) {
-		renderer.drawTooltip(guiGraphics, mouseX, mouseY, tooltipHelper, element);
+		if (element != null && renderer != null) {
+			drawTooltip(renderer, element, guiGraphics, mouseX, mouseY, tooltipHelper);
+		}
+	}
+
+	public Optional<IElement<?>> getElement() {
+		return Optional.ofNullable(element);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void render(IElementRenderer<T> renderer, IElement<?> element, GuiGraphics guiGraphics, ImmutableRect2i area, int padding) {
+		// element and renderer are always bound together in set(), so their types match
+		renderer.render(guiGraphics, (IElement<T>) element, area, padding);
 	}
 
-	public IElement<T> getElement() {
-		return element;
+	@SuppressWarnings("unchecked")
+	private static <T> void drawTooltip(IElementRenderer<T> renderer, IElement<?> element, GuiGraphics guiGraphics, int mouseX, int mouseY, IngredientGridTooltipHelper tooltipHelper) {
+		renderer.drawTooltip(guiGraphics, mouseX, mouseY, tooltipHelper, (IElement<T>) element);
 	}
 }
@@ -0,0 +1,169 @@
+package mezz.jei.gui.search;
+
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.core.search.ISearchStorage;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the storage for the color search prefix ("^") in the background,
+ * so that building the ingredient filter does not have to wait for every ingredient's colors.
+ *
+ * Getting an ingredient's colors may read sprite pixels, so it is done on the render thread in {@link #update()},
+ * a few ingredients at a time.
+ * Matching the colors to color names (and extracting palettes from sprite pixels that were already copied)
+ * is done concurrently on a small pool.
+ * The results are put into the storage back on the render thread, because the storage is not thread-safe.
+ */
+public class ColorSearchIndexer {
+	private static final Logger LOGGER = LogManager.getLogger();
+	private static final int MAX_THREADS = 2;
+	/**
+	 * How long each call to {@link #update()} may spend getting ingredient colors on the render thread.
+	 */
+	private static final long RENDER_THREAD_BUDGET_MS = 2;
+
+	private final IIngredientManager ingredientManager;
+	private final ElementPrefixParser elementPrefixParser;
+	private final ThreadPoolExecutor executor;
+
+	private final Queue<IListElementInfo<?>> pending = new ArrayDeque<>();
+	private final Queue<Result> results = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger inProgress = new AtomicInteger();
+	private @Nullable ISearchStorage<IListElementInfo<?>> storage;
+	/**
+	 * Incremented whenever the storage changes, so that results meant for an old storage can be dropped.
+	 */
+	private int generation;
+
+	public ColorSearchIndexer(IIngredientManager ingredientManager, ElementPrefixParser elementPrefixParser) {
+		this.ingredientManager = ingredientManager;
+		this.elementPrefixParser = elementPrefixParser;
+
+		int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+		this.executor = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ColorSearchThreadFactory());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Starts filling a new storage, dropping any work that was started for the previous one.
+	 */
+	public void setStorage(@Nullable ISearchStorage<IListElementInfo<?>> storage) {
+		this.storage = storage;
+		this.generation++;
+		this.pending.clear();
+		this.results.clear();
+	}
+
+	public void add(IListElementInfo<?> info) {
+		if (storage != null) {
+			pending.add(info);
+		}
+	}
+
+	public void addAll(Collection<IListElementInfo<?>> infos) {
+		if (storage != null) {
+			pending.addAll(infos);
+		}
+	}
+
+	/**
+	 * @return true if all the added ingredients have been put into the storage.
+	 */
+	public boolean isComplete() {
+		return pending.isEmpty() && inProgress.get() == 0 && results.isEmpty();
+	}
+
+	/**
+	 * Must be called on the render thread.
+	 *
+	 * @return true if new results were put into the storage.
+	 */
+	public boolean update() {
+		boolean changed = putResults();
+		if (!pending.isEmpty()) {
+			getColors();
+		}
+		return changed;
+	}
+
+	private boolean putResults() {
+		boolean changed = false;
+		Result result;
+		while ((result = results.poll()) != null) {
+			if (result.generation() == generation && storage != null) {
+				for (String colorName : result.colorNames()) {
+					storage.put(colorName, result.info());
+				}
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	private void getColors() {
+		List<Colors> batch = new ArrayList<>();
+		long start = System.currentTimeMillis();
+		IListElementInfo<?> info;
+		while ((info = pending.poll()) != null) {
+			try {
+				Iterable<Integer> colors = info.getColors(ingredientManager);
+				batch.add(new Colors(info, colors));
+			} catch (RuntimeException | LinkageError e) {
+				LOGGER.warn("Failed to get colors for {}", info.getName(), e);
+			}
+			if (System.currentTimeMillis() - start >= RENDER_THREAD_BUDGET_MS) {
+				break;
+			}
+		}
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		final int batchGeneration = generation;
+		inProgress.incrementAndGet();
+		executor.execute(() -> {
+			try {
+				for (Colors colors : batch) {
+					try {
+						List<String> colorNames = elementPrefixParser.getColorNames(colors.colors());
+						results.add(new Result(batchGeneration, colors.info(), colorNames));
+					} catch (RuntimeException e) {
+						LOGGER.warn("Failed to get color names for {}", colors.info().getName(), e);
+					}
+				}
+			} finally {
+				inProgress.decrementAndGet();
+			}
+		});
+	}
+
+	private record Colors(IListElementInfo<?> info, Iterable<Integer> colors) {}
+
+	private record Result(int generation, IListElementInfo<?> info, List<String> colorNames) {}
+
+	private static final class ColorSearchThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "JEI Color Search " + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -12,6 +12,7 @@ import mezz.jei.core.search.PrefixInfo;
 import mezz.jei.core.search.SearchMode;
 import mezz.jei.core.search.suffixtree.GeneralizedSuffixTree;
 import mezz.jei.gui.ingredients.IListElementInfo;
+import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -33,8 +34,11 @@ public class ElementPrefixParser {
 	private static final Pattern MOD_NAME_SEPARATOR_PATTERN = Pattern.compile("(?=[A-Z_-])|\\s+");
 
 	private final Char2ObjectMap<PrefixInfo<IListElementInfo<?>>> map = new Char2ObjectOpenHashMap<>();
+	private final PrefixInfo<IListElementInfo<?>> colorPrefixInfo;
+	private final IColorHelper colorHelper;
 
 	public ElementPrefixParser(IIngredientManager ingredientManager, IIngredientFilterConfig config, IColorHelper colorHelper, IModIdHelper modIdHelper) {
+		this.colorHelper = colorHelper;
 		addPrefix(new PrefixInfo<>(
 			'@',
 			config::getModNameSearchMode,
@@ -82,19 +86,13 @@ public class ElementPrefixParser {
 			e -> e.getTagStrings(ingredientManager),
 			LimitedStringStorage::new
 		));
-		addPrefix(new PrefixInfo<>(
+		this.colorPrefixInfo = new PrefixInfo<>(
 			'^',
 			config::getColorSearchMode,
-			e -> {
-				Iterable<Integer> colors = e.getColors(ingredientManager);
-				return StreamSupport.stream(colors.spliterator(), false)
-					.map(colorHelper::getClosestColorName)
-					.map(Translator::toLowercaseWithLocale)
-					.distinct()
-					.toList();
-			},
+			e -> getColorNames(e.getColors(ingredientManager)),
 			LimitedStringStorage::new
-		));
+		);
+		addPrefix(this.colorPrefixInfo);
 		addPrefix(new PrefixInfo<>(
 			'&',
 			config::getResourceLocationSearchMode,
@@ -107,6 +105,23 @@ public class ElementPrefixParser {
 		this.map.put(info.getPrefix(), info);
 	}
 
+	public PrefixInfo<IListElementInfo<?>> getColorPrefixInfo() {
+		return colorPrefixInfo;
+	}
+
+	/**
+	 * Matches colors to their closest color names.
+	 * This does not need the render thread, so it can be used on already extracted colors from any thread.
+	 */
+	@Unmodifiable
+	public List<String> getColorNames(Iterable<Integer> colors) {
+		return StreamSupport.stream(colors.spliterator(), false)
+			.map(colorHelper::getClosestColorName)
+			.map(Translator::toLowercaseWithLocale)
+			.distinct()
+			.toList();
+	}
+
 	public Collection<PrefixInfo<IListElementInfo<?>>> allPrefixInfos() {
 		Collection<PrefixInfo<IListElementInfo<?>>> values = new ArrayList<>(map.values());
 		values.add(NO_PREFIX);
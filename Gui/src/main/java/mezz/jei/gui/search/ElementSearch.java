@@ -21,10 +21,18 @@ public class ElementSearch implements IElementSearch {
 
 	private final Map<PrefixInfo<IListElementInfo<?>>, PrefixedSearchable<IListElementInfo<?>>> prefixedSearchables = new IdentityHashMap<>();
 	private final CombinedSearchables<IListElementInfo<?>> combinedSearchables = new CombinedSearchables<>();
+	private final PrefixInfo<IListElementInfo<?>> colorPrefixInfo;
+	private final ColorSearchIndexer colorSearchIndexer;
 
-	public ElementSearch(ElementPrefixParser elementPrefixParser) {
+	public ElementSearch(ElementPrefixParser elementPrefixParser, ColorSearchIndexer colorSearchIndexer) {
+		this.colorPrefixInfo = elementPrefixParser.getColorPrefixInfo();
+		this.colorSearchIndexer = colorSearchIndexer;
 		for (PrefixInfo<IListElementInfo<?>> prefixInfo : elementPrefixParser.allPrefixInfos()) {
 			ISearchStorage<IListElementInfo<?>> storage = prefixInfo.createStorage();
+			if (prefixInfo == colorPrefixInfo) {
+				// colors are slow to get, so they are filled in the background
+				colorSearchIndexer.setStorage(storage);
+			}
 			var prefixedSearchable = new PrefixedSearchable<>(storage, prefixInfo);
 			this.prefixedSearchables.put(prefixInfo, prefixedSearchable);
 			this.combinedSearchables.addSearchable(prefixedSearchable);
@@ -56,9 +64,14 @@ public class ElementSearch implements IElementSearch {
 
 	@Override
 	public void add(IListElementInfo<?> info) {
-		for (PrefixedSearchable<IListElementInfo<?>> prefixedSearchable : this.prefixedSearchables.values()) {
+		for (var entry : this.prefixedSearchables.entrySet()) {
+			PrefixedSearchable<IListElementInfo<?>> prefixedSearchable = entry.getValue();
 			SearchMode searchMode = prefixedSearchable.getMode();
 			if (searchMode != SearchMode.DISABLED) {
+				if (entry.getKey() == colorPrefixInfo) {
+					colorSearchIndexer.add(info);
+					continue;
+				}
 				Collection<String> strings = prefixedSearchable.getStrings(info);
 				ISearchStorage<IListElementInfo<?>> storage = prefixedSearchable.getSearchStorage();
 				for (String string : strings) {
@@ -70,9 +83,14 @@ public class ElementSearch implements IElementSearch {
 
 	@Override
 	public void addAll(Collection<IListElementInfo<?>> infos) {
-		for (PrefixedSearchable<IListElementInfo<?>> prefixedSearchable : this.prefixedSearchables.values()) {
+		for (var entry : this.prefixedSearchables.entrySet()) {
+			PrefixedSearchable<IListElementInfo<?>> prefixedSearchable = entry.getValue();
 			SearchMode searchMode = prefixedSearchable.getMode();
 			if (searchMode != SearchMode.DISABLED) {
+				if (entry.getKey() == colorPrefixInfo) {
+					colorSearchIndexer.addAll(infos);
+					continue;
+				}
 				ISearchStorage<IListElementInfo<?>> storage = prefixedSearchable.getSearchStorage();
 				for (IListElementInfo<?> info : infos) {
 					Collection<String> strings = prefixedSearchable.getStrings(info);
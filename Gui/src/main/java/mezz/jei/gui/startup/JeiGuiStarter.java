@@ -128,7 +128,7 @@ public class JeiGuiStarter {
 			colorHelper
 		);
 		ingredientManager.registerIngredientListener(ingredientFilter);
-		ingredientVisibility.registerListener(ingredientFilter::onIngredientVisibilityChanged);
+		ingredientVisibility.registerListener(ingredientFilter);
 		timer.stop();
 
 		IIngredientFilter ingredientFilterApi = new IngredientFilterApi(ingredientFilter, filterTextSource);
@@ -173,7 +173,8 @@ public class JeiGuiStarter {
 		GuiEventHandler guiEventHandler = new GuiEventHandler(
 			screenHelper,
 			bookmarkOverlay,
-			ingredientListOverlay
+			ingredientListOverlay,
+			ingredientFilter
 		);
 
 		RecipesGui recipesGui = new RecipesGui(
@@ -2,6 +2,8 @@ package mezz.jei.gui.startup;
 
 import mezz.jei.core.util.LoggedTimer;
 import mezz.jei.gui.ingredients.IngredientFilter;
+import mezz.jei.gui.overlay.IngredientGridTextureCache;
+import mezz.jei.gui.overlay.IngredientGridTooltipHelper;
 import mezz.jei.gui.overlay.IngredientListOverlay;
 import net.minecraft.client.Minecraft;
 import net.minecraft.server.packs.resources.ResourceManager;
@@ -23,6 +25,9 @@ public class ResourceReloadHandler implements ResourceManagerReloadListener {
 		ingredientFilter.rebuildItemFilter();
 		timer.stop();
 
+		IngredientGridTextureCache.onResourceReload();
+		IngredientGridTooltipHelper.onResourceReload();
+
 		Minecraft minecraft = Minecraft.getInstance();
 		ingredientListOverlay.getScreenPropertiesUpdater()
 			.updateScreen(minecraft.screen)
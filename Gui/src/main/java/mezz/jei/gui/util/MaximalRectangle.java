@@ -1,58 +1,130 @@
 package mezz.jei.gui.util;
 
 import mezz.jei.common.util.ImmutableRect2i;
-import mezz.jei.common.util.MathUtil;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+/**
+ * Finds the largest rectangles in an area that avoid a set of exclusion areas.
+ *
+ * The area is sampled as a grid of square cells, and each row of the grid is treated as the base of a histogram
+ * of the free cells above it, so the maximal rectangles are found in O(rows * columns) time.
+ * An instance keeps its buffers between calls, so reuse one when this runs often.
+ */
 public class MaximalRectangle {
 	public static Stream<ImmutableRect2i> getLargestRectangles(
 		ImmutableRect2i area,
 		Collection<ImmutableRect2i> exclusionAreas,
 		int samplingScale
 	) {
-		exclusionAreas = exclusionAreas.stream()
-			.filter(area::intersects)
-			.collect(Collectors.toUnmodifiableSet());
+		List<ImmutableRect2i> results = new ArrayList<>();
+		new MaximalRectangle().forEachLargestRectangle(area, exclusionAreas, samplingScale, results::add);
+		return results.stream();
+	}
+
+	private final List<ImmutableRect2i> intersectingAreas = new ArrayList<>();
+	private boolean[] blockedCells = new boolean[0];
+	private int[] heights = new int[0];
+	private int[] stack = new int[0];
 
-		if (exclusionAreas.isEmpty()) {
-			return Stream.of(area);
+	/**
+	 * Passes each maximal rectangle of free cells to the consumer.
+	 * If no exclusion area intersects the area, the consumer only receives the whole area.
+	 */
+	public void forEachLargestRectangle(
+		ImmutableRect2i area,
+		Collection<ImmutableRect2i> exclusionAreas,
+		int samplingScale,
+		Consumer<ImmutableRect2i> consumer
+	) {
+		intersectingAreas.clear();
+		for (ImmutableRect2i exclusionArea : exclusionAreas) {
+			if (area.intersects(exclusionArea)) {
+				intersectingAreas.add(exclusionArea);
+			}
 		}
 
-		MaximalRectangle maximalRectangle = new MaximalRectangle(area, samplingScale, exclusionAreas);
-		return maximalRectangle.getLargestRectangles();
-	}
+		if (intersectingAreas.isEmpty()) {
+			consumer.accept(area);
+			return;
+		}
 
-	private final ImmutableRect2i area;
-	private final int rows;
-	private final int columns;
-	private final int samplingScale;
-	private final boolean[][] blockedAreas;
+		final int rows = area.getHeight() / samplingScale;
+		final int columns = area.getWidth() / samplingScale;
+		if (rows == 0 || columns == 0) {
+			return;
+		}
 
-	private MaximalRectangle(ImmutableRect2i area, int samplingScale, Collection<ImmutableRect2i> exclusionAreas) {
-		this.area = area;
-		this.samplingScale = samplingScale;
+		ensureCapacity(rows, columns);
+		markBlockedCells(area, samplingScale, rows, columns);
 
-		this.rows = area.getHeight() / samplingScale;
-		this.columns = area.getWidth() / samplingScale;
-		this.blockedAreas = new boolean[rows][columns];
+		Arrays.fill(heights, 0, columns, 0);
 		for (int row = 0; row < rows; row++) {
+			final int rowStart = row * columns;
 			for (int column = 0; column < columns; column++) {
-				ImmutableRect2i rect = getRect(row, column, 1, 1);
-				boolean intersects = MathUtil.intersects(exclusionAreas, rect);
-				blockedAreas[row][column] = intersects;
+				if (blockedCells[rowStart + column]) {
+					heights[column] = 0;
+				} else {
+					heights[column]++;
+				}
 			}
+
+			// largest rectangles in the histogram, using a stack of column indexes with increasing heights
+			int stackSize = 0;
+			for (int column = 0; column <= columns; column++) {
+				final int height = column < columns ? heights[column] : 0;
+				while (stackSize > 0 && heights[stack[stackSize - 1]] >= height) {
+					final int barHeight = heights[stack[--stackSize]];
+					final int left = stackSize > 0 ? stack[stackSize - 1] + 1 : 0;
+					// a bar with the same height lower in the stack or in the current column covers a wider rectangle, skip this one
+					final boolean covered = height == barHeight || (stackSize > 0 && heights[stack[stackSize - 1]] == barHeight);
+					if (barHeight > 0 && !covered) {
+						consumer.accept(getRect(area, samplingScale, row - barHeight + 1, left, column - left, barHeight));
+					}
+				}
+				stack[stackSize++] = column;
+			}
+		}
+	}
+
+	private void ensureCapacity(int rows, int columns) {
+		final int cells = rows * columns;
+		if (blockedCells.length < cells) {
+			blockedCells = new boolean[cells];
+		}
+		if (heights.length < columns) {
+			heights = new int[columns];
+		}
+		if (stack.length < columns + 1) {
+			stack = new int[columns + 1];
 		}
 	}
 
-	private ImmutableRect2i getRect(int row, int column, int width, int height) {
-		if (width == 0 || height == 0) {
-			return ImmutableRect2i.EMPTY;
+	/**
+	 * Marks every cell that intersects an exclusion area, by filling the range of cells each exclusion area covers.
+	 */
+	private void markBlockedCells(ImmutableRect2i area, int samplingScale, int rows, int columns) {
+		Arrays.fill(blockedCells, 0, rows * columns, false);
+		for (ImmutableRect2i exclusionArea : intersectingAreas) {
+			final int left = exclusionArea.getX() - area.getX();
+			final int top = exclusionArea.getY() - area.getY();
+			final int firstColumn = Math.max(0, Math.floorDiv(left, samplingScale));
+			final int lastColumn = Math.min(columns - 1, Math.ceilDiv(left + exclusionArea.getWidth(), samplingScale) - 1);
+			final int firstRow = Math.max(0, Math.floorDiv(top, samplingScale));
+			final int lastRow = Math.min(rows - 1, Math.ceilDiv(top + exclusionArea.getHeight(), samplingScale) - 1);
+			for (int row = firstRow; row <= lastRow; row++) {
+				final int rowStart = row * columns;
+				Arrays.fill(blockedCells, rowStart + firstColumn, rowStart + lastColumn + 1, true);
+			}
 		}
+	}
+
+	private static ImmutableRect2i getRect(ImmutableRect2i area, int samplingScale, int row, int column, int width, int height) {
 		return new ImmutableRect2i(
 			area.getX() + (column * samplingScale),
 			area.getY() + (row * samplingScale),
@@ -60,52 +132,4 @@ public class MaximalRectangle {
 			height * samplingScale
 		);
 	}
-
-	private Stream<ImmutableRect2i> getLargestRectangles() {
-		if (rows == 0 || columns == 0) {
-			return Stream.empty();
-		}
-
-		int[] heights = new int[columns];
-		int[] leftIndexes = new int[columns];
-		int[] rightIndexes = new int[columns];
-		Arrays.fill(rightIndexes, columns);
-
-		return IntStream.range(0, rows)
-			.boxed()
-			.flatMap(row -> {
-				int currentLeftIndex = 0;
-				for (int column = 0; column < columns; column++) {
-					if (blockedAreas[row][column]) {
-						heights[column] = 0;
-						leftIndexes[column] = 0;
-						currentLeftIndex = column + 1;
-					} else {
-						heights[column]++;
-						leftIndexes[column] = Math.max(leftIndexes[column], currentLeftIndex);
-					}
-				}
-
-				int currentRightIndex = columns;
-				for (int column = columns - 1; column >= 0; column--) {
-					if (blockedAreas[row][column]) {
-						rightIndexes[column] = columns;
-						currentRightIndex = column;
-					} else {
-						rightIndexes[column] = Math.min(rightIndexes[column], currentRightIndex);
-					}
-				}
-
-				return IntStream.range(0, columns)
-					.mapToObj(column -> {
-						int rightIndex = rightIndexes[column];
-						int leftIndex = leftIndexes[column];
-						int width = (rightIndex - leftIndex);
-						int height = heights[column];
-
-						return getRect(row - height + 1, leftIndex, width, height);
-					})
-					.filter(r -> !r.isEmpty());
-			});
-	}
 }
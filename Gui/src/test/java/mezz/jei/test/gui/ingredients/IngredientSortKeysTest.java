@@ -0,0 +1,257 @@
+package mezz.jei.test.gui.ingredients;
+
+import mezz.jei.common.config.IngredientSortStage;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import mezz.jei.gui.ingredients.IngredientSortKey;
+import mezz.jei.gui.ingredients.IngredientSortKeys;
+import mezz.jei.gui.ingredients.IngredientSorterComparators;
+import mezz.jei.test.gui.lib.TestIngredientSortValues;
+import mezz.jei.test.gui.lib.TestListElementInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that sorting by the {@link IngredientSortKey}s from {@link IngredientSorterComparators}
+ * puts elements in the order that each {@link IngredientSortStage} describes.
+ */
+public class IngredientSortKeysTest {
+	private static final TestIngredientSortValues SORT_VALUES = new TestIngredientSortValues();
+
+	private static final String[] NAMES = {"apple", "Apple", "banana", "", "carrot", "apple pie", "zebra", "ångström"};
+	private static final String[] MOD_NAMES = {"Minecraft", "Alpha Mod", "Zeta Mod", "Unsorted Mod"};
+	private static final String[] INGREDIENT_TYPES = {"item", "fluid", "unsorted"};
+	private static final String[] TAGS = {"", "", "logs", "planks", "wool", "ingots"};
+	private static final int[] ARMOR_SLOTS = {1, 2, 3, 4};
+	private static final float[] TOUGHNESS = {0.0f, -0.0f, 1.5f, -1.5f, 2.0f, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.MIN_VALUE, -Float.MAX_VALUE};
+	private static final int[] DURABILITIES = {0, 55, 165, 363, 407, Integer.MAX_VALUE};
+	private static final int[] ORDER_INDEXES = {0, 1, 2, -1, 100, Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+	static List<IListElementInfo<?>> createElements(Random random, int count) {
+		List<IListElementInfo<?>> elements = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			TestListElementInfo element = new TestListElementInfo(
+				NAMES[random.nextInt(NAMES.length)],
+				MOD_NAMES[random.nextInt(MOD_NAMES.length)],
+				random.nextBoolean() ? ORDER_INDEXES[random.nextInt(ORDER_INDEXES.length)] : random.nextInt()
+			)
+				.setIngredientType(INGREDIENT_TYPES[random.nextInt(INGREDIENT_TYPES.length)])
+				.setTag(TAGS[random.nextInt(TAGS.length)]);
+			if (random.nextBoolean()) {
+				element.setArmor(
+					ARMOR_SLOTS[random.nextInt(ARMOR_SLOTS.length)],
+					random.nextInt(4),
+					TOUGHNESS[random.nextInt(TOUGHNESS.length)],
+					DURABILITIES[random.nextInt(DURABILITIES.length)]
+				);
+			} else {
+				element.setMaxDurability(DURABILITIES[random.nextInt(DURABILITIES.length)]);
+			}
+			elements.add(element);
+		}
+		return elements;
+	}
+
+	private static TestListElementInfo cast(IListElementInfo<?> elementInfo) {
+		return (TestListElementInfo) elementInfo;
+	}
+
+	/**
+	 * @return the order that the ingredient sort stage describes, as a chain of comparators.
+	 */
+	static Comparator<IListElementInfo<?>> getExpectedComparator(IngredientSortStage stage) {
+		return switch (stage) {
+			case ALPHABETICAL -> Comparator.comparing(IListElementInfo::getName);
+			case CREATIVE_MENU -> Comparator.comparingInt(o -> o.getElement().getOrderIndex());
+			case INGREDIENT_TYPE -> Comparator.comparingInt(SORT_VALUES::getIngredientTypeSortIndex);
+			case MOD_NAME -> Comparator.comparingInt(SORT_VALUES::getModNameSortIndex);
+			case TAG -> {
+				Comparator<IListElementInfo<?>> isTagged = Comparator.comparing(o -> !cast(o).getTag().isEmpty());
+				Comparator<IListElementInfo<?>> tag = Comparator.comparing(o -> cast(o).getTag());
+				yield isTagged.reversed().thenComparing(tag);
+			}
+			case ARMOR -> {
+				Comparator<IListElementInfo<?>> isArmor = Comparator.comparing(o -> cast(o).isArmor());
+				Comparator<IListElementInfo<?>> armorSlot = Comparator.comparing(o -> cast(o).getArmorSlotIndex());
+				Comparator<IListElementInfo<?>> armorDamage = Comparator.comparing(o -> cast(o).getArmorDamageReduce());
+				Comparator<IListElementInfo<?>> armorToughness = Comparator.comparing(o -> cast(o).getArmorToughness());
+				Comparator<IListElementInfo<?>> armorDurability = Comparator.comparing(o -> cast(o).getArmorDurability());
+				yield isArmor.reversed()
+					.thenComparing(armorSlot.reversed())
+					.thenComparing(armorDamage.reversed())
+					.thenComparing(armorToughness.reversed())
+					.thenComparing(armorDurability.reversed());
+			}
+			case MAX_DURABILITY -> {
+				Comparator<IListElementInfo<?>> maxDurability = Comparator.comparing(o -> cast(o).getMaxDurability());
+				yield maxDurability.reversed();
+			}
+		};
+	}
+
+	static Comparator<IListElementInfo<?>> getExpectedComparator(List<IngredientSortStage> stages) {
+		if (stages.isEmpty()) {
+			stages = List.of(IngredientSortStage.MOD_NAME, IngredientSortStage.INGREDIENT_TYPE, IngredientSortStage.CREATIVE_MENU);
+		}
+		return stages.stream()
+			.map(IngredientSortKeysTest::getExpectedComparator)
+			.reduce(Comparator::thenComparing)
+			.orElseThrow();
+	}
+
+	static List<IngredientSortKey> getSortKeys(List<IngredientSortStage> stages) {
+		return IngredientSorterComparators.getSortKeys(stages, SORT_VALUES);
+	}
+
+	private static List<IListElementInfo<?>> sort(List<IListElementInfo<?>> elements, List<IngredientSortKey> sortKeys) {
+		IngredientSortKeys ingredientSortKeys = new IngredientSortKeys(sortKeys);
+		ingredientSortKeys.addAll(elements);
+		return Arrays.stream(ingredientSortKeys.getSortedOrder())
+			.<IListElementInfo<?>>mapToObj(elements::get)
+			.toList();
+	}
+
+	private static void assertSameOrder(List<IListElementInfo<?>> elements, List<IngredientSortStage> stages) {
+		Comparator<IListElementInfo<?>> comparator = getExpectedComparator(stages);
+		List<IListElementInfo<?>> expected = elements.stream()
+			.sorted(comparator)
+			.toList();
+
+		IngredientSortKeys ingredientSortKeys = new IngredientSortKeys(getSortKeys(stages));
+		ingredientSortKeys.addAll(elements);
+		int[] sortedOrder = ingredientSortKeys.getSortedOrder();
+		List<IListElementInfo<?>> actual = Arrays.stream(sortedOrder)
+			.<IListElementInfo<?>>mapToObj(elements::get)
+			.toList();
+
+		for (int i = 0; i < expected.size(); i++) {
+			// compare by identity, so that the stable order of ties is checked too
+			Assertions.assertSame(expected.get(i), actual.get(i), "Wrong element at index " + i + " when sorting by " + stages);
+		}
+
+		// comparing two rows by their stored keys must agree with the comparators too
+		for (int i = 0; i + 1 < sortedOrder.length; i++) {
+			int row1 = sortedOrder[i];
+			int row2 = sortedOrder[i + 1];
+			int expectedCompare = Integer.signum(comparator.compare(elements.get(row1), elements.get(row2)));
+			Assertions.assertEquals(expectedCompare, Integer.signum(ingredientSortKeys.compare(row1, row2)));
+			Assertions.assertEquals(-expectedCompare, Integer.signum(ingredientSortKeys.compare(row2, row1)));
+		}
+	}
+
+	@Test
+	public void testSingleStages() {
+		Random random = new Random(1);
+		List<IListElementInfo<?>> elements = createElements(random, 2_000);
+		for (IngredientSortStage stage : IngredientSortStage.values()) {
+			assertSameOrder(elements, List.of(stage));
+		}
+	}
+
+	@Test
+	public void testRandomStageOrders() {
+		Random random = new Random(2);
+		for (int i = 0; i < 100; i++) {
+			List<IListElementInfo<?>> elements = createElements(random, 1 + random.nextInt(2_000));
+			List<IngredientSortStage> stages = new ArrayList<>(List.of(IngredientSortStage.values()));
+			Collections.shuffle(stages, random);
+			stages = stages.subList(0, 1 + random.nextInt(stages.size()));
+			assertSameOrder(elements, stages);
+		}
+	}
+
+	@Test
+	public void testDefaultOrder() {
+		Random random = new Random(3);
+		List<IListElementInfo<?>> elements = createElements(random, 2_000);
+		assertSameOrder(elements, List.of());
+	}
+
+	@Test
+	public void testArmorOrder() {
+		TestListElementInfo stick = new TestListElementInfo("stick", "Minecraft", 0);
+		TestListElementInfo helmet = new TestListElementInfo("helmet", "Minecraft", 1).setArmor(4, 2, 0, 165);
+		TestListElementInfo boots = new TestListElementInfo("boots", "Minecraft", 2).setArmor(1, 3, 2, 429);
+		TestListElementInfo ironChestplate = new TestListElementInfo("iron chestplate", "Minecraft", 3).setArmor(3, 6, 0, 240);
+		TestListElementInfo diamondChestplate = new TestListElementInfo("diamond chestplate", "Minecraft", 4).setArmor(3, 8, 2, 528);
+		TestListElementInfo netheriteChestplate = new TestListElementInfo("netherite chestplate", "Minecraft", 5).setArmor(3, 8, 3, 592);
+		TestListElementInfo worn = new TestListElementInfo("worn netherite chestplate", "Minecraft", 6).setArmor(3, 8, 3, 100);
+		TestListElementInfo sword = new TestListElementInfo("sword", "Minecraft", 7).setMaxDurability(1561);
+
+		List<IListElementInfo<?>> elements = List.of(stick, worn, boots, ironChestplate, sword, helmet, netheriteChestplate, diamondChestplate);
+		List<IListElementInfo<?>> sorted = sort(elements, getSortKeys(List.of(IngredientSortStage.ARMOR)));
+		Assertions.assertEquals(
+			List.of(helmet, netheriteChestplate, worn, diamondChestplate, ironChestplate, boots, stick, sword),
+			sorted
+		);
+	}
+
+	@Test
+	public void testTagOrder() {
+		TestListElementInfo untagged = new TestListElementInfo("dirt", "Minecraft", 0);
+		TestListElementInfo wool = new TestListElementInfo("wool", "Minecraft", 1).setTag("wool");
+		TestListElementInfo logs = new TestListElementInfo("oak log", "Minecraft", 2).setTag("logs");
+		TestListElementInfo planks = new TestListElementInfo("oak planks", "Minecraft", 3).setTag("planks");
+
+		List<IListElementInfo<?>> elements = List.of(untagged, wool, logs, planks);
+		List<IListElementInfo<?>> sorted = sort(elements, getSortKeys(List.of(IngredientSortStage.TAG)));
+		Assertions.assertEquals(List.of(logs, planks, wool, untagged), sorted);
+	}
+
+	@Test
+	public void testMaxDurabilityOrder() {
+		TestListElementInfo stick = new TestListElementInfo("stick", "Minecraft", 0);
+		TestListElementInfo woodenSword = new TestListElementInfo("wooden sword", "Minecraft", 1).setMaxDurability(59);
+		TestListElementInfo diamondSword = new TestListElementInfo("diamond sword", "Minecraft", 2).setMaxDurability(1561);
+		TestListElementInfo boots = new TestListElementInfo("boots", "Minecraft", 3).setArmor(1, 1, 0, 65);
+
+		List<IListElementInfo<?>> elements = List.of(stick, woodenSword, diamondSword, boots);
+		List<IListElementInfo<?>> sorted = sort(elements, getSortKeys(List.of(IngredientSortStage.MAX_DURABILITY)));
+		Assertions.assertEquals(List.of(diamondSword, boots, woodenSword, stick), sorted);
+	}
+
+	@Test
+	public void testModNameAndIngredientTypeOrder() {
+		TestListElementInfo unsortedMod = new TestListElementInfo("a", "Unsorted Mod", 0).setIngredientType("item");
+		TestListElementInfo alphaFluid = new TestListElementInfo("b", "Alpha Mod", 1).setIngredientType("fluid");
+		TestListElementInfo alphaItem = new TestListElementInfo("c", "Alpha Mod", 2).setIngredientType("item");
+		TestListElementInfo minecraftUnsortedType = new TestListElementInfo("d", "Minecraft", 3).setIngredientType("unsorted");
+		TestListElementInfo minecraftItem = new TestListElementInfo("e", "Minecraft", 4).setIngredientType("item");
+
+		List<IListElementInfo<?>> elements = List.of(unsortedMod, alphaFluid, alphaItem, minecraftUnsortedType, minecraftItem);
+		List<IListElementInfo<?>> sorted = sort(elements, getSortKeys(List.of(IngredientSortStage.MOD_NAME, IngredientSortStage.INGREDIENT_TYPE)));
+		Assertions.assertEquals(List.of(minecraftItem, minecraftUnsortedType, alphaItem, alphaFluid, unsortedMod), sorted);
+	}
+
+	@Test
+	public void testNoElements() {
+		IngredientSortKeys ingredientSortKeys = new IngredientSortKeys(getSortKeys(List.of(IngredientSortStage.ALPHABETICAL)));
+		ingredientSortKeys.addAll(List.of());
+		int[] sortedOrder = ingredientSortKeys.getSortedOrder();
+		Assertions.assertEquals(0, sortedOrder.length);
+	}
+
+	@Test
+	public void testReversedIntExtremes() {
+		Random random = new Random(4);
+		List<IListElementInfo<?>> elements = createElements(random, 500);
+		Comparator<IListElementInfo<?>> comparator = Comparator.<IListElementInfo<?>>comparingInt(o -> o.getElement().getOrderIndex())
+			.reversed();
+		List<IListElementInfo<?>> expected = elements.stream()
+			.sorted(comparator)
+			.toList();
+
+		IngredientSortKey sortKey = IngredientSortKey.ofInt(o -> o.getElement().getOrderIndex())
+			.reversed();
+		List<IListElementInfo<?>> sorted = sort(elements, List.of(sortKey));
+		for (int i = 0; i < expected.size(); i++) {
+			Assertions.assertSame(expected.get(i), sorted.get(i));
+		}
+	}
+}
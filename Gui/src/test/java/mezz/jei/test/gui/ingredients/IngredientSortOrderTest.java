@@ -0,0 +1,121 @@
+package mezz.jei.test.gui.ingredients;
+
+import mezz.jei.common.config.IngredientSortStage;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import mezz.jei.gui.ingredients.IngredientSortKey;
+import mezz.jei.gui.ingredients.IngredientSortOrder;
+import mezz.jei.test.gui.lib.TestListElementInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that elements added to an {@link IngredientSortOrder} end up in the same order
+ * as sorting all the elements at once by the order that their sort stages describe.
+ */
+public class IngredientSortOrderTest {
+	private static void assertSortedIndexOrder(List<IListElementInfo<?>> elements, Comparator<IListElementInfo<?>> comparator) {
+		List<IListElementInfo<?>> expected = elements.stream()
+			.sorted(comparator)
+			.toList();
+		List<IListElementInfo<?>> actual = elements.stream()
+			.sorted(Comparator.comparingInt(IListElementInfo::getSortedIndex))
+			.toList();
+
+		for (int i = 0; i < expected.size(); i++) {
+			Assertions.assertSame(expected.get(i), actual.get(i), "Wrong element at index " + i);
+		}
+		for (int i = 0; i + 1 < actual.size(); i++) {
+			int sortedIndex = actual.get(i).getSortedIndex();
+			int nextSortedIndex = actual.get(i + 1).getSortedIndex();
+			Assertions.assertTrue(sortedIndex < nextSortedIndex, "Sorted indexes are not unique and increasing at index " + i);
+		}
+	}
+
+	@Test
+	public void testAddedElements() {
+		Random random = new Random(1);
+		for (int i = 0; i < 20; i++) {
+			List<IngredientSortStage> stages = new ArrayList<>(List.of(IngredientSortStage.values()));
+			Collections.shuffle(stages, random);
+			stages = stages.subList(0, random.nextInt(stages.size() + 1));
+
+			Comparator<IListElementInfo<?>> comparator = IngredientSortKeysTest.getExpectedComparator(stages);
+			List<IngredientSortKey> sortKeys = IngredientSortKeysTest.getSortKeys(stages);
+
+			List<IListElementInfo<?>> elements = new ArrayList<>(IngredientSortKeysTest.createElements(random, random.nextInt(1_000)));
+			IngredientSortOrder sortOrder = new IngredientSortOrder(sortKeys, elements);
+			assertSortedIndexOrder(elements, comparator);
+
+			for (int batch = 0; batch < 10; batch++) {
+				List<IListElementInfo<?>> addedElements = IngredientSortKeysTest.createElements(random, 1 + random.nextInt(50));
+				sortOrder.addAll(addedElements);
+				// added elements are sorted after existing elements with equal keys, like a stable sort of all the elements
+				elements.addAll(addedElements);
+				assertSortedIndexOrder(elements, comparator);
+			}
+		}
+	}
+
+	@Test
+	public void testLargeBatches() {
+		Random random = new Random(2);
+		for (int i = 0; i < 20; i++) {
+			List<IngredientSortStage> stages = new ArrayList<>(List.of(IngredientSortStage.values()));
+			Collections.shuffle(stages, random);
+			stages = stages.subList(0, random.nextInt(stages.size() + 1));
+
+			Comparator<IListElementInfo<?>> comparator = IngredientSortKeysTest.getExpectedComparator(stages);
+			List<IngredientSortKey> sortKeys = IngredientSortKeysTest.getSortKeys(stages);
+
+			List<IListElementInfo<?>> elements = new ArrayList<>(IngredientSortKeysTest.createElements(random, random.nextInt(500)));
+			IngredientSortOrder sortOrder = new IngredientSortOrder(sortKeys, elements);
+
+			for (int batch = 0; batch < 5; batch++) {
+				// batches up to several times the size of the existing list, mixed with small ones
+				int batchSize = random.nextBoolean() ? random.nextInt(2_000) : 1 + random.nextInt(10);
+				List<IListElementInfo<?>> addedElements = IngredientSortKeysTest.createElements(random, batchSize);
+				sortOrder.addAll(addedElements);
+				elements.addAll(addedElements);
+				assertSortedIndexOrder(elements, comparator);
+			}
+		}
+	}
+
+	@Test
+	public void testGapsRunOut() {
+		List<IngredientSortStage> stages = List.of(IngredientSortStage.CREATIVE_MENU);
+		List<IngredientSortKey> sortKeys = IngredientSortKeysTest.getSortKeys(stages);
+		Comparator<IListElementInfo<?>> comparator = IngredientSortKeysTest.getExpectedComparator(stages);
+
+		List<IListElementInfo<?>> elements = new ArrayList<>();
+		elements.add(createElement(0));
+		elements.add(createElement(10_000));
+		IngredientSortOrder sortOrder = new IngredientSortOrder(sortKeys, elements);
+
+		// each element is inserted right after the first one, halving the gap there every time
+		for (int orderIndex = 9_999; orderIndex > 9_900; orderIndex--) {
+			IListElementInfo<?> element = createElement(orderIndex);
+			sortOrder.addAll(List.of(element));
+			elements.add(element);
+			assertSortedIndexOrder(elements, comparator);
+		}
+
+		List<IListElementInfo<?>> addedElements = new ArrayList<>();
+		for (int orderIndex = 9_900; orderIndex > 9_000; orderIndex--) {
+			addedElements.add(createElement(orderIndex));
+		}
+		sortOrder.addAll(addedElements);
+		elements.addAll(addedElements);
+		assertSortedIndexOrder(elements, comparator);
+	}
+
+	private static IListElementInfo<?> createElement(int orderIndex) {
+		return new TestListElementInfo("name", "mod", orderIndex);
+	}
+}
@@ -0,0 +1,69 @@
+package mezz.jei.test.gui.lib;
+
+import mezz.jei.gui.ingredients.IIngredientSortValues;
+import mezz.jei.gui.ingredients.IListElementInfo;
+
+import java.util.List;
+
+/**
+ * Sort values read from {@link TestListElementInfo}, with made-up mod name and ingredient type sort orders.
+ * Mods and ingredient types that are not in the sort order are sorted last.
+ */
+public class TestIngredientSortValues implements IIngredientSortValues {
+	public static final List<String> MOD_NAME_ORDER = List.of("Minecraft", "Alpha Mod", "Zeta Mod");
+	public static final List<String> INGREDIENT_TYPE_ORDER = List.of("item", "fluid");
+
+	private static TestListElementInfo cast(IListElementInfo<?> elementInfo) {
+		return (TestListElementInfo) elementInfo;
+	}
+
+	private static int getSortIndex(List<String> sortOrder, String value) {
+		int index = sortOrder.indexOf(value);
+		return index < 0 ? Integer.MAX_VALUE : index;
+	}
+
+	@Override
+	public int getModNameSortIndex(IListElementInfo<?> elementInfo) {
+		return getSortIndex(MOD_NAME_ORDER, elementInfo.getModNameForSorting());
+	}
+
+	@Override
+	public int getIngredientTypeSortIndex(IListElementInfo<?> elementInfo) {
+		return getSortIndex(INGREDIENT_TYPE_ORDER, cast(elementInfo).getIngredientType());
+	}
+
+	@Override
+	public String getTagForSorting(IListElementInfo<?> elementInfo) {
+		return cast(elementInfo).getTag();
+	}
+
+	@Override
+	public boolean isArmor(IListElementInfo<?> elementInfo) {
+		return cast(elementInfo).isArmor();
+	}
+
+	@Override
+	public int getArmorSlotIndex(IListElementInfo<?> elementInfo) {
+		return cast(elementInfo).getArmorSlotIndex();
+	}
+
+	@Override
+	public int getArmorDamageReduce(IListElementInfo<?> elementInfo) {
+		return cast(elementInfo).getArmorDamageReduce();
+	}
+
+	@Override
+	public float getArmorToughness(IListElementInfo<?> elementInfo) {
+		return cast(elementInfo).getArmorToughness();
+	}
+
+	@Override
+	public int getArmorDurability(IListElementInfo<?> elementInfo) {
+		return cast(elementInfo).getArmorDurability();
+	}
+
+	@Override
+	public int getMaxDurability(IListElementInfo<?> elementInfo) {
+		return cast(elementInfo).getMaxDurability();
+	}
+}
@@ -0,0 +1,180 @@
+package mezz.jei.test.gui.lib;
+
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.common.config.IIngredientFilterConfig;
+import mezz.jei.gui.ingredients.IListElement;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A list element with made-up values to sort by, that does not need Minecraft to be loaded.
+ */
+public class TestListElementInfo implements IListElementInfo<Object>, IListElement<Object> {
+	private final String name;
+	private final String modName;
+	private final int orderIndex;
+	private String ingredientType = "";
+	private String tag = "";
+	private boolean armor;
+	private int armorSlotIndex;
+	private int armorDamageReduce;
+	private float armorToughness;
+	private int armorDurability;
+	private int maxDurability;
+	private int sortedIndex = Integer.MAX_VALUE;
+	private boolean visible = true;
+
+	public TestListElementInfo(String name, String modName, int orderIndex) {
+		this.name = name;
+		this.modName = modName;
+		this.orderIndex = orderIndex;
+	}
+
+	public TestListElementInfo setIngredientType(String ingredientType) {
+		this.ingredientType = ingredientType;
+		return this;
+	}
+
+	public TestListElementInfo setTag(String tag) {
+		this.tag = tag;
+		return this;
+	}
+
+	public TestListElementInfo setArmor(int slotIndex, int damageReduce, float toughness, int durability) {
+		this.armor = true;
+		this.armorSlotIndex = slotIndex;
+		this.armorDamageReduce = damageReduce;
+		this.armorToughness = toughness;
+		this.armorDurability = durability;
+		this.maxDurability = durability;
+		return this;
+	}
+
+	public TestListElementInfo setMaxDurability(int maxDurability) {
+		this.maxDurability = maxDurability;
+		return this;
+	}
+
+	public String getIngredientType() {
+		return ingredientType;
+	}
+
+	public String getTag() {
+		return tag;
+	}
+
+	public boolean isArmor() {
+		return armor;
+	}
+
+	public int getArmorSlotIndex() {
+		return armorSlotIndex;
+	}
+
+	public int getArmorDamageReduce() {
+		return armorDamageReduce;
+	}
+
+	public float getArmorToughness() {
+		return armorToughness;
+	}
+
+	public int getArmorDurability() {
+		return armorDurability;
+	}
+
+	public int getMaxDurability() {
+		return maxDurability;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String getModNameForSorting() {
+		return modName;
+	}
+
+	@Override
+	public List<String> getModNames() {
+		return List.of(modName);
+	}
+
+	@Override
+	public List<String> getModIds() {
+		return List.of(modName);
+	}
+
+	@Override
+	public Set<String> getTooltipStrings(IIngredientFilterConfig config, IIngredientManager ingredientManager) {
+		return Set.of();
+	}
+
+	@Override
+	public Collection<String> getTagStrings(IIngredientManager ingredientManager) {
+		return List.of(tag);
+	}
+
+	@Override
+	public Stream<ResourceLocation> getTagIds(IIngredientManager ingredientManager) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterable<Integer> getColors(IIngredientManager ingredientManager) {
+		return List.of();
+	}
+
+	@Override
+	public ResourceLocation getResourceLocation() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public IListElement<Object> getElement() {
+		return this;
+	}
+
+	@Override
+	public ITypedIngredient<Object> getTypedIngredient() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getOrderIndex() {
+		return orderIndex;
+	}
+
+	@Override
+	public boolean isVisible() {
+		return visible;
+	}
+
+	@Override
+	public void setVisible(boolean visible) {
+		this.visible = visible;
+	}
+
+	@Override
+	public void setSortedIndex(int sortIndex) {
+		this.sortedIndex = sortIndex;
+	}
+
+	@Override
+	public int getSortedIndex() {
+		return sortedIndex;
+	}
+
+	@Override
+	public String toString() {
+		return name + " " + modName + " " + orderIndex + " " + ingredientType + " " + tag;
+	}
+}
@@ -0,0 +1,174 @@
+package mezz.jei.test.gui.util;
+
+import mezz.jei.common.util.ImmutableRect2i;
+import mezz.jei.gui.util.MaximalRectangle;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Checks {@link MaximalRectangle} against a brute-force search of every rectangle of free cells.
+ */
+public class MaximalRectangleTest {
+	private static final int SCALE = 4;
+
+	private static boolean[][] getBlockedCells(ImmutableRect2i area, List<ImmutableRect2i> exclusionAreas) {
+		int rows = area.getHeight() / SCALE;
+		int columns = area.getWidth() / SCALE;
+		boolean[][] blocked = new boolean[rows][columns];
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				ImmutableRect2i cell = getRect(area, row, column, 1, 1);
+				for (ImmutableRect2i exclusionArea : exclusionAreas) {
+					if (cell.intersects(exclusionArea)) {
+						blocked[row][column] = true;
+						break;
+					}
+				}
+			}
+		}
+		return blocked;
+	}
+
+	private static ImmutableRect2i getRect(ImmutableRect2i area, int row, int column, int width, int height) {
+		return new ImmutableRect2i(area.getX() + column * SCALE, area.getY() + row * SCALE, width * SCALE, height * SCALE);
+	}
+
+	private static boolean isFree(boolean[][] blocked, int row, int column, int width, int height) {
+		if (row < 0 || column < 0 || row + height > blocked.length || (blocked.length > 0 && column + width > blocked[0].length)) {
+			return false;
+		}
+		for (int r = row; r < row + height; r++) {
+			for (int c = column; c < column + width; c++) {
+				if (blocked[r][c]) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Every rectangle of free cells that can not be grown in any direction.
+	 */
+	private static Set<ImmutableRect2i> getMaximalRectanglesBruteForce(ImmutableRect2i area, boolean[][] blocked) {
+		Set<ImmutableRect2i> results = new HashSet<>();
+		int rows = blocked.length;
+		int columns = rows > 0 ? blocked[0].length : 0;
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				for (int height = 1; row + height <= rows; height++) {
+					for (int width = 1; column + width <= columns; width++) {
+						if (isFree(blocked, row, column, width, height) &&
+							!isFree(blocked, row - 1, column, width, height + 1) &&
+							!isFree(blocked, row, column, width, height + 1) &&
+							!isFree(blocked, row, column - 1, width + 1, height) &&
+							!isFree(blocked, row, column, width + 1, height)
+						) {
+							results.add(getRect(area, row, column, width, height));
+						}
+					}
+				}
+			}
+		}
+		return results;
+	}
+
+	private static void assertMatchesBruteForce(ImmutableRect2i area, List<ImmutableRect2i> exclusionAreas) {
+		Set<ImmutableRect2i> actual = MaximalRectangle.getLargestRectangles(area, exclusionAreas, SCALE)
+			.collect(Collectors.toSet());
+
+		boolean[][] blocked = getBlockedCells(area, exclusionAreas);
+		Set<ImmutableRect2i> expected = getMaximalRectanglesBruteForce(area, blocked);
+
+		for (ImmutableRect2i rect : expected) {
+			Assertions.assertTrue(actual.contains(rect), "Missing maximal rectangle " + rect + " for exclusion areas " + exclusionAreas);
+		}
+		for (ImmutableRect2i rect : actual) {
+			int row = (rect.getY() - area.getY()) / SCALE;
+			int column = (rect.getX() - area.getX()) / SCALE;
+			int width = rect.getWidth() / SCALE;
+			int height = rect.getHeight() / SCALE;
+			Assertions.assertTrue(isFree(blocked, row, column, width, height), "Rectangle " + rect + " covers a blocked cell");
+			// the only rectangles that are not maximal are ones that could still grow downward
+			Assertions.assertFalse(isFree(blocked, row - 1, column, width, height + 1), "Rectangle " + rect + " can grow upward");
+			Assertions.assertFalse(isFree(blocked, row, column - 1, width + 1, height), "Rectangle " + rect + " can grow left");
+			Assertions.assertFalse(isFree(blocked, row, column, width + 1, height), "Rectangle " + rect + " can grow right");
+		}
+	}
+
+	private static List<ImmutableRect2i> createExclusionAreas(Random random, ImmutableRect2i area, int count) {
+		List<ImmutableRect2i> exclusionAreas = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			int x = area.getX() - SCALE + random.nextInt(area.getWidth() + 2 * SCALE);
+			int y = area.getY() - SCALE + random.nextInt(area.getHeight() + 2 * SCALE);
+			int width = 1 + random.nextInt(Math.max(1, area.getWidth() / 2));
+			int height = 1 + random.nextInt(Math.max(1, area.getHeight() / 2));
+			exclusionAreas.add(new ImmutableRect2i(x, y, width, height));
+		}
+		return exclusionAreas;
+	}
+
+	@Test
+	public void testRandomGrids() {
+		Random random = new Random(1);
+		for (int i = 0; i < 500; i++) {
+			ImmutableRect2i area = new ImmutableRect2i(random.nextInt(100) - 50, random.nextInt(100) - 50, SCALE * (1 + random.nextInt(12)), SCALE * (1 + random.nextInt(12)));
+			List<ImmutableRect2i> exclusionAreas = createExclusionAreas(random, area, 1 + random.nextInt(6));
+			assertMatchesBruteForce(area, exclusionAreas);
+		}
+	}
+
+	@Test
+	public void testSingleRow() {
+		Random random = new Random(2);
+		for (int i = 0; i < 200; i++) {
+			ImmutableRect2i area = new ImmutableRect2i(0, 0, SCALE * (1 + random.nextInt(20)), SCALE);
+			List<ImmutableRect2i> exclusionAreas = createExclusionAreas(random, area, 1 + random.nextInt(4));
+			assertMatchesBruteForce(area, exclusionAreas);
+		}
+	}
+
+	@Test
+	public void testSingleColumn() {
+		Random random = new Random(3);
+		for (int i = 0; i < 200; i++) {
+			ImmutableRect2i area = new ImmutableRect2i(0, 0, SCALE, SCALE * (1 + random.nextInt(20)));
+			List<ImmutableRect2i> exclusionAreas = createExclusionAreas(random, area, 1 + random.nextInt(4));
+			assertMatchesBruteForce(area, exclusionAreas);
+		}
+	}
+
+	@Test
+	public void testFullyBlocked() {
+		ImmutableRect2i area = new ImmutableRect2i(10, 10, SCALE * 8, SCALE * 6);
+		List<ImmutableRect2i> exclusionAreas = List.of(new ImmutableRect2i(0, 0, 100, 100));
+		List<ImmutableRect2i> results = MaximalRectangle.getLargestRectangles(area, exclusionAreas, SCALE).toList();
+		Assertions.assertEquals(List.of(), results);
+	}
+
+	@Test
+	public void testNoExclusionAreas() {
+		ImmutableRect2i area = new ImmutableRect2i(10, 10, SCALE * 8, SCALE * 6);
+		List<ImmutableRect2i> exclusionAreas = List.of(new ImmutableRect2i(200, 200, 10, 10));
+		List<ImmutableRect2i> results = MaximalRectangle.getLargestRectangles(area, exclusionAreas, SCALE).toList();
+		Assertions.assertEquals(List.of(area), results);
+
+		assertMatchesBruteForce(area, List.of());
+	}
+
+	@Test
+	public void testEmptyGrid() {
+		// the area is smaller than one cell, so there are no free cells at all
+		ImmutableRect2i area = new ImmutableRect2i(0, 0, SCALE - 1, SCALE * 4);
+		List<ImmutableRect2i> exclusionAreas = List.of(new ImmutableRect2i(0, 0, 1, 1));
+		List<ImmutableRect2i> results = MaximalRectangle.getLargestRectangles(area, exclusionAreas, SCALE).toList();
+		Assertions.assertEquals(List.of(), results);
+	}
+}
@@ -15,7 +15,6 @@ import net.minecraft.client.renderer.texture.MissingTextureAtlasSprite;
 import net.minecraft.client.renderer.texture.SpriteContents;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.client.resources.model.BakedModel;
-import net.minecraft.util.Mth;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
@@ -25,7 +24,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -33,8 +31,10 @@ import java.util.Optional;
 public final class ColorGetter {
 	private static final Logger LOGGER = LogManager.getLogger();
 
-	public ColorGetter() {
+	private final SpritePaletteCache paletteCache;
 
+	public ColorGetter(SpritePaletteCache paletteCache) {
+		this.paletteCache = paletteCache;
 	}
 
 	public List<Integer> getColors(ItemStack itemStack, int colorCount) {
@@ -85,28 +85,20 @@ public final class ColorGetter {
 		return getColors(textureAtlasSprite, renderColor, colorCount);
 	}
 
+	/**
+	 * Copies the sprite's pixels, which must be done on the render thread.
+	 * The palette is extracted later, the first time the returned colors are read.
+	 */
 	public List<Integer> getColors(TextureAtlasSprite textureAtlasSprite, int renderColor, int colorCount) {
 		if (colorCount <= 0) {
 			return Collections.emptyList();
 		}
 		return getNativeImage(textureAtlasSprite)
-			.map(bufferedImage -> {
-				final List<Integer> colors = new ArrayList<>(colorCount);
-				final int[][] palette = ColorThief.getPalette(bufferedImage, colorCount, 2, false);
-				for (int[] colorInt : palette) {
-					int red = (int) ((colorInt[0] - 1) * (float) (renderColor >> 16 & 255) / 255.0F);
-					int green = (int) ((colorInt[1] - 1) * (float) (renderColor >> 8 & 255) / 255.0F);
-					int blue = (int) ((colorInt[2] - 1) * (float) (renderColor & 255) / 255.0F);
-					red = Mth.clamp(red, 0, 255);
-					green = Mth.clamp(green, 0, 255);
-					blue = Mth.clamp(blue, 0, 255);
-					int color = ((0xFF) << 24) |
-						((red & 0xFF) << 16) |
-						((green & 0xFF) << 8) |
-						(blue & 0xFF);
-					colors.add(color);
-				}
-				return colors;
+			.filter(nativeImage -> nativeImage.format() == NativeImage.Format.RGBA)
+			.<List<Integer>>map(nativeImage -> {
+				final int[] pixels = nativeImage.getPixelsRGBA();
+				final String spriteName = textureAtlasSprite.contents().name().toString();
+				return new SpriteColors(paletteCache, spriteName, pixels, renderColor, colorCount);
 			})
 			.orElseGet(Collections::emptyList);
 	}
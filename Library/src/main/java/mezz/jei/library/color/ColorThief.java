@@ -18,9 +18,6 @@ package mezz.jei.library.color;
  * available at http://lokeshdhakar.com/projects/color-thief/
  */
 
-import org.jetbrains.annotations.Nullable;
-import java.util.Arrays;
-
 import com.mojang.blaze3d.platform.NativeImage;
 
 public class ColorThief {
@@ -37,81 +34,76 @@ public class ColorThief {
 	 * @return the palette as array of RGB arrays
 	 */
 	public static int[][] getPalette(NativeImage sourceImage, int colorCount, int quality, boolean ignoreWhite) {
-		MMCQ.CMap cmap = getColorMap(sourceImage, colorCount, quality, ignoreWhite);
-		if (cmap == null) {
+		if (sourceImage.format() != NativeImage.Format.RGBA) {
 			return new int[0][0];
 		}
-		return cmap.palette();
+		int[] pixels = sourceImage.getPixelsRGBA();
+		return getPalette(pixels, colorCount, quality, ignoreWhite);
 	}
 
 	/**
 	 * Use the median cut algorithm to cluster similar colors.
 	 *
-	 * @param sourceImage the source image
+	 * @param pixels      the pixels of the source image, in the format returned by {@link NativeImage#getPixelsRGBA()}
 	 * @param colorCount  the size of the palette; the number of colors returned
 	 * @param quality     0 is the highest quality settings. 10 is the default. There is
 	 *                    a trade-off between quality and speed. The bigger the number,
 	 *                    the faster the palette generation but the greater the
 	 *                    likelihood that colors will be missed.
 	 * @param ignoreWhite if <code>true</code>, white pixels are ignored
-	 * @return the color map
+	 * @return the palette as array of RGB arrays
 	 */
-	@Nullable
-	public static MMCQ.CMap getColorMap(NativeImage sourceImage, int colorCount, int quality, boolean ignoreWhite) {
-		if (sourceImage.format() == NativeImage.Format.RGBA) {
-			int[][] pixelArray = getPixels(sourceImage, quality, ignoreWhite);
-			// Send array to quantize function which clusters values using median
-			// cut algorithm
-			return MMCQ.quantize(pixelArray, colorCount);
+	public static int[][] getPalette(int[] pixels, int colorCount, int quality, boolean ignoreWhite) {
+		MMCQ mmcq = MMCQ.get();
+		int[] rgbPixels = mmcq.getPixelBuffer(getRegardedPixelCount(pixels.length, quality));
+		int numUsedPixels = getPixels(pixels, rgbPixels, quality, ignoreWhite);
+		// Send array to quantize function which clusters values using median
+		// cut algorithm
+		int[][] palette = mmcq.quantize(rgbPixels, numUsedPixels, colorCount);
+		if (palette == null) {
+			return new int[0][0];
 		}
-		return null;
+		return palette;
+	}
+
+	private static int getRegardedPixelCount(int pixelCount, int quality) {
+		// numRegardedPixels must be rounded up to avoid an
+		// ArrayIndexOutOfBoundsException if all pixels are good.
+		return (pixelCount + quality - 1) / quality;
 	}
 
 	/**
-	 * Gets the image's pixels via BufferedImage.getRaster().getDataBuffer().
-	 * Fast, but doesn't work for all color models.
+	 * Gets the image's pixels that should be considered for the palette.
 	 *
-	 * @param sourceImage the source image
+	 * @param pixels      the pixels of the source image, in the format returned by {@link NativeImage#getPixelsRGBA()}
+	 * @param rgbPixels   the array to fill with packed RGB pixels
 	 * @param quality     1 is the highest quality settings. 10 is the default. There is
 	 *                    a trade-off between quality and speed. The bigger the number,
 	 *                    the faster the palette generation but the greater the
 	 *                    likelihood that colors will be missed.
 	 * @param ignoreWhite if <code>true</code>, white pixels are ignored
-	 * @return an array of pixels (each an RGB int array)
+	 * @return the number of pixels added to rgbPixels
 	 */
-	private static int[][] getPixels(NativeImage sourceImage, int quality, boolean ignoreWhite) {
-		int width = sourceImage.getWidth();
-		int height = sourceImage.getHeight();
-		int pixelCount = width * height;
-
-		// Store the RGB values in an array format suitable for quantize function
-
-		// numRegardedPixels must be rounded up to avoid an
-		// ArrayIndexOutOfBoundsException if all pixels are good.
-		int numRegardedPixels = (pixelCount + quality - 1) / quality;
-
+	private static int getPixels(int[] pixels, int[] rgbPixels, int quality, boolean ignoreWhite) {
+		int pixelCount = pixels.length;
 		int numUsedPixels = 0;
-		int[][] pixelArray = new int[numRegardedPixels][];
 
 		int i = 0;
 		while (i < pixelCount) {
-			int x = i % width;
-			int y = i / width;
-			int rgba = sourceImage.getPixelRGBA(x, y);
+			int rgba = pixels[i];
 			int a = rgba >> 24 & 255;
 			int b = rgba >> 16 & 255;
 			int g = rgba >> 8 & 255;
 			int r = rgba & 255;
 			// If pixel is mostly opaque and not white
 			if (a >= 125 && !(ignoreWhite && r > 250 && g > 250 && b > 250)) {
-				pixelArray[numUsedPixels] = new int[]{r, g, b};
+				rgbPixels[numUsedPixels] = r << 16 | g << 8 | b;
 				numUsedPixels++;
 				i += quality;
 			} else {
 				i++;
 			}
 		}
-		// trim the array
-		return Arrays.copyOfRange(pixelArray, 0, numUsedPixels);
+		return numUsedPixels;
 	}
 }
@@ -19,15 +19,23 @@ package mezz.jei.library.color;
  */
 
 import org.jetbrains.annotations.Nullable;
-import java.util.ArrayList;
+
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.List;
-
-@SuppressWarnings("ALL")
-public class MMCQ {
 
+/**
+ * Modified median cut quantization.
+ *
+ * This works on packed RGB pixels, a reused histogram and a pool of reused {@link VBox}es,
+ * so quantizing a sprite does not allocate anything but the resulting palette.
+ * Sprites only use a few of the 32768 histogram cells, so boxes are measured by
+ * going through the distinct colors instead of every cell, when that is cheaper.
+ * The results are identical to the original Color Thief implementation,
+ * including the order that boxes are sorted in.
+ *
+ * Each thread gets its own instance from {@link #get()}, so quantization can run on several threads at once.
+ */
+public final class MMCQ {
 	private static final int SIGBITS = 5;
 	private static final int RSHIFT = 8 - SIGBITS;
 	private static final int MULT = 1 << RSHIFT;
@@ -36,6 +44,54 @@ public class MMCQ {
 	private static final double FRACT_BY_POPULATION = 0.75;
 	private static final int MAX_ITERATIONS = 1000;
 
+	private static final int AXIS_R = 0;
+	private static final int AXIS_G = 1;
+	private static final int AXIS_B = 2;
+
+	private static final ThreadLocal<MMCQ> INSTANCES = ThreadLocal.withInitial(MMCQ::new);
+
+	private final int[] histo = new int[HISTOSIZE];
+	/**
+	 * The histogram indexes that have pixels, so that sparse histograms can be summed quickly.
+	 */
+	private int[] distinctColors = new int[256];
+	private int distinctCount;
+	private final int[] slicesum = new int[VBOX_LENGTH];
+	private final int[] partialsum = new int[VBOX_LENGTH];
+	private final int[] lookaheadsum = new int[VBOX_LENGTH];
+	private int[] pixelBuffer = new int[256];
+
+	private VBox[] pool = new VBox[16];
+	private int poolUsed;
+	private VBox[] queue = new VBox[16];
+	private int queueSize;
+
+	/**
+	 * The boxes produced by the last call to {@link #medianCutApply(VBox)}.
+	 */
+	@Nullable
+	private VBox cutBox1;
+	@Nullable
+	private VBox cutBox2;
+
+	public static MMCQ get() {
+		return INSTANCES.get();
+	}
+
+	private MMCQ() {
+
+	}
+
+	/**
+	 * @return a reusable buffer with room for at least the given number of packed pixels.
+	 */
+	public int[] getPixelBuffer(int size) {
+		if (pixelBuffer.length < size) {
+			pixelBuffer = new int[Math.max(size, pixelBuffer.length * 2)];
+		}
+		return pixelBuffer;
+	}
+
 	/**
 	 * Get reduced-space color index for a pixel.
 	 *
@@ -48,88 +104,126 @@ public class MMCQ {
 		return (r << (2 * SIGBITS)) + (g << SIGBITS) + b;
 	}
 
-	/**
-	 * 3D color space box.
-	 */
-	public static class VBox {
-		int r1;
-		int r2;
-		int g1;
-		int g2;
-		int b1;
-		int b2;
+	private static int getPixelColorIndex(int rgb) {
+		int rval = (rgb >> 16 & 0xFF) >> RSHIFT;
+		int gval = (rgb >> 8 & 0xFF) >> RSHIFT;
+		int bval = (rgb & 0xFF) >> RSHIFT;
+		return getColorIndex(rval, gval, bval);
+	}
 
-		private final int[] histo;
+	private static int getR(int colorIndex) {
+		return colorIndex >> (2 * SIGBITS);
+	}
 
-		private int[] _avg;
-		private Integer _volume;
-		private Integer _count;
+	private static int getG(int colorIndex) {
+		return (colorIndex >> SIGBITS) & (VBOX_LENGTH - 1);
+	}
 
-		public VBox(int r1, int r2, int g1, int g2, int b1, int b2, int[] histo) {
+	private static int getB(int colorIndex) {
+		return colorIndex & (VBOX_LENGTH - 1);
+	}
+
+	private static int getAxisValue(int colorIndex, int axis) {
+		return switch (axis) {
+			case AXIS_R -> getR(colorIndex);
+			case AXIS_G -> getG(colorIndex);
+			default -> getB(colorIndex);
+		};
+	}
+
+	/**
+	 * 3D color space box.
+	 */
+	private final class VBox {
+		private int r1;
+		private int r2;
+		private int g1;
+		private int g2;
+		private int b1;
+		private int b2;
+
+		/**
+		 * -1 when not calculated yet.
+		 */
+		private int count;
+
+		public void set(int r1, int r2, int g1, int g2, int b1, int b2) {
 			this.r1 = r1;
 			this.r2 = r2;
 			this.g1 = g1;
 			this.g2 = g2;
 			this.b1 = b1;
 			this.b2 = b2;
-
-			this.histo = histo;
+			this.count = -1;
 		}
 
-		@Override
-		public String toString() {
-			return "r1: " + r1 + " / r2: " + r2 + " / g1: " + g1 + " / g2: "
-				+ g2 + " / b1: " + b1 + " / b2: " + b2;
+		public int volume() {
+			return ((r2 - r1 + 1) * (g2 - g1 + 1) * (b2 - b1 + 1));
 		}
 
-		public int volume(boolean force) {
-			if (_volume == null || force) {
-				_volume = ((r2 - r1 + 1) * (g2 - g1 + 1) * (b2 - b1 + 1));
-			}
+		public boolean contains(int colorIndex) {
+			int rval = getR(colorIndex);
+			int gval = getG(colorIndex);
+			int bval = getB(colorIndex);
+			return (rval >= r1 && rval <= r2 && gval >= g1 && gval <= g2
+				&& bval >= b1 && bval <= b2);
+		}
 
-			return _volume;
+		/**
+		 * @return true if it is cheaper to go through the distinct colors than every histogram cell in this box.
+		 */
+		public boolean isSparse() {
+			return distinctCount < volume();
 		}
 
-		public int count(boolean force) {
-			if (_count == null || force) {
+		public int count() {
+			if (count < 0) {
 				int npix = 0;
-				int i, j, k, index;
-
-				for (i = r1; i <= r2; i++) {
-					for (j = g1; j <= g2; j++) {
-						for (k = b1; k <= b2; k++) {
-							index = getColorIndex(i, j, k);
-							npix += histo[index];
+				if (isSparse()) {
+					for (int i = 0; i < distinctCount; i++) {
+						int colorIndex = distinctColors[i];
+						if (contains(colorIndex)) {
+							npix += histo[colorIndex];
+						}
+					}
+				} else {
+					for (int i = r1; i <= r2; i++) {
+						for (int j = g1; j <= g2; j++) {
+							for (int k = b1; k <= b2; k++) {
+								npix += histo[getColorIndex(i, j, k)];
+							}
 						}
 					}
 				}
-
-				_count = npix;
+				count = npix;
 			}
-
-			return _count;
-		}
-
-		@Override
-		public VBox clone() {
-			return new VBox(r1, r2, g1, g2, b1, b2, histo);
+			return count;
 		}
 
-		public int[] avg(boolean force) {
-			if (_avg == null || force) {
-				int ntot = 0;
-
-				int rsum = 0;
-				int gsum = 0;
-				int bsum = 0;
-
-				int hval, i, j, k, histoindex;
-
-				for (i = r1; i <= r2; i++) {
-					for (j = g1; j <= g2; j++) {
-						for (k = b1; k <= b2; k++) {
-							histoindex = getColorIndex(i, j, k);
-							hval = histo[histoindex];
+		public int[] avg() {
+			int ntot = 0;
+
+			// every term is a whole number, so the sums are exact and don't depend on the order they're added in
+			int rsum = 0;
+			int gsum = 0;
+			int bsum = 0;
+
+			if (isSparse()) {
+				for (int n = 0; n < distinctCount; n++) {
+					int colorIndex = distinctColors[n];
+					if (contains(colorIndex)) {
+						int hval = histo[colorIndex];
+						ntot += hval;
+						rsum += (hval * (getR(colorIndex) + 0.5) * MULT);
+						gsum += (hval * (getG(colorIndex) + 0.5) * MULT);
+						bsum += (hval * (getB(colorIndex) + 0.5) * MULT);
+					}
+				}
+			} else {
+				for (int i = r1; i <= r2; i++) {
+					for (int j = g1; j <= g2; j++) {
+						for (int k = b1; k <= b2; k++) {
+							int hval = histo[getColorIndex(i, j, k)];
 							ntot += hval;
 							rsum += (hval * (i + 0.5) * MULT);
 							gsum += (hval * (j + 0.5) * MULT);
@@ -137,128 +231,153 @@ public class MMCQ {
 						}
 					}
 				}
+			}
 
-				if (ntot > 0) {
-					_avg = new int[]{~~(rsum / ntot), ~~(gsum / ntot),
-						~~(bsum / ntot)};
-				} else {
-					_avg = new int[]{~~(MULT * (r1 + r2 + 1) / 2),
-						~~(MULT * (g1 + g2 + 1) / 2),
-						~~(MULT * (b1 + b2 + 1) / 2)};
-				}
+			if (ntot > 0) {
+				return new int[]{rsum / ntot, gsum / ntot, bsum / ntot};
+			} else {
+				return new int[]{
+					MULT * (r1 + r2 + 1) / 2,
+					MULT * (g1 + g2 + 1) / 2,
+					MULT * (b1 + b2 + 1) / 2
+				};
 			}
+		}
 
-			return _avg;
+		public int getMin(int axis) {
+			return switch (axis) {
+				case AXIS_R -> r1;
+				case AXIS_G -> g1;
+				default -> b1;
+			};
 		}
 
-		public boolean contains(int[] pixel) {
-			int rval = pixel[0] >> RSHIFT;
-			int gval = pixel[1] >> RSHIFT;
-			int bval = pixel[2] >> RSHIFT;
+		public int getMax(int axis) {
+			return switch (axis) {
+				case AXIS_R -> r2;
+				case AXIS_G -> g2;
+				default -> b2;
+			};
+		}
+	}
 
-			return (rval >= r1 && rval <= r2 && gval >= g1 && gval <= g2
-				&& bval >= b1 && bval <= b2);
+	private VBox newVBox(int r1, int r2, int g1, int g2, int b1, int b2) {
+		if (poolUsed == pool.length) {
+			pool = Arrays.copyOf(pool, pool.length * 2);
+		}
+		VBox vbox = pool[poolUsed];
+		if (vbox == null) {
+			vbox = new VBox();
+			pool[poolUsed] = vbox;
 		}
+		poolUsed++;
+		vbox.set(r1, r2, g1, g2, b1, b2);
+		return vbox;
+	}
 
+	private VBox copyVBox(VBox vbox) {
+		return newVBox(vbox.r1, vbox.r2, vbox.g1, vbox.g2, vbox.b1, vbox.b2);
 	}
 
-	/**
-	 * Color map.
-	 */
-	public static class CMap {
+	private void push(VBox vbox) {
+		if (queueSize == queue.length) {
+			queue = Arrays.copyOf(queue, queue.length * 2);
+		}
+		queue[queueSize++] = vbox;
+	}
 
-		public final ArrayList<VBox> vboxes = new ArrayList<VBox>();
+	private void sortQueue(Comparator<VBox> comparator) {
+		// the same stable sort as Collections.sort, so boxes that compare equal stay in the same order
+		Arrays.sort(queue, 0, queueSize, comparator);
+	}
 
-		public void push(VBox box) {
-			vboxes.add(box);
+	/**
+	 * @param pixels     packed RGB pixels
+	 * @param pixelCount the number of pixels to use from the start of the array
+	 * @param maxcolors  the maximum number of colors in the palette
+	 * @return the palette as an array of RGB arrays, or null if there are no pixels or the number of colors is invalid.
+	 */
+	@Nullable
+	public int[][] quantize(int[] pixels, int pixelCount, int maxcolors) {
+		// short-circuit
+		if (pixelCount == 0 || maxcolors < 1 || maxcolors > 256) {
+			return null;
 		}
 
-		public int[][] palette() {
-			int numVBoxes = vboxes.size();
-			int[][] palette = new int[numVBoxes][];
-			int numChosen = 0;
-			int maxCount = 0;
-			for (int i = 0; i < numVBoxes; i++) {
-				VBox vBox = vboxes.get(i);
-				if (vBox.count(false) >= (maxCount * 0.25)) {
-					palette[numChosen] = vBox.avg(false);
-					numChosen++;
-					maxCount = vBox.count(false);
+		try {
+			for (int i = 0; i < pixelCount; i++) {
+				int colorIndex = getPixelColorIndex(pixels[i]);
+				if (histo[colorIndex]++ == 0) {
+					addDistinctColor(colorIndex);
 				}
 			}
-			return Arrays.copyOfRange(palette, 0, numChosen);
-		}
 
-		public int size() {
-			return vboxes.size();
-		}
+			// get the beginning vbox from the colors
+			push(vboxFromPixels(pixels, pixelCount));
 
-		@Nullable
-		public int[] map(int[] color) {
-			int numVBoxes = vboxes.size();
-			for (int i = 0; i < numVBoxes; i++) {
-				VBox vbox = vboxes.get(i);
-				if (vbox.contains(color)) {
-					return vbox.avg(false);
-				}
-			}
-			return nearest(color);
-		}
+			// Round up to have the same behaviour as in JavaScript
+			int target = (int) Math.ceil(FRACT_BY_POPULATION * maxcolors);
 
-		@Nullable
-		public int[] nearest(int[] color) {
-			double d1 = Double.MAX_VALUE;
-			double d2;
-			int[] pColor = null;
-
-			int numVBoxes = vboxes.size();
-			for (int i = 0; i < numVBoxes; i++) {
-				int[] vbColor = vboxes.get(i).avg(false);
-				d2 = ColorUtil.fastPerceptualColorDistanceSquared(color, vbColor);
-				if (d2 < d1) {
-					d1 = d2;
-					pColor = vbColor;
-				}
+			// first set of colors, sorted by population
+			iter(COMPARATOR_COUNT, target);
+
+			// Re-sort by the product of pixel occupancy times the size in color
+			// space.
+			sortQueue(COMPARATOR_PRODUCT);
+
+			// next set - generate the median cuts using the (npix * vol) sorting.
+			iter(COMPARATOR_PRODUCT, maxcolors - queueSize);
+
+			return palette();
+		} finally {
+			for (int i = 0; i < distinctCount; i++) {
+				histo[distinctColors[i]] = 0;
 			}
-			return pColor;
+			distinctCount = 0;
+			Arrays.fill(queue, 0, queueSize, null);
+			queueSize = 0;
+			poolUsed = 0;
+			cutBox1 = null;
+			cutBox2 = null;
 		}
+	}
 
+	private void addDistinctColor(int colorIndex) {
+		if (distinctCount == distinctColors.length) {
+			distinctColors = Arrays.copyOf(distinctColors, distinctColors.length * 2);
+		}
+		distinctColors[distinctCount++] = colorIndex;
 	}
 
 	/**
-	 * Histo (1-d array, giving the number of pixels in each quantized region of
-	 * color space), or null on error.
+	 * Calculate the actual colors, with the highest elements first.
 	 */
-	private static int[] getHisto(int[][] pixels) {
-		int[] histo = new int[HISTOSIZE];
-		int index, rval, gval, bval;
-
-		int numPixels = pixels.length;
-		for (int i = 0; i < numPixels; i++) {
-			int[] pixel = pixels[i];
-			rval = pixel[0] >> RSHIFT;
-			gval = pixel[1] >> RSHIFT;
-			bval = pixel[2] >> RSHIFT;
-			index = getColorIndex(rval, gval, bval);
-			histo[index]++;
+	private int[][] palette() {
+		int[][] palette = new int[queueSize][];
+		int numChosen = 0;
+		int maxCount = 0;
+		for (int i = queueSize - 1; i >= 0; i--) {
+			VBox vBox = queue[i];
+			if (vBox.count() >= (maxCount * 0.25)) {
+				palette[numChosen] = vBox.avg();
+				numChosen++;
+				maxCount = vBox.count();
+			}
 		}
-		return histo;
+		return Arrays.copyOfRange(palette, 0, numChosen);
 	}
 
-	private static VBox vboxFromPixels(int[][] pixels, int[] histo) {
+	private VBox vboxFromPixels(int[] pixels, int pixelCount) {
 		int rmin = 1000000, rmax = 0;
 		int gmin = 1000000, gmax = 0;
 		int bmin = 1000000, bmax = 0;
 
-		int rval, gval, bval;
-
 		// find min/max
-		int numPixels = pixels.length;
-		for (int i = 0; i < numPixels; i++) {
-			int[] pixel = pixels[i];
-			rval = pixel[0] >> RSHIFT;
-			gval = pixel[1] >> RSHIFT;
-			bval = pixel[2] >> RSHIFT;
+		for (int i = 0; i < pixelCount; i++) {
+			int pixel = pixels[i];
+			int rval = (pixel >> 16 & 0xFF) >> RSHIFT;
+			int gval = (pixel >> 8 & 0xFF) >> RSHIFT;
+			int bval = (pixel & 0xFF) >> RSHIFT;
 
 			if (rval < rmin) {
 				rmin = rval;
@@ -279,17 +398,19 @@ public class MMCQ {
 			}
 		}
 
-		return new VBox(rmin, rmax, gmin, gmax, bmin, bmax, histo);
+		return newVBox(rmin, rmax, gmin, gmax, bmin, bmax);
 	}
 
-	private static VBox[] medianCutApply(int[] histo, VBox vbox) {
-		if (vbox.count(false) == 0) {
-			return null;
-		}
-
+	/**
+	 * Cuts the vbox into {@link #cutBox1} and {@link #cutBox2}.
+	 * {@link #cutBox2} is null if the vbox only has one pixel.
+	 */
+	private void medianCutApply(VBox vbox) {
 		// only one pixel, no split
-		if (vbox.count(false) == 1) {
-			return new VBox[]{vbox.clone(), null};
+		if (vbox.count() == 1) {
+			cutBox1 = copyVBox(vbox);
+			cutBox2 = null;
+			return;
 		}
 
 		int rw = vbox.r2 - vbox.r1 + 1;
@@ -299,44 +420,51 @@ public class MMCQ {
 
 		// Find the partial sum arrays along the selected axis.
 		int total = 0;
-		int[] partialsum = new int[VBOX_LENGTH];
 		Arrays.fill(partialsum, -1); // -1 = not set / 0 = 0
-		int[] lookaheadsum = new int[VBOX_LENGTH];
 		Arrays.fill(lookaheadsum, -1); // -1 = not set / 0 = 0
-		int i, j, k, sum, index;
-
-		if (maxw == rw) {
-			for (i = vbox.r1; i <= vbox.r2; i++) {
-				sum = 0;
-				for (j = vbox.g1; j <= vbox.g2; j++) {
-					for (k = vbox.b1; k <= vbox.b2; k++) {
-						index = getColorIndex(i, j, k);
-						sum += histo[index];
+
+		int axis = maxw == rw ? AXIS_R : maxw == gw ? AXIS_G : AXIS_B;
+		if (vbox.isSparse()) {
+			Arrays.fill(slicesum, 0);
+			for (int n = 0; n < distinctCount; n++) {
+				int colorIndex = distinctColors[n];
+				if (vbox.contains(colorIndex)) {
+					slicesum[getAxisValue(colorIndex, axis)] += histo[colorIndex];
+				}
+			}
+			for (int i = vbox.getMin(axis); i <= vbox.getMax(axis); i++) {
+				total += slicesum[i];
+				partialsum[i] = total;
+			}
+		} else if (axis == AXIS_R) {
+			for (int i = vbox.r1; i <= vbox.r2; i++) {
+				int sum = 0;
+				for (int j = vbox.g1; j <= vbox.g2; j++) {
+					for (int k = vbox.b1; k <= vbox.b2; k++) {
+						sum += histo[getColorIndex(i, j, k)];
 					}
 				}
 				total += sum;
 				partialsum[i] = total;
 			}
-		} else if (maxw == gw) {
-			for (i = vbox.g1; i <= vbox.g2; i++) {
-				sum = 0;
-				for (j = vbox.r1; j <= vbox.r2; j++) {
-					for (k = vbox.b1; k <= vbox.b2; k++) {
-						index = getColorIndex(j, i, k);
-						sum += histo[index];
+		} else if (axis == AXIS_G) {
+			for (int i = vbox.g1; i <= vbox.g2; i++) {
+				int sum = 0;
+				for (int j = vbox.r1; j <= vbox.r2; j++) {
+					for (int k = vbox.b1; k <= vbox.b2; k++) {
+						sum += histo[getColorIndex(j, i, k)];
 					}
 				}
 				total += sum;
 				partialsum[i] = total;
 			}
 		} else
-			/* maxw == bw */ {
-			for (i = vbox.b1; i <= vbox.b2; i++) {
-				sum = 0;
-				for (j = vbox.r1; j <= vbox.r2; j++) {
-					for (k = vbox.g1; k <= vbox.g2; k++) {
-						index = getColorIndex(j, k, i);
-						sum += histo[index];
+			/* axis == AXIS_B */ {
+			for (int i = vbox.b1; i <= vbox.b2; i++) {
+				int sum = 0;
+				for (int j = vbox.r1; j <= vbox.r2; j++) {
+					for (int k = vbox.g1; k <= vbox.g2; k++) {
+						sum += histo[getColorIndex(j, k, i)];
 					}
 				}
 				total += sum;
@@ -344,155 +472,101 @@ public class MMCQ {
 			}
 		}
 
-		for (i = 0; i < VBOX_LENGTH; i++) {
+		for (int i = 0; i < VBOX_LENGTH; i++) {
 			if (partialsum[i] != -1) {
 				lookaheadsum[i] = total - partialsum[i];
 			}
 		}
 
 		// determine the cut planes
-		return maxw == rw ? doCut('r', vbox, partialsum, lookaheadsum, total)
-			: maxw == gw ? doCut('g', vbox, partialsum, lookaheadsum, total)
-			: doCut('b', vbox, partialsum, lookaheadsum, total);
+		doCut(axis, vbox, total);
 	}
 
-	private static VBox[] doCut(char color, VBox vbox, int[] partialsum, int[] lookaheadsum, int total) {
-		int vbox_dim1;
-		int vbox_dim2;
-
-		if (color == 'r') {
-			vbox_dim1 = vbox.r1;
-			vbox_dim2 = vbox.r2;
-		} else if (color == 'g') {
-			vbox_dim1 = vbox.g1;
-			vbox_dim2 = vbox.g2;
-		} else
-			/* color == 'b' */ {
-			vbox_dim1 = vbox.b1;
-			vbox_dim2 = vbox.b2;
-		}
-
-		int left, right;
-		VBox vbox1 = null, vbox2 = null;
-		int d2, count2;
+	private void doCut(int axis, VBox vbox, int total) {
+		int vbox_dim1 = vbox.getMin(axis);
+		int vbox_dim2 = vbox.getMax(axis);
 
 		for (int i = vbox_dim1; i <= vbox_dim2; i++) {
 			if (partialsum[i] > total / 2) {
-				vbox1 = vbox.clone();
-				vbox2 = vbox.clone();
+				VBox vbox1 = copyVBox(vbox);
+				VBox vbox2 = copyVBox(vbox);
 
-				left = i - vbox_dim1;
-				right = vbox_dim2 - i;
+				int left = i - vbox_dim1;
+				int right = vbox_dim2 - i;
 
+				int d2;
 				if (left <= right) {
-					d2 = Math.min(vbox_dim2 - 1, ~~(i + right / 2));
+					d2 = Math.min(vbox_dim2 - 1, i + right / 2);
 				} else {
 					// 2.0 and cast to int is necessary to have the same
 					// behaviour as in JavaScript
-					d2 = Math.max(vbox_dim1, ~~((int) (i - 1 - left / 2.0)));
+					d2 = Math.max(vbox_dim1, (int) (i - 1 - left / 2.0));
 				}
 
 				// avoid 0-count boxes
 				while (d2 < 0 || partialsum[d2] <= 0) {
 					d2++;
 				}
-				count2 = lookaheadsum[d2];
+				int count2 = lookaheadsum[d2];
 				while (count2 == 0 && d2 > 0 && partialsum[d2 - 1] > 0) {
 					count2 = lookaheadsum[--d2];
 				}
 
 				// set dimensions
-				if (color == 'r') {
-					vbox1.r2 = d2;
-					vbox2.r1 = d2 + 1;
-				} else if (color == 'g') {
-					vbox1.g2 = d2;
-					vbox2.g1 = d2 + 1;
+				if (axis == AXIS_R) {
+					vbox1.set(vbox1.r1, d2, vbox1.g1, vbox1.g2, vbox1.b1, vbox1.b2);
+					vbox2.set(d2 + 1, vbox2.r2, vbox2.g1, vbox2.g2, vbox2.b1, vbox2.b2);
+				} else if (axis == AXIS_G) {
+					vbox1.set(vbox1.r1, vbox1.r2, vbox1.g1, d2, vbox1.b1, vbox1.b2);
+					vbox2.set(vbox2.r1, vbox2.r2, d2 + 1, vbox2.g2, vbox2.b1, vbox2.b2);
 				} else
-					/* color == 'b' */ {
-					vbox1.b2 = d2;
-					vbox2.b1 = d2 + 1;
+					/* axis == AXIS_B */ {
+					vbox1.set(vbox1.r1, vbox1.r2, vbox1.g1, vbox1.g2, vbox1.b1, d2);
+					vbox2.set(vbox2.r1, vbox2.r2, vbox2.g1, vbox2.g2, d2 + 1, vbox2.b2);
 				}
 
-				return new VBox[]{vbox1, vbox2};
+				cutBox1 = vbox1;
+				cutBox2 = vbox2;
+				return;
 			}
 		}
 
 		throw new RuntimeException("VBox can't be cut");
 	}
 
-	@Nullable
-	public static CMap quantize(int[][] pixels, int maxcolors) {
-		// short-circuit
-		if (pixels.length == 0 || maxcolors < 1 || maxcolors > 256) {
-			return null;
-		}
-
-		int[] histo = getHisto(pixels);
-
-		// get the beginning vbox from the colors
-		VBox vbox = vboxFromPixels(pixels, histo);
-		ArrayList<VBox> pq = new ArrayList<VBox>();
-		pq.add(vbox);
-
-		// Round up to have the same behaviour as in JavaScript
-		int target = (int) Math.ceil(FRACT_BY_POPULATION * maxcolors);
-
-		// first set of colors, sorted by population
-		iter(pq, COMPARATOR_COUNT, target, histo);
-
-		// Re-sort by the product of pixel occupancy times the size in color
-		// space.
-		Collections.sort(pq, COMPARATOR_PRODUCT);
-
-		// next set - generate the median cuts using the (npix * vol) sorting.
-		iter(pq, COMPARATOR_PRODUCT, maxcolors - pq.size(), histo);
-
-		// Reverse to put the highest elements first into the color map
-		Collections.reverse(pq);
-
-		// calculate the actual colors
-		CMap cmap = new CMap();
-		for (VBox vb : pq) {
-			cmap.push(vb);
-		}
-
-		return cmap;
-	}
-
 	/**
 	 * Inner function to do the iteration.
 	 */
-	private static void iter(List<VBox> lh, Comparator<VBox> comparator, int target, int[] histo) {
+	private void iter(Comparator<VBox> comparator, int target) {
 		int ncolors = 1;
 		int niters = 0;
-		VBox vbox;
 
 		while (niters < MAX_ITERATIONS) {
-			vbox = lh.get(lh.size() - 1);
-			if (vbox.count(false) == 0) {
-				Collections.sort(lh, comparator);
+			VBox vbox = queue[queueSize - 1];
+			if (vbox.count() == 0) {
+				sortQueue(comparator);
 				niters++;
 				continue;
 			}
-			lh.remove(lh.size() - 1);
+			queueSize--;
+			queue[queueSize] = null;
 
 			// do the cut
-			VBox[] vboxes = medianCutApply(histo, vbox);
-			VBox vbox1 = vboxes[0];
-			VBox vbox2 = vboxes[1];
+			medianCutApply(vbox);
+			VBox vbox1 = cutBox1;
+			VBox vbox2 = cutBox2;
 
 			if (vbox1 == null) {
 				throw new RuntimeException(
 					"vbox1 not defined; shouldn't happen!");
 			}
 
-			lh.add(vbox1);
+			push(vbox1);
 			if (vbox2 != null) {
-				lh.add(vbox2);
+				push(vbox2);
 				ncolors++;
 			}
-			Collections.sort(lh, comparator);
+			sortQueue(comparator);
 
 			if (ncolors >= target) {
 				return;
@@ -503,29 +577,20 @@ public class MMCQ {
 		}
 	}
 
-	private static final Comparator<VBox> COMPARATOR_COUNT = new Comparator<VBox>() {
-		@Override
-		public int compare(VBox a, VBox b) {
-			return a.count(false) - b.count(false);
-		}
-	};
+	private static final Comparator<VBox> COMPARATOR_COUNT = (a, b) -> a.count() - b.count();
 
-	private static final Comparator<VBox> COMPARATOR_PRODUCT = new Comparator<VBox>() {
-		@Override
-		public int compare(VBox a, VBox b) {
-			int aCount = a.count(false);
-			int bCount = b.count(false);
-			int aVolume = a.volume(false);
-			int bVolume = b.volume(false);
-
-			// If count is 0 for both (or the same), sort by volume
-			if (aCount == bCount) {
-				return aVolume - bVolume;
-			}
+	private static final Comparator<VBox> COMPARATOR_PRODUCT = (a, b) -> {
+		int aCount = a.count();
+		int bCount = b.count();
+		int aVolume = a.volume();
+		int bVolume = b.volume();
 
-			// Otherwise sort by products
-			return aCount * aVolume - bCount * bVolume;
+		// If count is 0 for both (or the same), sort by volume
+		if (aCount == bCount) {
+			return aVolume - bVolume;
 		}
-	};
 
+		// Otherwise sort by products
+		return aCount * aVolume - bCount * bVolume;
+	};
 }
@@ -0,0 +1,94 @@
+package mezz.jei.library.color;
+
+import net.minecraft.util.Mth;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The colors of a sprite, tinted by a render color.
+ *
+ * This is created on the render thread by {@link ColorGetter}, which copies the sprite's pixels.
+ * The palette is only extracted from the copied pixels the first time the colors are read,
+ * so reading them can be done from any thread.
+ */
+final class SpriteColors extends AbstractList<Integer> {
+	private static final Logger LOGGER = LogManager.getLogger();
+
+	private final SpritePaletteCache paletteCache;
+	private final String spriteName;
+	private final int renderColor;
+	private final int colorCount;
+	private int @Nullable [] pixels;
+	private volatile @Nullable List<Integer> colors;
+
+	public SpriteColors(SpritePaletteCache paletteCache, String spriteName, int[] pixels, int renderColor, int colorCount) {
+		this.paletteCache = paletteCache;
+		this.spriteName = spriteName;
+		this.pixels = pixels;
+		this.renderColor = renderColor;
+		this.colorCount = colorCount;
+	}
+
+	@Override
+	public Integer get(int index) {
+		return getColors().get(index);
+	}
+
+	@Override
+	public int size() {
+		return getColors().size();
+	}
+
+	private List<Integer> getColors() {
+		List<Integer> colors = this.colors;
+		if (colors == null) {
+			colors = extractColors();
+		}
+		return colors;
+	}
+
+	private synchronized List<Integer> extractColors() {
+		List<Integer> colors = this.colors;
+		if (colors != null) {
+			return colors;
+		}
+		final int[] pixels = this.pixels;
+		assert pixels != null;
+		try {
+			int[][] palette = paletteCache.getPalette(spriteName, pixels, colorCount, () ->
+				ColorThief.getPalette(pixels, colorCount, 2, false)
+			);
+			colors = tint(palette, renderColor);
+		} catch (RuntimeException e) {
+			LOGGER.warn("Failed to get colors for sprite {}", spriteName, e);
+			colors = Collections.emptyList();
+		}
+		this.colors = colors;
+		this.pixels = null;
+		return colors;
+	}
+
+	private static List<Integer> tint(int[][] palette, int renderColor) {
+		final List<Integer> colors = new ArrayList<>(palette.length);
+		for (int[] colorInt : palette) {
+			int red = (int) ((colorInt[0] - 1) * (float) (renderColor >> 16 & 255) / 255.0F);
+			int green = (int) ((colorInt[1] - 1) * (float) (renderColor >> 8 & 255) / 255.0F);
+			int blue = (int) ((colorInt[2] - 1) * (float) (renderColor & 255) / 255.0F);
+			red = Mth.clamp(red, 0, 255);
+			green = Mth.clamp(green, 0, 255);
+			blue = Mth.clamp(blue, 0, 255);
+			int color = ((0xFF) << 24) |
+				((red & 0xFF) << 16) |
+				((green & 0xFF) << 8) |
+				(blue & 0xFF);
+			colors.add(color);
+		}
+		return colors;
+	}
+}
@@ -0,0 +1,193 @@
+package mezz.jei.library.color;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Caches the palettes that {@link ColorThief} extracts from sprites.
+ *
+ * Many ingredients share the same sprite, and a palette only depends on the sprite's pixels,
+ * so each palette is stored by sprite name along with a hash of the pixels it was made from.
+ * The cache is saved to disk so that it can be reused after a restart,
+ * and is cleared when the selected resource packs change.
+ *
+ * Palettes are mostly extracted in the background after JEI has started (by the color search),
+ * so the cache saves itself a short time after new palettes are added instead of waiting for JEI to stop.
+ */
+public final class SpritePaletteCache {
+	private static final Logger LOGGER = LogManager.getLogger();
+	private static final int FILE_VERSION = 1;
+	/**
+	 * How long to wait after a palette is added before saving, so that palettes extracted together are saved together.
+	 */
+	private static final long SAVE_DELAY_SECONDS = 10;
+
+	private final Path path;
+	private final Map<String, CachedPalette> palettes = new ConcurrentHashMap<>();
+	private String resourceFingerprint = "";
+	private volatile boolean dirty = false;
+	private final ScheduledThreadPoolExecutor saveExecutor;
+	private final AtomicBoolean saveScheduled = new AtomicBoolean();
+
+	public SpritePaletteCache(Path path) {
+		this.path = path;
+		this.saveExecutor = new ScheduledThreadPoolExecutor(1, new SaveThreadFactory());
+		this.saveExecutor.setKeepAliveTime(SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+		this.saveExecutor.allowCoreThreadTimeOut(true);
+		load();
+	}
+
+	/**
+	 * Clears the cache if the selected resource packs have changed since it was saved.
+	 */
+	public void setResourceFingerprint(String resourceFingerprint) {
+		if (!this.resourceFingerprint.equals(resourceFingerprint)) {
+			this.resourceFingerprint = resourceFingerprint;
+			if (!palettes.isEmpty()) {
+				palettes.clear();
+				dirty = true;
+			}
+		}
+	}
+
+	/**
+	 * @return the palette for the sprite with the given name, extracting it only if the sprite's pixels have changed.
+	 */
+	public int[][] getPalette(String spriteName, int[] pixels, int colorCount, Supplier<int[][]> paletteExtractor) {
+		String key = spriteName + '#' + colorCount;
+		long pixelHash = getPixelHash(pixels);
+		CachedPalette cachedPalette = palettes.get(key);
+		if (cachedPalette != null && cachedPalette.pixelHash() == pixelHash) {
+			return unpack(cachedPalette.colors());
+		}
+
+		int[][] palette = paletteExtractor.get();
+		palettes.put(key, new CachedPalette(pixelHash, pack(palette)));
+		dirty = true;
+		scheduleSave();
+		return palette;
+	}
+
+	private static long getPixelHash(int[] pixels) {
+		long hash = 0xcbf29ce484222325L;
+		hash = (hash ^ pixels.length) * 0x100000001b3L;
+		for (int pixel : pixels) {
+			hash = (hash ^ pixel) * 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	private static int[] pack(int[][] palette) {
+		int[] colors = new int[palette.length];
+		for (int i = 0; i < palette.length; i++) {
+			int[] color = palette[i];
+			colors[i] = (color[0] & 0xFF) << 16 | (color[1] & 0xFF) << 8 | (color[2] & 0xFF);
+		}
+		return colors;
+	}
+
+	private static int[][] unpack(int[] colors) {
+		int[][] palette = new int[colors.length][];
+		for (int i = 0; i < colors.length; i++) {
+			int color = colors[i];
+			palette[i] = new int[]{color >> 16 & 0xFF, color >> 8 & 0xFF, color & 0xFF};
+		}
+		return palette;
+	}
+
+	private void load() {
+		if (!Files.exists(path)) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != FILE_VERSION) {
+				return;
+			}
+			resourceFingerprint = in.readUTF();
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String key = in.readUTF();
+				long pixelHash = in.readLong();
+				int[] colors = new int[in.readUnsignedShort()];
+				for (int j = 0; j < colors.length; j++) {
+					colors[j] = in.readInt();
+				}
+				palettes.put(key, new CachedPalette(pixelHash, colors));
+			}
+			LOGGER.debug("Loaded {} color palettes from file: {}", count, path);
+		} catch (IOException | RuntimeException e) {
+			LOGGER.error("Failed to load color palettes from file {}", path, e);
+			palettes.clear();
+		}
+	}
+
+	private void scheduleSave() {
+		if (saveScheduled.compareAndSet(false, true)) {
+			saveExecutor.schedule(() -> {
+				saveScheduled.set(false);
+				save();
+			}, SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Saves the cache to disk if any palettes were added since it was last saved.
+	 */
+	public synchronized void save() {
+		if (!dirty) {
+			return;
+		}
+		dirty = false;
+
+		Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+				Map<String, CachedPalette> snapshot = Map.copyOf(palettes);
+				out.writeInt(FILE_VERSION);
+				out.writeUTF(resourceFingerprint);
+				out.writeInt(snapshot.size());
+				for (Map.Entry<String, CachedPalette> entry : snapshot.entrySet()) {
+					CachedPalette cachedPalette = entry.getValue();
+					out.writeUTF(entry.getKey());
+					out.writeLong(cachedPalette.pixelHash());
+					int[] colors = cachedPalette.colors();
+					out.writeShort(colors.length);
+					for (int color : colors) {
+						out.writeInt(color);
+					}
+				}
+			}
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			LOGGER.debug("Saved color palettes to file: {}", path);
+		} catch (IOException e) {
+			LOGGER.error("Failed to save color palettes to file {}", path, e);
+		}
+	}
+
+	private record CachedPalette(long pixelHash, int[] colors) {}
+
+	private static final class SaveThreadFactory implements ThreadFactory {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "JEI Color Palette Cache Saver");
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -15,6 +15,7 @@ import java.util.stream.Stream;
 
 public class GuiContainerHandlers {
 	private final List<Entry<?>> entries = new ArrayList<>();
+	private ClassValue<List<IGuiContainerHandler<?>>> handlersForClass = createHandlersForClass();
 
 	public <T extends AbstractContainerScreen<?>> void add(Class<? extends T> containerClass, IGuiContainerHandler<? super T> handler) {
 		Entry<? extends T> entryForClass = getEntryForClass(containerClass);
@@ -23,6 +24,23 @@ public class GuiContainerHandlers {
 			this.entries.add(entryForClass);
 		}
 		entryForClass.addHandler(handler);
+		this.handlersForClass = createHandlersForClass();
+	}
+
+	/**
+	 * Resolves the handlers that apply to each screen class once, instead of checking every entry every frame.
+	 * A new one is created whenever a handler is added, which invalidates everything resolved before.
+	 */
+	private ClassValue<List<IGuiContainerHandler<?>>> createHandlersForClass() {
+		return new ClassValue<>() {
+			@Override
+			protected List<IGuiContainerHandler<?>> computeValue(Class<?> screenClass) {
+				return entries.stream()
+					.filter(entry -> entry.getContainerClass().isAssignableFrom(screenClass))
+					.<IGuiContainerHandler<?>>flatMap(entry -> entry.getHandlers().stream())
+					.toList();
+			}
+		};
 	}
 
 	@Nullable
@@ -36,16 +54,10 @@ public class GuiContainerHandlers {
 	}
 
 	@SuppressWarnings("unchecked")
-	private <T extends AbstractContainerScreen<?>> Stream<Entry<? super T>> getEntriesForInstance(T containerScreen) {
-		return this.entries.stream()
-			.filter(entry -> entry.containerClass.isInstance(containerScreen))
-			.map(entry -> (Entry<? super T>) entry);
-	}
-
 	public <T extends AbstractContainerScreen<?>> Stream<IGuiContainerHandler<? super T>> getActiveGuiHandlerStream(T guiContainer) {
-		return getEntriesForInstance(guiContainer)
-			.map(Entry::getHandlers)
-			.flatMap(Collection::stream);
+		List<IGuiContainerHandler<?>> handlers = this.handlersForClass.get(guiContainer.getClass());
+		return handlers.stream()
+			.map(handler -> (IGuiContainerHandler<? super T>) handler);
 	}
 
 	public <T extends AbstractContainerScreen<?>> Stream<IGuiClickableArea> getGuiClickableArea(T guiContainer, double guiMouseX, double guiMouseY) {
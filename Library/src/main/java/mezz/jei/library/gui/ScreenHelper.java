@@ -19,6 +19,7 @@ import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.client.renderer.Rect2i;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.List;
@@ -32,6 +33,23 @@ public class ScreenHelper implements IScreenHelper {
 	private final GuiContainerHandlers guiContainerHandlers;
 	private final Map<Class<?>, IGhostIngredientHandler<?>> ghostIngredientHandlers;
 	private final Map<Class<?>, IScreenHandler<?>> guiScreenHandlers;
+	/**
+	 * Handlers resolved for each screen class, so that the registered handlers
+	 * are only searched once for each class instead of every frame.
+	 * Handlers can't be registered after this is created, so these never need to be invalidated.
+	 */
+	private final ClassValue<Optional<IScreenHandler<?>>> guiScreenHandlerForClass = new ClassValue<>() {
+		@Override
+		protected Optional<IScreenHandler<?>> computeValue(Class<?> screenClass) {
+			return Optional.ofNullable(findHandler(guiScreenHandlers, screenClass));
+		}
+	};
+	private final ClassValue<Optional<IGhostIngredientHandler<?>>> ghostIngredientHandlerForClass = new ClassValue<>() {
+		@Override
+		protected Optional<IGhostIngredientHandler<?>> computeValue(Class<?> screenClass) {
+			return Optional.ofNullable(findHandler(ghostIngredientHandlers, screenClass));
+		}
+	};
 
 	public ScreenHelper(
 		IIngredientManager ingredientManager,
@@ -49,26 +67,31 @@ public class ScreenHelper implements IScreenHelper {
 
 	@Override
 	public <T extends Screen> Optional<IGuiProperties> getGuiProperties(T screen) {
-		{
-			@SuppressWarnings("unchecked")
-			IScreenHandler<T> handler = (IScreenHandler<T>) guiScreenHandlers.get(screen.getClass());
-			if (handler != null) {
-				IGuiProperties properties = handler.apply(screen);
-				return Optional.ofNullable(properties);
-			}
+		@SuppressWarnings("unchecked")
+		Optional<IScreenHandler<T>> handler = (Optional<IScreenHandler<T>>) (Optional<?>) guiScreenHandlerForClass.get(screen.getClass());
+		return handler.map(h -> h.apply(screen));
+	}
+
+	/**
+	 * Finds the handler registered for exactly this class,
+	 * or the first handler registered for one of its superclasses or interfaces.
+	 */
+	@Nullable
+	private static <H> H findHandler(Map<Class<?>, H> handlers, Class<?> screenClass) {
+		H handler = handlers.get(screenClass);
+		if (handler != null) {
+			return handler;
 		}
-		for (Map.Entry<Class<?>, IScreenHandler<?>> entry : guiScreenHandlers.entrySet()) {
+		for (Map.Entry<Class<?>, H> entry : handlers.entrySet()) {
 			Class<?> guiScreenClass = entry.getKey();
-			if (guiScreenClass.isInstance(screen)) {
-				@SuppressWarnings("unchecked")
-				IScreenHandler<T> handler = (IScreenHandler<T>) entry.getValue();
+			if (guiScreenClass.isAssignableFrom(screenClass)) {
+				handler = entry.getValue();
 				if (handler != null) {
-					IGuiProperties properties = handler.apply(screen);
-					return Optional.ofNullable(properties);
+					return handler;
 				}
 			}
 		}
-		return Optional.empty();
+		return null;
 	}
 
 	@Override
@@ -142,24 +165,9 @@ public class ScreenHelper implements IScreenHelper {
 
 	@Override
 	public <T extends Screen> Optional<IGhostIngredientHandler<T>> getGhostIngredientHandler(T guiScreen) {
-		{
-			@SuppressWarnings("unchecked")
-			IGhostIngredientHandler<T> handler = (IGhostIngredientHandler<T>) ghostIngredientHandlers.get(guiScreen.getClass());
-			if (handler != null) {
-				return Optional.of(handler);
-			}
-		}
-		for (Map.Entry<Class<?>, IGhostIngredientHandler<?>> entry : ghostIngredientHandlers.entrySet()) {
-			Class<?> guiScreenClass = entry.getKey();
-			if (guiScreenClass.isInstance(guiScreen)) {
-				@SuppressWarnings("unchecked")
-				IGhostIngredientHandler<T> handler = (IGhostIngredientHandler<T>) entry.getValue();
-				if (handler != null) {
-					return Optional.of(handler);
-				}
-			}
-		}
-		return Optional.empty();
+		@SuppressWarnings("unchecked")
+		Optional<IGhostIngredientHandler<T>> handler = (Optional<IGhostIngredientHandler<T>>) (Optional<?>) ghostIngredientHandlerForClass.get(guiScreen.getClass());
+		return handler;
 	}
 
 	@Override
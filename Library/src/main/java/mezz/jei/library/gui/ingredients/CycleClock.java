@@ -0,0 +1,40 @@
+package mezz.jei.library.gui.ingredients;
+
+import net.minecraft.client.gui.screens.Screen;
+
+/**
+ * A clock shared by every cycling recipe slot, so the shift key is checked once per millisecond
+ * instead of once for every recipe slot that is drawn.
+ *
+ * The clock stops while shift is held down, so players can pause the cycling ingredients to read them.
+ */
+final class CycleClock {
+	private static long lastUpdateTime = System.currentTimeMillis();
+	private static long runningTime = 0;
+
+	private CycleClock() {
+	}
+
+	/**
+	 * Advances the clock.
+	 * Called by every {@link CycleTimer} when it is drawn, but only does any work once per millisecond,
+	 * so recipe layouts keep cycling wherever they are drawn.
+	 */
+	public static void update() {
+		long time = System.currentTimeMillis();
+		if (time == lastUpdateTime) {
+			return;
+		}
+		if (!Screen.hasShiftDown()) {
+			runningTime += time - lastUpdateTime;
+		}
+		lastUpdateTime = time;
+	}
+
+	/**
+	 * @return the time in milliseconds that the clock has been running, not counting the time it was paused.
+	 */
+	public static long getRunningTime() {
+		return runningTime;
+	}
+}
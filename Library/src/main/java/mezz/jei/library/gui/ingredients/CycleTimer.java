@@ -1,41 +1,45 @@
 package mezz.jei.library.gui.ingredients;
 
-import mezz.jei.api.ingredients.ITypedIngredient;
-import net.minecraft.client.gui.screens.Screen;
-
-import java.util.List;
-import java.util.Optional;
-
 public class CycleTimer {
 	/* the amount of time in ms to display one thing before cycling to the next one */
 	private static final int cycleTime = 1000;
+	private final int offset;
 	private long startTime;
-	private int drawDuration = 0;
-	private int pausedDuration = 0;
+	private boolean started = false;
 
 	public CycleTimer(int offset) {
-		long time = System.currentTimeMillis();
-		this.startTime = time - ((long) offset * cycleTime);
+		this.offset = offset;
+	}
+
+	/**
+	 * @return the index of the item to display from a list of the given size, or -1 if the list is empty.
+	 */
+	public int getCycledIndex(int size) {
+		if (size <= 0) {
+			return -1;
+		}
+		return (int) (getCycleStep() % size);
 	}
 
-	public Optional<ITypedIngredient<?>> getCycledItem(List<Optional<ITypedIngredient<?>>> list) {
-		if (list.isEmpty()) {
-			return Optional.empty();
+	/**
+	 * @return the number of times this timer has cycled, for lists whose size is not known up front.
+	 */
+	public long getCycleStep() {
+		if (!started) {
+			return 0;
 		}
-		int index = (drawDuration / cycleTime) % list.size();
-		return list.get(index);
+		long drawDuration = CycleClock.getRunningTime() - startTime;
+		return drawDuration / cycleTime;
 	}
 
+	/**
+	 * Advances the shared {@link CycleClock} and starts the timer the first time it is drawn.
+	 */
 	public void onDraw() {
-		if (!Screen.hasShiftDown()) {
-			if (pausedDuration > 0) {
-				startTime += pausedDuration;
-				pausedDuration = 0;
-			}
-			drawDuration = Math.toIntExact(System.currentTimeMillis() - startTime);
-		} else {
-			long drawTime = startTime + drawDuration;
-			pausedDuration = Math.toIntExact(System.currentTimeMillis() - drawTime);
+		CycleClock.update();
+		if (!started) {
+			startTime = CycleClock.getRunningTime() - ((long) offset * cycleTime);
+			started = true;
 		}
 	}
 }
@@ -39,20 +39,37 @@ public class RecipeSlot implements IRecipeSlotView, IRecipeSlotDrawable {
 	private final RendererOverrides rendererOverrides;
 
 	/**
-	 * Displayed ingredients, taking focus into account.
+	 * Ingredients matching the focus, displayed instead of all ingredients when there are any.
 	 * {@link Optional#empty()} ingredients represent a "blank" drawn ingredient in the rotation.
 	 */
 	@Unmodifiable
 	@Nullable
-	private List<Optional<ITypedIngredient<?>>> displayIngredients = null;
+	private List<Optional<ITypedIngredient<?>>> focusedIngredients = null;
 
 	/**
 	 * All ingredients, ignoring focus
 	 * {@link Optional#empty()} ingredients represent a "blank" drawn ingredient in the rotation.
+	 *
+	 * This may be lazily validated, so it is only read as far as the display cycle needs.
 	 */
 	@Unmodifiable
 	private List<Optional<ITypedIngredient<?>>> allIngredients = List.of();
 
+	/**
+	 * The visible ingredients from {@link #allIngredients}, filtered up to {@link #visibleScanIndex}
+	 * as the display cycle reaches them, instead of all at once when the slot is first drawn.
+	 */
+	private final List<Optional<ITypedIngredient<?>>> visibleIngredients = new ArrayList<>();
+	private int visibleScanIndex = 0;
+	private boolean visibleScanComplete = false;
+
+	/**
+	 * The cycle step of {@link #displayedIngredient},
+	 * so the displayed ingredient only needs to be looked up again when the cycle moves on.
+	 */
+	private long displayedStep = -1;
+	private Optional<ITypedIngredient<?>> displayedIngredient = Optional.empty();
+
 	private ImmutableRect2i rect;
 	@Nullable
 	private IDrawable background;
@@ -95,20 +112,49 @@ public class RecipeSlot implements IRecipeSlotView, IRecipeSlotDrawable {
 
 	@Override
 	public Optional<ITypedIngredient<?>> getDisplayedIngredient() {
-		if (this.displayIngredients == null) {
-			IIngredientVisibility ingredientVisibility = Internal.getJeiRuntime().getIngredientVisibility();
-			this.displayIngredients = this.allIngredients.stream()
-				.filter(i -> i.isEmpty() || ingredientVisibility.isIngredientVisible(i.get()))
-				.limit(MAX_DISPLAYED_INGREDIENTS)
-				.toList();
+		long step = cycleTimer.getCycleStep();
+		if (step != this.displayedStep) {
+			this.displayedStep = step;
+			this.displayedIngredient = getDisplayedIngredient(step);
+		}
+		return this.displayedIngredient;
+	}
 
-			if (this.displayIngredients.isEmpty()) {
-				this.displayIngredients = this.allIngredients.stream()
-					.limit(MAX_DISPLAYED_INGREDIENTS)
-					.toList();
+	private Optional<ITypedIngredient<?>> getDisplayedIngredient(long step) {
+		if (this.focusedIngredients != null) {
+			int index = cycleTimer.getCycledIndex(this.focusedIngredients.size());
+			return index < 0 ? Optional.empty() : this.focusedIngredients.get(index);
+		}
+
+		scanVisibleIngredients(step);
+		if (!this.visibleIngredients.isEmpty()) {
+			// while the scan is incomplete, it has always found more than step ingredients
+			int index = (int) (step % this.visibleIngredients.size());
+			return this.visibleIngredients.get(index);
+		}
+
+		// nothing is visible, so display the hidden ingredients instead of nothing
+		int size = Math.min(this.allIngredients.size(), MAX_DISPLAYED_INGREDIENTS);
+		int index = cycleTimer.getCycledIndex(size);
+		return index < 0 ? Optional.empty() : this.allIngredients.get(index);
+	}
+
+	private void scanVisibleIngredients(long step) {
+		if (this.visibleScanComplete || step < this.visibleIngredients.size()) {
+			return;
+		}
+		IIngredientVisibility ingredientVisibility = Internal.getJeiRuntime().getIngredientVisibility();
+		while (step >= this.visibleIngredients.size()) {
+			if (this.visibleScanIndex >= this.allIngredients.size() ||
+				this.visibleIngredients.size() >= MAX_DISPLAYED_INGREDIENTS) {
+				this.visibleScanComplete = true;
+				return;
+			}
+			Optional<ITypedIngredient<?>> ingredient = this.allIngredients.get(this.visibleScanIndex++);
+			if (ingredient.isEmpty() || ingredientVisibility.isIngredientVisible(ingredient.get())) {
+				this.visibleIngredients.add(ingredient);
 			}
 		}
-		return cycleTimer.getCycledItem(this.displayIngredients);
 	}
 
 	@Override
@@ -175,17 +221,26 @@ public class RecipeSlot implements IRecipeSlotView, IRecipeSlotDrawable {
 		this.overlay = overlay;
 	}
 
-	public void set(List<Optional<ITypedIngredient<?>>> ingredients, Set<Integer> focusMatches) {
-		this.allIngredients = List.copyOf(ingredients);
+	/**
+	 * @param ingredients all ingredients for this slot, which must not be modified afterward.
+	 *                    It is not copied, so that lazily validated lists are only read as far as they are displayed.
+	 */
+	public void set(@Unmodifiable List<Optional<ITypedIngredient<?>>> ingredients, Set<Integer> focusMatches) {
+		this.allIngredients = ingredients;
 
 		if (!focusMatches.isEmpty()) {
-			this.displayIngredients = focusMatches.stream()
+			this.focusedIngredients = focusMatches.stream()
 				.filter(i -> i < this.allIngredients.size())
 				.map(i -> this.allIngredients.get(i))
 				.toList();
 		} else {
-			this.displayIngredients = null;
+			this.focusedIngredients = null;
 		}
+		this.visibleIngredients.clear();
+		this.visibleScanIndex = 0;
+		this.visibleScanComplete = false;
+		this.displayedStep = -1;
+		this.displayedIngredient = Optional.empty();
 	}
 
 	@Override
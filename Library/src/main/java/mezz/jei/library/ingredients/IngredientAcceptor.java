@@ -22,13 +22,9 @@ import net.minecraft.world.level.material.Fluid;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -37,24 +33,22 @@ public class IngredientAcceptor implements IIngredientAcceptor<IngredientAccepto
 	/**
 	 * A list of ingredients, including "blank" ingredients represented by {@link Optional#empty()}.
 	 * Blank ingredients are drawn as "nothing" in a rotation of ingredients, but aren't considered in lookups.
+	 *
+	 * Ingredient types are checked when they are added, but ingredients are only validated when they are read,
+	 * see {@link LazyTypedIngredientList}.
 	 */
-	private final List<Optional<ITypedIngredient<?>>> ingredients = new ArrayList<>();
-	private final Set<IIngredientType<?>> types = new HashSet<>();
+	private final LazyTypedIngredientList ingredients;
 
 	public IngredientAcceptor(IIngredientManager ingredientManager) {
 		this.ingredientManager = ingredientManager;
+		this.ingredients = new LazyTypedIngredientList(ingredientManager);
 	}
 
 	@Override
 	public IngredientAcceptor addIngredientsUnsafe(List<?> ingredients) {
 		Preconditions.checkNotNull(ingredients, "ingredients");
 
-		for (Object ingredient : ingredients) {
-			Optional<ITypedIngredient<?>> typedIngredient = TypedIngredient.createAndFilterInvalid(ingredientManager, ingredient, false);
-			typedIngredient.ifPresent(i -> this.types.add(i.getType()));
-
-			this.ingredients.add(typedIngredient);
-		}
+		this.ingredients.addBatchUnsafe(ingredients);
 
 		return this;
 	}
@@ -64,9 +58,7 @@ public class IngredientAcceptor implements IIngredientAcceptor<IngredientAccepto
 		ErrorUtil.checkNotNull(ingredientType, "ingredientType");
 		Preconditions.checkNotNull(ingredients, "ingredients");
 
-		for (T ingredient : ingredients) {
-			addIngredientInternal(ingredientType, ingredient);
-		}
+		this.ingredients.addBatch(ingredientType, ingredients);
 
 		return this;
 	}
@@ -102,9 +94,7 @@ public class IngredientAcceptor implements IIngredientAcceptor<IngredientAccepto
 	}
 
 	private <T> void addIngredientInternal(IIngredientType<T> ingredientType, @Nullable T ingredient) {
-		Optional<ITypedIngredient<T>> typedIngredient = TypedIngredient.createAndFilterInvalid(this.ingredientManager, ingredientType, ingredient, false);
-		typedIngredient.ifPresent(i -> this.types.add(i.getType()));
-		this.ingredients.add(typedIngredient.map(Function.identity()));
+		this.ingredients.addBatch(ingredientType, Collections.singletonList(ingredient));
 	}
 
 	public <T> Stream<T> getIngredients(IIngredientType<T> ingredientType) {
@@ -115,12 +105,12 @@ public class IngredientAcceptor implements IIngredientAcceptor<IngredientAccepto
 	}
 
 	public Stream<IIngredientType<?>> getIngredientTypes() {
-		return this.types.stream();
+		return this.ingredients.getTypes().stream();
 	}
 
 	@UnmodifiableView
 	public List<Optional<ITypedIngredient<?>>> getAllIngredients() {
-		return Collections.unmodifiableList(this.ingredients);
+		return this.ingredients;
 	}
 
 	public IntSet getMatches(IFocusGroup focusGroup, RecipeIngredientRole role) {
@@ -132,8 +122,7 @@ public class IngredientAcceptor implements IIngredientAcceptor<IngredientAccepto
 	}
 
 	private <T> IntStream getMatches(IFocus<T> focus) {
-		List<Optional<ITypedIngredient<?>>> ingredients = getAllIngredients();
-		if (ingredients.isEmpty()) {
+		if (this.ingredients.isEmpty()) {
 			return IntStream.empty();
 		}
 
@@ -143,15 +132,6 @@ public class IngredientAcceptor implements IIngredientAcceptor<IngredientAccepto
 		IIngredientHelper<T> ingredientHelper = this.ingredientManager.getIngredientHelper(ingredientType);
 		String focusUid = ingredientHelper.getUniqueId(focusIngredient, UidContext.Ingredient);
 
-		return IntStream.range(0, ingredients.size())
-			.filter(i ->
-				ingredients.get(i)
-					.flatMap(typedIngredient -> typedIngredient.getIngredient(ingredientType))
-					.map(ingredient -> {
-						String uniqueId = ingredientHelper.getUniqueId(ingredient, UidContext.Ingredient);
-						return focusUid.equals(uniqueId);
-					})
-					.orElse(false)
-			);
+		return this.ingredients.getMatches(ingredientType, ingredientHelper, focusUid);
 	}
 }
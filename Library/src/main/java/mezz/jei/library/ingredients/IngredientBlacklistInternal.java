@@ -6,13 +6,21 @@ import mezz.jei.api.ingredients.subtypes.UidContext;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.core.util.WeakList;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public class IngredientBlacklistInternal implements IIngredientManager.IIngredientListener {
 	public interface IListener {
 		<V> void onIngredientVisibilityChanged(ITypedIngredient<V> ingredient, boolean visible);
+
+		default <V> void onIngredientsVisibilityChanged(Collection<ITypedIngredient<V>> ingredients, boolean visible) {
+			for (ITypedIngredient<V> ingredient : ingredients) {
+				onIngredientVisibilityChanged(ingredient, visible);
+			}
+		}
 	}
 
 	private final Set<String> ingredientBlacklist = new HashSet<>();
@@ -51,19 +59,35 @@ public class IngredientBlacklistInternal implements IIngredientManager.IIngredie
 
 	@Override
 	public <V> void onIngredientsAdded(IIngredientHelper<V> ingredientHelper, Collection<ITypedIngredient<V>> ingredients) {
-		for (ITypedIngredient<V> ingredient : ingredients) {
-			removeIngredientFromBlacklist(ingredient, ingredientHelper);
+		List<ITypedIngredient<V>> changed = new ArrayList<>();
+		for (ITypedIngredient<V> typedIngredient : ingredients) {
+			String uniqueName = ingredientHelper.getUniqueId(typedIngredient.getIngredient(), UidContext.Ingredient);
+			if (ingredientBlacklist.remove(uniqueName)) {
+				changed.add(typedIngredient);
+			}
 		}
+		notifyListenersOfVisibilityChange(changed, true);
 	}
 
 	@Override
 	public <V> void onIngredientsRemoved(IIngredientHelper<V> ingredientHelper, Collection<ITypedIngredient<V>> ingredients) {
-		for (ITypedIngredient<V> ingredient : ingredients) {
-			addIngredientToBlacklist(ingredient, ingredientHelper);
+		List<ITypedIngredient<V>> changed = new ArrayList<>();
+		for (ITypedIngredient<V> typedIngredient : ingredients) {
+			String uniqueName = ingredientHelper.getUniqueId(typedIngredient.getIngredient(), UidContext.Ingredient);
+			if (ingredientBlacklist.add(uniqueName)) {
+				changed.add(typedIngredient);
+			}
 		}
+		notifyListenersOfVisibilityChange(changed, false);
 	}
 
 	private <T> void notifyListenersOfVisibilityChange(ITypedIngredient<T> ingredient, boolean visible) {
 		listeners.forEach(listener -> listener.onIngredientVisibilityChanged(ingredient, visible));
 	}
+
+	private <T> void notifyListenersOfVisibilityChange(List<ITypedIngredient<T>> ingredients, boolean visible) {
+		if (!ingredients.isEmpty()) {
+			listeners.forEach(listener -> listener.onIngredientsVisibilityChanged(ingredients, visible));
+		}
+	}
 }
@@ -3,6 +3,7 @@ package mezz.jei.library.ingredients;
 import mezz.jei.api.ingredients.IIngredientHelper;
 import mezz.jei.api.ingredients.IIngredientType;
 import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.ingredients.subtypes.UidContext;
 import mezz.jei.api.runtime.IEditModeConfig;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.api.runtime.IIngredientVisibility;
@@ -10,11 +11,14 @@ import mezz.jei.common.config.IClientToggleState;
 import mezz.jei.core.util.WeakList;
 import mezz.jei.library.config.EditModeConfig;
 
-public class IngredientVisibility implements IIngredientVisibility {
+import java.util.Collection;
+
+public class IngredientVisibility implements IIngredientVisibility, IngredientBlacklistInternal.IListener, EditModeConfig.IListener {
 	private final IngredientBlacklistInternal blacklist;
 	private final IClientToggleState toggleState;
 	private final IEditModeConfig editModeConfig;
 	private final IIngredientManager ingredientManager;
+	private final IngredientVisibilityIndex index = new IngredientVisibilityIndex();
 	private final WeakList<IListener> listeners = new WeakList<>();
 
 	public IngredientVisibility(
@@ -28,8 +32,8 @@ public class IngredientVisibility implements IIngredientVisibility {
 		this.editModeConfig = editModeConfig;
 		this.ingredientManager = ingredientManager;
 
-		blacklist.registerListener(this::notifyListenersOfVisibilityChange);
-		editModeConfig.registerListener(this::notifyListenersOfVisibilityChange);
+		blacklist.registerListener(this);
+		editModeConfig.registerListener(this);
 	}
 
 	@Override
@@ -48,16 +52,31 @@ public class IngredientVisibility implements IIngredientVisibility {
 	}
 
 	public <V> boolean isIngredientVisible(ITypedIngredient<V> typedIngredient, IIngredientHelper<V> ingredientHelper) {
+		V ingredient = typedIngredient.getIngredient();
+		IIngredientType<V> ingredientType = typedIngredient.getType();
+		String uid = ingredientHelper.getUniqueId(ingredient, UidContext.Ingredient);
+		int id = index.getId(ingredientType, uid);
+		if (id < 0) {
+			String wildcardUid = ingredientHelper.getWildcardId(ingredient);
+			id = index.addId(ingredientType, uid, wildcardUid);
+		}
+		if (!index.isComputed(id)) {
+			int version = index.getVersion();
+			boolean hidden = isIngredientHidden(typedIngredient, ingredientHelper);
+			boolean hiddenByConfig = editModeConfig.isIngredientHiddenUsingConfigFile(typedIngredient);
+			index.set(id, hidden, hiddenByConfig, version);
+		}
+		return index.isVisible(id, toggleState.isEditModeEnabled());
+	}
+
+	private <V> boolean isIngredientHidden(ITypedIngredient<V> typedIngredient, IIngredientHelper<V> ingredientHelper) {
 		if (blacklist.isIngredientBlacklistedByApi(typedIngredient, ingredientHelper)) {
-			return false;
+			return true;
 		}
 		if (!ingredientHelper.isIngredientOnServer(typedIngredient.getIngredient())) {
-			return false;
-		}
-		if (ingredientHelper.isHiddenFromRecipeViewersByTags(typedIngredient.getIngredient())) {
-			return false;
+			return true;
 		}
-		return toggleState.isEditModeEnabled() || !editModeConfig.isIngredientHiddenUsingConfigFile(typedIngredient);
+		return ingredientHelper.isHiddenFromRecipeViewersByTags(typedIngredient.getIngredient());
 	}
 
 	@Override
@@ -65,7 +84,25 @@ public class IngredientVisibility implements IIngredientVisibility {
 		this.listeners.add(listener);
 	}
 
-	private <T> void notifyListenersOfVisibilityChange(ITypedIngredient<T> ingredient, boolean visible) {
+	@Override
+	public <T> void onIngredientVisibilityChanged(ITypedIngredient<T> ingredient, boolean visible) {
+		invalidate(ingredient);
 		listeners.forEach(listener -> listener.onIngredientVisibilityChanged(ingredient, visible));
 	}
+
+	@Override
+	public <T> void onIngredientsVisibilityChanged(Collection<ITypedIngredient<T>> ingredients, boolean visible) {
+		for (ITypedIngredient<T> ingredient : ingredients) {
+			invalidate(ingredient);
+		}
+		listeners.forEach(listener -> listener.onIngredientsVisibilityChanged(ingredients, visible));
+	}
+
+	private <T> void invalidate(ITypedIngredient<T> ingredient) {
+		IIngredientType<T> ingredientType = ingredient.getType();
+		IIngredientHelper<T> ingredientHelper = ingredientManager.getIngredientHelper(ingredientType);
+		String uid = ingredientHelper.getUniqueId(ingredient.getIngredient(), UidContext.Ingredient);
+		String wildcardUid = ingredientHelper.getWildcardId(ingredient.getIngredient());
+		index.invalidate(ingredientType, uid, wildcardUid);
+	}
 }
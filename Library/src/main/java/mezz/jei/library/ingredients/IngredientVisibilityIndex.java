@@ -0,0 +1,122 @@
+package mezz.jei.library.ingredients;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import mezz.jei.api.ingredients.IIngredientType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the visibility of ingredients for {@link IngredientVisibility}.
+ *
+ * Each ingredient is given a dense id the first time it is checked, based on its type and unique id.
+ * The reasons an ingredient can be hidden are stored as bits for each id,
+ * and they are only computed again after they are invalidated by a blacklist or edit mode config change.
+ */
+final class IngredientVisibilityIndex {
+	private final Map<IIngredientType<?>, Object2IntMap<String>> ids = new IdentityHashMap<>();
+	private final Map<IIngredientType<?>, Map<String, IntList>> idsByWildcardUid = new IdentityHashMap<>();
+	private final BitSet computed = new BitSet();
+	/**
+	 * Hidden by the API blacklist, by tags, or because it is not on the server.
+	 */
+	private final BitSet hidden = new BitSet();
+	/**
+	 * Hidden by the edit mode config file, which only applies when edit mode is off.
+	 */
+	private final BitSet hiddenByConfig = new BitSet();
+	private int nextId;
+	/**
+	 * Incremented by every invalidation, so that visibility computed at the same time as an invalidation is not stored.
+	 */
+	private int version;
+
+	/**
+	 * @return the id of the ingredient, or -1 if it has not been added yet.
+	 */
+	public synchronized int getId(IIngredientType<?> ingredientType, String uid) {
+		Object2IntMap<String> typeIds = ids.get(ingredientType);
+		if (typeIds == null) {
+			return -1;
+		}
+		return typeIds.getInt(uid);
+	}
+
+	public synchronized int addId(IIngredientType<?> ingredientType, String uid, String wildcardUid) {
+		Object2IntMap<String> typeIds = ids.computeIfAbsent(ingredientType, k -> {
+			Object2IntMap<String> map = new Object2IntOpenHashMap<>();
+			map.defaultReturnValue(-1);
+			return map;
+		});
+		int id = typeIds.getInt(uid);
+		if (id < 0) {
+			id = nextId++;
+			typeIds.put(uid, id);
+			idsByWildcardUid.computeIfAbsent(ingredientType, k -> new HashMap<>())
+				.computeIfAbsent(wildcardUid, k -> new IntArrayList())
+				.add(id);
+		}
+		return id;
+	}
+
+	public synchronized int getVersion() {
+		return version;
+	}
+
+	public synchronized boolean isComputed(int id) {
+		return computed.get(id);
+	}
+
+	public synchronized void set(int id, boolean hidden, boolean hiddenByConfig, int version) {
+		this.hidden.set(id, hidden);
+		this.hiddenByConfig.set(id, hiddenByConfig);
+		if (this.version == version) {
+			this.computed.set(id);
+		}
+	}
+
+	public synchronized boolean isVisible(int id, boolean editModeEnabled) {
+		if (hidden.get(id)) {
+			return false;
+		}
+		return editModeEnabled || !hiddenByConfig.get(id);
+	}
+
+	/**
+	 * Invalidates the ingredient with the given unique id,
+	 * and every ingredient that can be hidden or shown along with it by its wildcard id.
+	 */
+	public synchronized void invalidate(IIngredientType<?> ingredientType, String uid, String wildcardUid) {
+		version++;
+
+		Object2IntMap<String> typeIds = ids.get(ingredientType);
+		if (typeIds != null) {
+			int id = typeIds.getInt(uid);
+			if (id >= 0) {
+				computed.clear(id);
+			}
+		}
+
+		Map<String, IntList> typeWildcardIds = idsByWildcardUid.get(ingredientType);
+		if (typeWildcardIds != null) {
+			invalidate(typeWildcardIds.get(wildcardUid));
+			if (!uid.equals(wildcardUid)) {
+				invalidate(typeWildcardIds.get(uid));
+			}
+		}
+	}
+
+	private void invalidate(@Nullable IntList groupIds) {
+		if (groupIds != null) {
+			for (int i = 0; i < groupIds.size(); i++) {
+				computed.clear(groupIds.getInt(i));
+			}
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package mezz.jei.library.ingredients;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import mezz.jei.api.ingredients.IIngredientHelper;
+import mezz.jei.api.ingredients.IIngredientType;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import mezz.jei.api.runtime.IIngredientManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * An unmodifiable view of the ingredients added to an {@link IngredientAcceptor}.
+ *
+ * Each ingredient's type is checked when it is added, but it is stored raw, in the batch it was added in,
+ * and only turned into a validated {@link ITypedIngredient} the first time it is read.
+ * This keeps adding large lists (like all the items in a tag) cheap when only a few of them are ever displayed.
+ */
+final class LazyTypedIngredientList extends AbstractList<Optional<ITypedIngredient<?>>> {
+	private static final Logger LOGGER = LogManager.getLogger();
+
+	private final IIngredientManager ingredientManager;
+	private final List<Batch> batches = new ArrayList<>();
+	private final IntArrayList batchStarts = new IntArrayList();
+	private final Set<IIngredientType<?>> types = new HashSet<>();
+	private int size;
+
+	@SuppressWarnings("unchecked")
+	private @Nullable Optional<ITypedIngredient<?>>[] materialized = new Optional[0];
+
+	public LazyTypedIngredientList(IIngredientManager ingredientManager) {
+		this.ingredientManager = ingredientManager;
+	}
+
+	/**
+	 * Adds ingredients that all have the given type.
+	 *
+	 * @throws IllegalArgumentException if an ingredient is not an instance of the type's ingredient class.
+	 */
+	public <T> void addBatch(IIngredientType<T> ingredientType, List<@Nullable T> ingredients) {
+		if (ingredients.isEmpty()) {
+			return;
+		}
+		boolean hasIngredient = false;
+		for (T ingredient : ingredients) {
+			if (ingredient != null) {
+				TypedIngredient.checkParameters(ingredientType, ingredient);
+				hasIngredient = true;
+			}
+		}
+		if (hasIngredient) {
+			types.add(ingredientType);
+		}
+		addBatch(new Batch(ingredients.toArray(), ingredientType, null));
+	}
+
+	/**
+	 * Adds ingredients of any registered type, looking up the type of each one.
+	 * Ingredients with no registered type are blank.
+	 */
+	public void addBatchUnsafe(List<?> ingredients) {
+		if (ingredients.isEmpty()) {
+			return;
+		}
+		Object[] ingredientArray = ingredients.toArray();
+		IIngredientType<?>[] ingredientTypes = new IIngredientType<?>[ingredientArray.length];
+		for (int i = 0; i < ingredientArray.length; i++) {
+			Object ingredient = ingredientArray[i];
+			if (ingredient != null) {
+				IIngredientType<?> ingredientType = ingredientManager.getIngredientTypeChecked(ingredient)
+					.orElse(null);
+				if (ingredientType != null) {
+					ingredientTypes[i] = ingredientType;
+					types.add(ingredientType);
+				}
+			}
+		}
+		addBatch(new Batch(ingredientArray, null, ingredientTypes));
+	}
+
+	private void addBatch(Batch batch) {
+		batches.add(batch);
+		batchStarts.add(size);
+		size += batch.ingredients.length;
+	}
+
+	/**
+	 * @return the types of the ingredients that were added, including ones that turn out to be invalid when they are read.
+	 */
+	@UnmodifiableView
+	public Set<IIngredientType<?>> getTypes() {
+		return Collections.unmodifiableSet(types);
+	}
+
+	/**
+	 * Finds the ingredients with the given unique id.
+	 * Only ingredients of the given type are validated, ingredients of other types are skipped without creating typed ingredients.
+	 */
+	public <T> IntStream getMatches(IIngredientType<T> ingredientType, IIngredientHelper<T> ingredientHelper, String uid) {
+		IntStream.Builder matches = IntStream.builder();
+		for (int b = 0; b < batches.size(); b++) {
+			Batch batch = batches.get(b);
+			int start = batchStarts.getInt(b);
+			for (int i = 0; i < batch.ingredients.length; i++) {
+				if (ingredientType.castIngredient(batch.ingredients[i]).isEmpty()) {
+					continue;
+				}
+				// blank (invalid) ingredients are not considered in lookups,
+				// and unique ids are only computed for ingredients that passed validation
+				Optional<T> ingredient = get(start + i)
+					.flatMap(typedIngredient -> typedIngredient.getIngredient(ingredientType));
+				if (ingredient.isPresent()) {
+					String ingredientUid = ingredientHelper.getUniqueId(ingredient.get(), UidContext.Ingredient);
+					if (uid.equals(ingredientUid)) {
+						matches.add(start + i);
+					}
+				}
+			}
+		}
+		return matches.build();
+	}
+
+	@Override
+	public Optional<ITypedIngredient<?>> get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		if (materialized.length < size) {
+			materialized = Arrays.copyOf(materialized, size);
+		}
+		Optional<ITypedIngredient<?>> typedIngredient = materialized[index];
+		if (typedIngredient == null) {
+			typedIngredient = materialize(index);
+			materialized[index] = typedIngredient;
+		}
+		return typedIngredient;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	private Optional<ITypedIngredient<?>> materialize(int index) {
+		int b = Arrays.binarySearch(batchStarts.elements(), 0, batchStarts.size(), index);
+		if (b < 0) {
+			b = -b - 2;
+		}
+		Batch batch = batches.get(b);
+		int i = index - batchStarts.getInt(b);
+		IIngredientType<?> ingredientType = batch.getType(i);
+		if (ingredientType == null) {
+			return Optional.empty();
+		}
+		return createAndFilterInvalid(ingredientType, batch.ingredients[i]);
+	}
+
+	/**
+	 * Ingredients that crash when they are validated are logged and displayed as blank,
+	 * instead of crashing while the recipe is being drawn.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Optional<ITypedIngredient<?>> createAndFilterInvalid(IIngredientType<T> ingredientType, @Nullable Object ingredient) {
+		// the ingredient's class was checked against the type when it was added
+		T castIngredient = (T) ingredient;
+		try {
+			return TypedIngredient.createAndFilterInvalid(ingredientManager, ingredientType, castIngredient, false)
+				.map(i -> i);
+		} catch (RuntimeException | LinkageError e) {
+			IIngredientHelper<T> ingredientHelper = ingredientManager.getIngredientHelper(ingredientType);
+			String ingredientInfo = ingredientHelper.getErrorInfo(castIngredient);
+			LOGGER.error("Failed to create a recipe ingredient, it will be displayed as blank. Ingredient Info: {}", ingredientInfo, e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * @param ingredientType the type of every ingredient in the batch, or null if each ingredient has its own type.
+	 * @param ingredientTypes the type of each ingredient, when the batch does not have a single type.
+	 */
+	private record Batch(
+		@Nullable Object[] ingredients,
+		@Nullable IIngredientType<?> ingredientType,
+		@Nullable IIngredientType<?>[] ingredientTypes
+	) {
+		public @Nullable IIngredientType<?> getType(int i) {
+			if (ingredientType != null) {
+				return ingredientType;
+			}
+			if (ingredientTypes != null) {
+				return ingredientTypes[i];
+			}
+			return null;
+		}
+	}
+}
@@ -19,9 +19,21 @@ public class RegisteredIngredients {
 	@Unmodifiable
 	private final Map<IIngredientType<?>, IngredientInfo<?>> typeToInfo;
 
-	/** for looking up types by ingredient class */
+	/** for looking up types by their exact ingredient class */
+	@Unmodifiable
 	private final Map<Class<?>, IIngredientType<?>> classToType;
 
+	/**
+	 * for looking up types by any ingredient class, including subclasses of the registered ones.
+	 * {@link ClassValue} computes each class's type once and is safe to use from any thread.
+	 */
+	private final ClassValue<Optional<IIngredientType<?>>> classToTypeCache = new ClassValue<>() {
+		@Override
+		protected Optional<IIngredientType<?>> computeValue(Class<?> ingredientClass) {
+			return findIngredientType(ingredientClass);
+		}
+	};
+
 	public RegisteredIngredients(List<IngredientInfo<?>> ingredientInfoList) {
 		this.orderedTypes = ingredientInfoList.stream()
 			.<IIngredientType<?>>map(IngredientInfo::getIngredientType)
@@ -31,7 +43,7 @@ public class RegisteredIngredients {
 			.collect(Collectors.toUnmodifiableMap(IngredientInfo::getIngredientType, Function.identity()));
 
 		this.classToType = this.orderedTypes.stream()
-			.collect(Collectors.toMap(IIngredientType::getIngredientClass, Function.identity()));
+			.collect(Collectors.toUnmodifiableMap(IIngredientType::getIngredientClass, Function.identity()));
 	}
 
 	public <V> IngredientInfo<V> getIngredientInfo(IIngredientType<V> ingredientType) {
@@ -58,17 +70,20 @@ public class RegisteredIngredients {
 
 	public <V> Optional<IIngredientType<V>> getIngredientType(Class<? extends V> ingredientClass) {
 		ErrorUtil.checkNotNull(ingredientClass, "ingredientClass");
+		Optional<IIngredientType<?>> ingredientType = this.classToTypeCache.get(ingredientClass);
 		@SuppressWarnings("unchecked")
-		IIngredientType<V> ingredientType = (IIngredientType<V>) this.classToType.get(ingredientClass);
+		Optional<IIngredientType<V>> castType = (Optional<IIngredientType<V>>) (Optional<?>) ingredientType;
+		return castType;
+	}
+
+	private Optional<IIngredientType<?>> findIngredientType(Class<?> ingredientClass) {
+		IIngredientType<?> ingredientType = this.classToType.get(ingredientClass);
 		if (ingredientType != null) {
 			return Optional.of(ingredientType);
 		}
 		for (IIngredientType<?> type : this.orderedTypes) {
 			if (type.getIngredientClass().isAssignableFrom(ingredientClass)) {
-				@SuppressWarnings("unchecked")
-				IIngredientType<V> castType = (IIngredientType<V>) type;
-				this.classToType.put(ingredientClass, castType);
-				return Optional.of(castType);
+				return Optional.of(type);
 			}
 		}
 		return Optional.empty();
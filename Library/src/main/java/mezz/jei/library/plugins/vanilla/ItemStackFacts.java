@@ -0,0 +1,132 @@
+package mezz.jei.library.plugins.vanilla;
+
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2FloatMap;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.common.platform.IPlatformItemStackHelper;
+import mezz.jei.common.platform.Services;
+import mezz.jei.common.util.ErrorUtil;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.ItemLike;
+import net.minecraft.world.level.block.ComposterBlock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-item facts needed by the vanilla recipe makers, collected in a single pass over all registered item stacks.
+ *
+ * Read-only: creating this only reads the registered item stacks and vanilla data,
+ * so it is safe to do on a background thread.
+ */
+public final class ItemStackFacts {
+	private static final Logger LOGGER = LogManager.getLogger();
+
+	private final @Unmodifiable List<ItemStack> fuels;
+	private final int[] burnTimes;
+	private final @Unmodifiable List<ItemStack> compostables;
+	private final float[] compostChances;
+	private final @Unmodifiable List<ItemStack> enchantables;
+
+	public static ItemStackFacts create(IIngredientManager ingredientManager) {
+		IPlatformItemStackHelper itemStackHelper = Services.PLATFORM.getItemStackHelper();
+		Object2FloatMap<ItemLike> compostableChances = ComposterBlock.COMPOSTABLES;
+		Collection<ItemStack> itemStacks = ingredientManager.getAllItemStacks();
+
+		List<ItemStack> fuels = new ArrayList<>();
+		IntArrayList burnTimes = new IntArrayList();
+		List<ItemStack> compostables = new ArrayList<>();
+		FloatArrayList compostChances = new FloatArrayList();
+		List<ItemStack> enchantables = new ArrayList<>();
+
+		for (ItemStack itemStack : itemStacks) {
+			int burnTime = itemStackHelper.getBurnTime(itemStack);
+			if (burnTime > 0) {
+				fuels.add(itemStack);
+				burnTimes.add(burnTime);
+			}
+
+			float compostChance = compostableChances.getOrDefault(itemStack.getItem(), 0);
+			if (compostChance > 0) {
+				compostables.add(itemStack);
+				compostChances.add(compostChance);
+			}
+
+			if (isEnchantable(itemStack)) {
+				enchantables.add(itemStack);
+			}
+		}
+
+		return new ItemStackFacts(
+			fuels,
+			burnTimes.toIntArray(),
+			compostables,
+			compostChances.toFloatArray(),
+			enchantables
+		);
+	}
+
+	private static boolean isEnchantable(ItemStack itemStack) {
+		try {
+			return itemStack.isEnchantable();
+		} catch (RuntimeException e) {
+			String stackInfo = ErrorUtil.getItemStackInfo(itemStack);
+			LOGGER.error("Failed to check if item is enchantable: {}", stackInfo, e);
+			return false;
+		}
+	}
+
+	private ItemStackFacts(
+		List<ItemStack> fuels,
+		int[] burnTimes,
+		List<ItemStack> compostables,
+		float[] compostChances,
+		List<ItemStack> enchantables
+	) {
+		this.fuels = List.copyOf(fuels);
+		this.burnTimes = burnTimes;
+		this.compostables = List.copyOf(compostables);
+		this.compostChances = compostChances;
+		this.enchantables = List.copyOf(enchantables);
+	}
+
+	/**
+	 * @return the number of item stacks that can be burned as fuel.
+	 */
+	public int getFuelCount() {
+		return fuels.size();
+	}
+
+	public ItemStack getFuel(int index) {
+		return fuels.get(index);
+	}
+
+	public int getBurnTime(int index) {
+		return burnTimes[index];
+	}
+
+	/**
+	 * @return the number of item stacks that can be composted.
+	 */
+	public int getCompostableCount() {
+		return compostables.size();
+	}
+
+	public ItemStack getCompostable(int index) {
+		return compostables.get(index);
+	}
+
+	public float getCompostChance(int index) {
+		return compostChances[index];
+	}
+
+	@Unmodifiable
+	public List<ItemStack> getEnchantables() {
+		return enchantables;
+	}
+}
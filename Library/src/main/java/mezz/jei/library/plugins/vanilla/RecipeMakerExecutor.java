@@ -0,0 +1,76 @@
+package mezz.jei.library.plugins.vanilla;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent vanilla recipe makers concurrently on a small bounded pool.
+ *
+ * Only makers that follow the read-only contract may be submitted here:
+ * they must only read from registries, the {@link mezz.jei.api.runtime.IIngredientManager}
+ * and other data that does not change while recipes are being registered,
+ * and they must not call into {@link mezz.jei.api.registration.IRecipeRegistration}.
+ * Results are joined on the calling thread, so recipes are still registered in a deterministic order.
+ */
+final class RecipeMakerExecutor implements AutoCloseable {
+	private static final int MAX_THREADS = 4;
+
+	private final ExecutorService executor;
+
+	public RecipeMakerExecutor() {
+		int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+		this.executor = Executors.newFixedThreadPool(threads, new RecipeMakerThreadFactory());
+	}
+
+	public <T> CompletableFuture<T> submit(Supplier<T> recipeMaker) {
+		return CompletableFuture.supplyAsync(recipeMaker, executor);
+	}
+
+	/**
+	 * Runs a recipe maker on the pool once the input it depends on is ready.
+	 */
+	public <T, R> CompletableFuture<R> then(CompletableFuture<T> input, Function<T, R> recipeMaker) {
+		return input.thenApplyAsync(recipeMaker, executor);
+	}
+
+	/**
+	 * Waits for the result of a recipe maker.
+	 * Errors are rethrown unwrapped, so they are reported the same way as if the maker had run on this thread.
+	 */
+	public static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+
+	private static final class RecipeMakerThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "JEI Vanilla Recipe Maker " + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -17,6 +17,7 @@ import mezz.jei.api.recipe.category.extensions.vanilla.crafting.IExtendableCraft
 import mezz.jei.api.recipe.transfer.IRecipeTransferHandlerHelper;
 import mezz.jei.api.recipe.vanilla.IJeiBrewingRecipe;
 import mezz.jei.api.recipe.vanilla.IVanillaRecipeFactory;
+import mezz.jei.api.registration.IAdvancedRegistration;
 import mezz.jei.api.registration.IGuiHandlerRegistration;
 import mezz.jei.api.registration.IModInfoRegistration;
 import mezz.jei.api.registration.IModIngredientRegistration;
@@ -27,6 +28,7 @@ import mezz.jei.api.registration.IRecipeTransferRegistration;
 import mezz.jei.api.registration.ISubtypeRegistration;
 import mezz.jei.api.registration.IVanillaCategoryExtensionRegistration;
 import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.api.runtime.IJeiRuntime;
 import mezz.jei.common.Internal;
 import mezz.jei.common.gui.textures.Textures;
 import mezz.jei.common.platform.IPlatformFluidHelperInternal;
@@ -35,6 +37,7 @@ import mezz.jei.common.platform.Services;
 import mezz.jei.common.util.ErrorUtil;
 import mezz.jei.common.util.RegistryUtil;
 import mezz.jei.common.util.StackHelper;
+import mezz.jei.library.plugins.vanilla.anvil.AnvilEnchantmentRecipeManagerPlugin;
 import mezz.jei.library.plugins.vanilla.anvil.AnvilRecipeCategory;
 import mezz.jei.library.plugins.vanilla.anvil.AnvilRecipeMaker;
 import mezz.jei.library.plugins.vanilla.anvil.SmithingRecipeCategory;
@@ -50,6 +53,7 @@ import mezz.jei.library.plugins.vanilla.cooking.fuel.FuelRecipeMaker;
 import mezz.jei.library.plugins.vanilla.cooking.fuel.FurnaceFuelCategory;
 import mezz.jei.library.plugins.vanilla.crafting.CraftingCategoryExtension;
 import mezz.jei.library.plugins.vanilla.crafting.CraftingRecipeCategory;
+import mezz.jei.library.plugins.vanilla.crafting.IngredientItemsCache;
 import mezz.jei.library.plugins.vanilla.crafting.VanillaRecipes;
 import mezz.jei.library.plugins.vanilla.crafting.replacers.ShieldDecorationRecipeMaker;
 import mezz.jei.library.plugins.vanilla.crafting.replacers.ShulkerBoxColoringRecipeMaker;
@@ -140,6 +144,11 @@ public class VanillaPlugin implements IModPlugin {
 	private IRecipeCategory<RecipeHolder<CampfireCookingRecipe>> campfireCategory;
 	@Nullable
 	private IRecipeCategory<RecipeHolder<SmithingRecipe>> smithingCategory;
+	@Nullable
+	private ItemStackFacts itemStackFacts;
+	@Nullable
+	private AnvilEnchantmentRecipeManagerPlugin anvilEnchantmentRecipeManagerPlugin;
+	private final IngredientItemsCache ingredientItemsCache = new IngredientItemsCache();
 
 	@Override
 	public ResourceLocation getPluginUid() {
@@ -214,11 +223,11 @@ public class VanillaPlugin implements IModPlugin {
 		IGuiHelper guiHelper = jeiHelpers.getGuiHelper();
 		registration.addRecipeCategories(
 			craftingCategory = new CraftingRecipeCategory(guiHelper),
-			stonecuttingCategory = new StoneCuttingRecipeCategory(guiHelper),
-			furnaceCategory = new FurnaceSmeltingCategory(guiHelper),
-			smokingCategory = new SmokingCategory(guiHelper),
-			blastingCategory = new BlastingCategory(guiHelper),
-			campfireCategory = new CampfireCookingCategory(guiHelper),
+			stonecuttingCategory = new StoneCuttingRecipeCategory(guiHelper, ingredientItemsCache),
+			furnaceCategory = new FurnaceSmeltingCategory(guiHelper, ingredientItemsCache),
+			smokingCategory = new SmokingCategory(guiHelper, ingredientItemsCache),
+			blastingCategory = new BlastingCategory(guiHelper, ingredientItemsCache),
+			campfireCategory = new CampfireCookingCategory(guiHelper, ingredientItemsCache),
 			smithingCategory = new SmithingRecipeCategory(guiHelper),
 			new CompostableRecipeCategory(guiHelper),
 			new FurnaceFuelCategory(guiHelper, textures),
@@ -230,7 +239,7 @@ public class VanillaPlugin implements IModPlugin {
 	@Override
 	public void registerVanillaCategoryExtensions(IVanillaCategoryExtensionRegistration registration) {
 		IExtendableCraftingRecipeCategory craftingCategory = registration.getCraftingCategory();
-		craftingCategory.addExtension(CraftingRecipe.class, new CraftingCategoryExtension());
+		craftingCategory.addExtension(CraftingRecipe.class, new CraftingCategoryExtension(ingredientItemsCache));
 	}
 
 	@Override
@@ -247,34 +256,52 @@ public class VanillaPlugin implements IModPlugin {
 		IVanillaRecipeFactory vanillaRecipeFactory = registration.getVanillaRecipeFactory();
 		IJeiHelpers jeiHelpers = registration.getJeiHelpers();
 		IStackHelper stackHelper = jeiHelpers.getStackHelper();
-		VanillaRecipes vanillaRecipes = new VanillaRecipes(ingredientManager);
-
-		var craftingRecipes = vanillaRecipes.getCraftingRecipes(craftingCategory);
-		var handledCraftingRecipes = craftingRecipes.get(true);
-		var unhandledCraftingRecipes = craftingRecipes.get(false);
-		var specialCraftingRecipes = replaceSpecialCraftingRecipes(unhandledCraftingRecipes, stackHelper);
-
-		registration.addRecipes(RecipeTypes.CRAFTING, handledCraftingRecipes);
-		registration.addRecipes(RecipeTypes.CRAFTING, specialCraftingRecipes);
-
-		registration.addRecipes(RecipeTypes.STONECUTTING, vanillaRecipes.getStonecuttingRecipes(stonecuttingCategory));
-		registration.addRecipes(RecipeTypes.SMELTING, vanillaRecipes.getFurnaceRecipes(furnaceCategory));
-		registration.addRecipes(RecipeTypes.SMOKING, vanillaRecipes.getSmokingRecipes(smokingCategory));
-		registration.addRecipes(RecipeTypes.BLASTING, vanillaRecipes.getBlastingRecipes(blastingCategory));
-		registration.addRecipes(RecipeTypes.CAMPFIRE_COOKING, vanillaRecipes.getCampfireCookingRecipes(campfireCategory));
-		registration.addRecipes(RecipeTypes.FUELING, FuelRecipeMaker.getFuelRecipes(ingredientManager));
-		registration.addRecipes(RecipeTypes.ANVIL, AnvilRecipeMaker.getAnvilRecipes(vanillaRecipeFactory, ingredientManager));
-		registration.addRecipes(RecipeTypes.SMITHING, vanillaRecipes.getSmithingRecipes(smithingCategory));
-		registration.addRecipes(RecipeTypes.COMPOSTING, CompostingRecipeMaker.getRecipes(ingredientManager));
 
 		Minecraft minecraft = Minecraft.getInstance();
 		ClientLevel level = minecraft.level;
 		ErrorUtil.checkNotNull(level, "minecraft.level");
 		PotionBrewing potionBrewing = level.potionBrewing();
 		IPlatformRecipeHelper recipeHelper = Services.PLATFORM.getRecipeHelper();
-		List<IJeiBrewingRecipe> brewingRecipes = recipeHelper.getBrewingRecipes(ingredientManager, vanillaRecipeFactory, potionBrewing);
-		brewingRecipes.sort(Comparator.comparingInt(IJeiBrewingRecipe::getBrewingSteps));
-		registration.addRecipes(RecipeTypes.BREWING, brewingRecipes);
+
+		ingredientItemsCache.start();
+		try (RecipeMakerExecutor executor = new RecipeMakerExecutor()) {
+			// these makers follow the read-only contract of RecipeMakerExecutor, and run while the
+			// RecipeManager based makers below run on this thread
+			var itemStackFactsFuture = executor.submit(() -> ItemStackFacts.create(ingredientManager));
+			var fuelRecipes = executor.then(itemStackFactsFuture, FuelRecipeMaker::getFuelRecipes);
+			var anvilRecipes = executor.submit(() -> AnvilRecipeMaker.getRepairRecipes(vanillaRecipeFactory, ingredientManager));
+			var compostingRecipes = executor.then(itemStackFactsFuture, facts -> CompostingRecipeMaker.getRecipes(ingredientManager, facts));
+			var brewingRecipes = executor.submit(() -> {
+				List<IJeiBrewingRecipe> recipes = recipeHelper.getBrewingRecipes(ingredientManager, vanillaRecipeFactory, potionBrewing);
+				recipes.sort(Comparator.comparingInt(IJeiBrewingRecipe::getBrewingSteps));
+				return recipes;
+			});
+
+			VanillaRecipes vanillaRecipes = new VanillaRecipes(ingredientManager, ingredientItemsCache);
+
+			var craftingRecipes = vanillaRecipes.getCraftingRecipes(craftingCategory);
+			var handledCraftingRecipes = craftingRecipes.get(true);
+			var unhandledCraftingRecipes = craftingRecipes.get(false);
+			var specialCraftingRecipes = replaceSpecialCraftingRecipes(unhandledCraftingRecipes, stackHelper);
+
+			registration.addRecipes(RecipeTypes.CRAFTING, handledCraftingRecipes);
+			registration.addRecipes(RecipeTypes.CRAFTING, specialCraftingRecipes);
+
+			registration.addRecipes(RecipeTypes.STONECUTTING, vanillaRecipes.getStonecuttingRecipes(stonecuttingCategory));
+			registration.addRecipes(RecipeTypes.SMELTING, vanillaRecipes.getFurnaceRecipes(furnaceCategory));
+			registration.addRecipes(RecipeTypes.SMOKING, vanillaRecipes.getSmokingRecipes(smokingCategory));
+			registration.addRecipes(RecipeTypes.BLASTING, vanillaRecipes.getBlastingRecipes(blastingCategory));
+			registration.addRecipes(RecipeTypes.CAMPFIRE_COOKING, vanillaRecipes.getCampfireCookingRecipes(campfireCategory));
+			registration.addRecipes(RecipeTypes.FUELING, RecipeMakerExecutor.join(fuelRecipes));
+			registration.addRecipes(RecipeTypes.ANVIL, RecipeMakerExecutor.join(anvilRecipes));
+			registration.addRecipes(RecipeTypes.SMITHING, vanillaRecipes.getSmithingRecipes(smithingCategory));
+			registration.addRecipes(RecipeTypes.COMPOSTING, RecipeMakerExecutor.join(compostingRecipes));
+			registration.addRecipes(RecipeTypes.BREWING, RecipeMakerExecutor.join(brewingRecipes));
+
+			this.itemStackFacts = RecipeMakerExecutor.join(itemStackFactsFuture);
+		} finally {
+			ingredientItemsCache.stop();
+		}
 	}
 
 	@Override
@@ -328,6 +355,35 @@ public class VanillaPlugin implements IModPlugin {
 		registration.addRecipeCatalyst(new ItemStack(Blocks.COMPOSTER), RecipeTypes.COMPOSTING);
 	}
 
+	@Override
+	public void registerAdvanced(IAdvancedRegistration registration) {
+		IJeiHelpers jeiHelpers = registration.getJeiHelpers();
+		IIngredientManager ingredientManager = jeiHelpers.getIngredientManager();
+		IVanillaRecipeFactory vanillaRecipeFactory = new VanillaRecipeFactory(ingredientManager);
+		this.itemStackFacts = null;
+		this.anvilEnchantmentRecipeManagerPlugin = new AnvilEnchantmentRecipeManagerPlugin(vanillaRecipeFactory, ingredientManager, this::getEnchantables);
+		registration.addRecipeManagerPlugin(this.anvilEnchantmentRecipeManagerPlugin);
+	}
+
+	@Override
+	public void onRuntimeAvailable(IJeiRuntime jeiRuntime) {
+		if (anvilEnchantmentRecipeManagerPlugin != null) {
+			anvilEnchantmentRecipeManagerPlugin.setRecipeManager(jeiRuntime.getRecipeManager());
+		}
+	}
+
+	@Override
+	public void onRuntimeUnavailable() {
+		if (anvilEnchantmentRecipeManagerPlugin != null) {
+			anvilEnchantmentRecipeManagerPlugin.setRecipeManager(null);
+		}
+	}
+
+	private List<ItemStack> getEnchantables() {
+		ErrorUtil.checkNotNull(itemStackFacts, "itemStackFacts");
+		return itemStackFacts.getEnchantables();
+	}
+
 	public Optional<CraftingRecipeCategory> getCraftingCategory() {
 		return Optional.ofNullable(craftingCategory);
 	}
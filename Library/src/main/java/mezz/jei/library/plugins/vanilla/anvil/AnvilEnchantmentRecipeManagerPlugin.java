@@ -0,0 +1,324 @@
+package mezz.jei.library.plugins.vanilla.anvil;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import mezz.jei.api.constants.RecipeTypes;
+import mezz.jei.api.constants.VanillaTypes;
+import mezz.jei.api.ingredients.IIngredientHelper;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import mezz.jei.api.recipe.IFocus;
+import mezz.jei.api.recipe.IRecipeManager;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.recipe.advanced.IRecipeManagerPlugin;
+import mezz.jei.api.recipe.category.IRecipeCategory;
+import mezz.jei.api.recipe.vanilla.IJeiAnvilRecipe;
+import mezz.jei.api.recipe.vanilla.IVanillaRecipeFactory;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.common.platform.IPlatformItemStackHelper;
+import mezz.jei.common.platform.Services;
+import mezz.jei.core.util.function.LazySupplier;
+import mezz.jei.library.plugins.vanilla.anvil.AnvilRecipeMaker.EnchantmentData;
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraft.world.item.enchantment.EnchantmentHelper;
+import net.minecraft.world.item.enchantment.ItemEnchantments;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the anvil enchantment recipes on demand for the focused item or enchanted book.
+ *
+ * There is one enchantment recipe for every enchantable item and every enchantment that can be applied to it,
+ * which is far too many to create and index eagerly in large mod packs.
+ * Instead, the item/enchantment compatibility tables are computed the first time they are needed,
+ * and recipes are only created for the items that are actually looked up.
+ */
+public class AnvilEnchantmentRecipeManagerPlugin implements IRecipeManagerPlugin {
+	private final IVanillaRecipeFactory vanillaRecipeFactory;
+	private final IIngredientHelper<ItemStack> ingredientHelper;
+	private final LazySupplier<CompatibilityTables> tables;
+	private @Nullable IRecipeManager recipeManager;
+	private @Nullable Set<String> catalystUids;
+
+	/**
+	 * @param enchantables supplies all the enchantable item stacks, it is only called the first time a recipe is looked up.
+	 */
+	public AnvilEnchantmentRecipeManagerPlugin(
+		IVanillaRecipeFactory vanillaRecipeFactory,
+		IIngredientManager ingredientManager,
+		Supplier<List<ItemStack>> enchantables
+	) {
+		this.vanillaRecipeFactory = vanillaRecipeFactory;
+		this.ingredientHelper = ingredientManager.getIngredientHelper(VanillaTypes.ITEM_STACK);
+		this.tables = new LazySupplier<>(() -> new CompatibilityTables(enchantables.get(), ingredientHelper));
+	}
+
+	@Override
+	public <V> List<RecipeType<?>> getRecipeTypes(IFocus<V> focus) {
+		Optional<ItemStack> itemStack = getItemStack(focus);
+		if (itemStack.isEmpty()) {
+			return List.of();
+		}
+		ItemStack ingredient = itemStack.get();
+		CompatibilityTables tables = this.tables.get();
+		boolean hasRecipes = switch (focus.getRole()) {
+			case INPUT -> tables.hasRecipesForItem(getUid(ingredient)) || tables.hasRecipesForBook(ingredient);
+			case OUTPUT -> tables.hasRecipesForItem(getUid(ingredient));
+			default -> false;
+		};
+		if (hasRecipes) {
+			return List.of(RecipeTypes.ANVIL);
+		}
+		return List.of();
+	}
+
+	@Override
+	public <T, V> List<T> getRecipes(IRecipeCategory<T> recipeCategory, IFocus<V> focus) {
+		RecipeType<T> recipeType = recipeCategory.getRecipeType();
+		if (!RecipeTypes.ANVIL.equals(recipeType)) {
+			return List.of();
+		}
+		RecipeIngredientRole role = focus.getRole();
+		Optional<ItemStack> itemStack = getItemStack(focus);
+		if (itemStack.isEmpty()) {
+			return List.of();
+		}
+		ItemStack ingredient = itemStack.get();
+		if (role == RecipeIngredientRole.CATALYST) {
+			// every "uses" lookup also asks for catalyst recipes, so only anvil catalysts get all the recipes
+			if (isCatalyst(ingredient)) {
+				return getRecipes(recipeCategory);
+			}
+			return List.of();
+		}
+		CompatibilityTables tables = this.tables.get();
+		List<IJeiAnvilRecipe> recipes = new ArrayList<>();
+		int itemIndex = tables.getItemIndex(getUid(ingredient));
+		if (itemIndex >= 0 && (role == RecipeIngredientRole.INPUT || role == RecipeIngredientRole.OUTPUT)) {
+			recipes.addAll(tables.getRecipesForItem(itemIndex));
+		}
+		if (role == RecipeIngredientRole.INPUT) {
+			recipes.addAll(tables.getRecipesForBook(ingredient));
+		}
+		@SuppressWarnings("unchecked")
+		List<T> castRecipes = (List<T>) recipes;
+		return castRecipes;
+	}
+
+	@Override
+	public <T> List<T> getRecipes(IRecipeCategory<T> recipeCategory) {
+		RecipeType<T> recipeType = recipeCategory.getRecipeType();
+		if (!RecipeTypes.ANVIL.equals(recipeType)) {
+			return List.of();
+		}
+		CompatibilityTables tables = this.tables.get();
+		List<IJeiAnvilRecipe> recipes = new ArrayList<>();
+		for (int itemIndex = 0; itemIndex < tables.getItemCount(); itemIndex++) {
+			recipes.addAll(tables.getRecipesForItem(itemIndex));
+		}
+		@SuppressWarnings("unchecked")
+		List<T> castRecipes = (List<T>) recipes;
+		return castRecipes;
+	}
+
+	/**
+	 * Catalysts can be registered by any plugin, so they are looked up once the runtime is available.
+	 */
+	public void setRecipeManager(@Nullable IRecipeManager recipeManager) {
+		this.recipeManager = recipeManager;
+		this.catalystUids = null;
+	}
+
+	private boolean isCatalyst(ItemStack itemStack) {
+		Set<String> catalystUids = this.catalystUids;
+		if (catalystUids == null) {
+			if (recipeManager == null) {
+				return false;
+			}
+			catalystUids = recipeManager.createRecipeCatalystLookup(RecipeTypes.ANVIL)
+				.includeHidden()
+				.getItemStack()
+				.map(this::getUid)
+				.collect(Collectors.toUnmodifiableSet());
+			this.catalystUids = catalystUids;
+		}
+		return catalystUids.contains(getUid(itemStack));
+	}
+
+	private static <V> Optional<ItemStack> getItemStack(IFocus<V> focus) {
+		return focus.checkedCast(VanillaTypes.ITEM_STACK)
+			.map(f -> f.getTypedValue().getIngredient());
+	}
+
+	private String getUid(ItemStack itemStack) {
+		return ingredientHelper.getUniqueId(itemStack, UidContext.Recipe);
+	}
+
+	private final class CompatibilityTables {
+		private final List<ItemStack> enchantables;
+		private final Map<String, Integer> itemIndexes;
+		private final List<EnchantmentData> enchantmentDatas;
+		private final Map<ResourceKey<Enchantment>, Integer> enchantmentIndexes;
+		/**
+		 * For each enchantable item, the sorted indexes of the enchantments that can be applied to it.
+		 */
+		private final int[][] itemToEnchantments;
+		/**
+		 * For each enchantment, the sorted indexes of the enchantable items it can be applied to.
+		 */
+		private final int[][] enchantmentToItems;
+		/**
+		 * Recipes are created the first time an item is looked up, and cached so that
+		 * recipe identity stays stable for hiding and bookmarking.
+		 */
+		private final @Nullable List<IJeiAnvilRecipe>[] recipeCache;
+
+		@SuppressWarnings("unchecked")
+		public CompatibilityTables(List<ItemStack> enchantables, IIngredientHelper<ItemStack> ingredientHelper) {
+			this.enchantables = enchantables;
+			this.enchantmentDatas = AnvilRecipeMaker.getEnchantmentDatas();
+
+			this.itemIndexes = new HashMap<>(enchantables.size());
+			for (int i = 0; i < enchantables.size(); i++) {
+				String uid = ingredientHelper.getUniqueId(enchantables.get(i), UidContext.Recipe);
+				itemIndexes.putIfAbsent(uid, i);
+			}
+
+			this.enchantmentIndexes = new HashMap<>(enchantmentDatas.size());
+			for (int i = 0; i < enchantmentDatas.size(); i++) {
+				Holder<Enchantment> enchantment = enchantmentDatas.get(i).getEnchantment();
+				int index = i;
+				enchantment.unwrapKey()
+					.ifPresent(key -> enchantmentIndexes.put(key, index));
+			}
+
+			IntArrayList[] enchantmentToItemLists = new IntArrayList[enchantmentDatas.size()];
+			for (int e = 0; e < enchantmentToItemLists.length; e++) {
+				enchantmentToItemLists[e] = new IntArrayList();
+			}
+			this.itemToEnchantments = new int[enchantables.size()][];
+			IntArrayList compatible = new IntArrayList();
+			for (int i = 0; i < enchantables.size(); i++) {
+				ItemStack ingredient = enchantables.get(i);
+				compatible.clear();
+				for (int e = 0; e < enchantmentDatas.size(); e++) {
+					if (enchantmentDatas.get(e).isCompatible(ingredient)) {
+						compatible.add(e);
+						enchantmentToItemLists[e].add(i);
+					}
+				}
+				itemToEnchantments[i] = compatible.toIntArray();
+			}
+
+			this.enchantmentToItems = new int[enchantmentDatas.size()][];
+			for (int e = 0; e < enchantmentToItemLists.length; e++) {
+				enchantmentToItems[e] = enchantmentToItemLists[e].toIntArray();
+			}
+
+			this.recipeCache = new List[enchantables.size()];
+		}
+
+		public int getItemCount() {
+			return enchantables.size();
+		}
+
+		public int getItemIndex(String uid) {
+			Integer index = itemIndexes.get(uid);
+			if (index == null) {
+				return -1;
+			}
+			return index;
+		}
+
+		public boolean hasRecipesForItem(String uid) {
+			int itemIndex = getItemIndex(uid);
+			return itemIndex >= 0 && itemToEnchantments[itemIndex].length > 0;
+		}
+
+		public List<IJeiAnvilRecipe> getRecipesForItem(int itemIndex) {
+			List<IJeiAnvilRecipe> recipes = recipeCache[itemIndex];
+			if (recipes == null) {
+				int[] enchantmentIndexes = itemToEnchantments[itemIndex];
+				IJeiAnvilRecipe[] created = new IJeiAnvilRecipe[enchantmentIndexes.length];
+				for (int i = 0; i < enchantmentIndexes.length; i++) {
+					created[i] = createRecipe(itemIndex, enchantmentIndexes[i]);
+				}
+				recipes = Arrays.asList(created);
+				recipeCache[itemIndex] = recipes;
+			}
+			return recipes;
+		}
+
+		public boolean hasRecipesForBook(ItemStack enchantedBook) {
+			int enchantmentIndex = getBookEnchantmentIndex(enchantedBook);
+			if (enchantmentIndex < 0) {
+				return false;
+			}
+			IPlatformItemStackHelper itemStackHelper = Services.PLATFORM.getItemStackHelper();
+			for (int itemIndex : enchantmentToItems[enchantmentIndex]) {
+				if (itemStackHelper.isBookEnchantable(enchantables.get(itemIndex), enchantedBook)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		public List<IJeiAnvilRecipe> getRecipesForBook(ItemStack enchantedBook) {
+			int enchantmentIndex = getBookEnchantmentIndex(enchantedBook);
+			if (enchantmentIndex < 0) {
+				return List.of();
+			}
+			IPlatformItemStackHelper itemStackHelper = Services.PLATFORM.getItemStackHelper();
+			List<IJeiAnvilRecipe> recipes = new ArrayList<>();
+			for (int itemIndex : enchantmentToItems[enchantmentIndex]) {
+				if (itemStackHelper.isBookEnchantable(enchantables.get(itemIndex), enchantedBook)) {
+					int position = Arrays.binarySearch(itemToEnchantments[itemIndex], enchantmentIndex);
+					IJeiAnvilRecipe recipe = getRecipesForItem(itemIndex).get(position);
+					recipes.add(recipe);
+				}
+			}
+			return recipes;
+		}
+
+		/**
+		 * Enchanted books with exactly one enchantment are the right-hand input of enchantment recipes.
+		 * Returns -1 for anything else.
+		 */
+		private int getBookEnchantmentIndex(ItemStack itemStack) {
+			if (!itemStack.is(Items.ENCHANTED_BOOK)) {
+				return -1;
+			}
+			ItemEnchantments enchantments = EnchantmentHelper.getEnchantmentsForCrafting(itemStack);
+			if (enchantments.size() != 1) {
+				return -1;
+			}
+			Holder<Enchantment> enchantment = enchantments.keySet().iterator().next();
+			int level = enchantments.getLevel(enchantment);
+			if (level < 1 || level > enchantment.value().getMaxLevel()) {
+				return -1;
+			}
+			return enchantment.unwrapKey()
+				.map(enchantmentIndexes::get)
+				.orElse(-1);
+		}
+
+		private IJeiAnvilRecipe createRecipe(int itemIndex, int enchantmentIndex) {
+			ItemStack ingredient = enchantables.get(itemIndex);
+			EnchantmentData enchantmentData = enchantmentDatas.get(enchantmentIndex);
+			List<ItemStack> enchantedBooks = enchantmentData.getEnchantedBooks(ingredient);
+			return AnvilRecipeMaker.createEnchantmentRecipe(vanillaRecipeFactory, ingredientHelper, ingredient, enchantedBooks);
+		}
+	}
+}
@@ -43,24 +43,31 @@ public final class AnvilRecipeMaker {
 	private AnvilRecipeMaker() {
 	}
 
-	public static List<IJeiAnvilRecipe> getAnvilRecipes(IVanillaRecipeFactory vanillaRecipeFactory, IIngredientManager ingredientManager) {
+	/**
+	 * Enchantment recipes are not created here, they are generated on demand by
+	 * {@link AnvilEnchantmentRecipeManagerPlugin} because there are too many of them to index eagerly.
+	 *
+	 * Read-only: this only creates new stacks from vanilla repair materials, so it is safe to run on a background thread.
+	 */
+	public static List<IJeiAnvilRecipe> getRepairRecipes(IVanillaRecipeFactory vanillaRecipeFactory, IIngredientManager ingredientManager) {
 		IIngredientHelper<ItemStack> ingredientHelper = ingredientManager.getIngredientHelper(VanillaTypes.ITEM_STACK);
-		return Stream.concat(
-				getRepairRecipes(vanillaRecipeFactory, ingredientHelper),
-				getBookEnchantmentRecipes(vanillaRecipeFactory, ingredientManager, ingredientHelper)
-			)
+		return getRepairRecipes(vanillaRecipeFactory, ingredientHelper)
 			.toList();
 	}
 
-	private static final class EnchantmentData {
+	static final class EnchantmentData {
 		private final Holder<Enchantment> enchantment;
 		private final List<ItemStack> enchantedBooks;
 
-		private EnchantmentData(Holder<Enchantment> enchantment) {
+		EnchantmentData(Holder<Enchantment> enchantment) {
 			this.enchantment = enchantment;
 			this.enchantedBooks = getEnchantedBooks(enchantment);
 		}
 
+		public Holder<Enchantment> getEnchantment() {
+			return enchantment;
+		}
+
 		public List<ItemStack> getEnchantedBooks(ItemStack ingredient) {
 			IPlatformItemStackHelper itemStackHelper = Services.PLATFORM.getItemStackHelper();
 			return enchantedBooks.stream()
@@ -68,6 +75,19 @@ public final class AnvilRecipeMaker {
 				.toList();
 		}
 
+		public boolean isCompatible(ItemStack ingredient) {
+			if (!canEnchant(ingredient)) {
+				return false;
+			}
+			IPlatformItemStackHelper itemStackHelper = Services.PLATFORM.getItemStackHelper();
+			for (ItemStack enchantedBook : enchantedBooks) {
+				if (itemStackHelper.isBookEnchantable(ingredient, enchantedBook)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
 		private boolean canEnchant(ItemStack ingredient) {
 			try {
 				return enchantment.value().canEnchant(ingredient);
@@ -91,40 +111,25 @@ public final class AnvilRecipeMaker {
 		}
 	}
 
-	private static Stream<IJeiAnvilRecipe> getBookEnchantmentRecipes(
-		IVanillaRecipeFactory vanillaRecipeFactory,
-		IIngredientManager ingredientManager,
-		IIngredientHelper<ItemStack> ingredientHelper
-	) {
+	static List<EnchantmentData> getEnchantmentDatas() {
 		Registry<Enchantment> registry = RegistryUtil.getRegistry(Registries.ENCHANTMENT);
-		List<EnchantmentData> enchantmentDatas = registry.holders()
+		return registry.holders()
 			.map(EnchantmentData::new)
 			.toList();
-
-		return ingredientManager.getAllItemStacks()
-			.stream()
-			.filter(ItemStack::isEnchantable)
-			.flatMap(ingredient -> getBookEnchantmentRecipes(vanillaRecipeFactory, enchantmentDatas, ingredientHelper, ingredient));
 	}
 
-	private static Stream<IJeiAnvilRecipe> getBookEnchantmentRecipes(
+	static IJeiAnvilRecipe createEnchantmentRecipe(
 		IVanillaRecipeFactory vanillaRecipeFactory,
-		List<EnchantmentData> enchantmentDatas,
 		IIngredientHelper<ItemStack> ingredientHelper,
-		ItemStack ingredient
+		ItemStack ingredient,
+		List<ItemStack> enchantedBooks
 	) {
-		return enchantmentDatas.stream()
-			.filter(data -> data.canEnchant(ingredient))
-			.map(data -> data.getEnchantedBooks(ingredient))
-			.filter(enchantedBooks -> !enchantedBooks.isEmpty())
-			.map(enchantedBooks -> {
-				List<ItemStack> outputs = getEnchantedIngredients(ingredient, enchantedBooks);
-				String ingredientId = ingredientHelper.getUniqueId(ingredient, UidContext.Recipe);
-				String ingredientIdPath = ResourceLocationUtil.sanitizePath(ingredientId);
-				String id = "enchantment." + ingredientIdPath;
-				ResourceLocation uid = ResourceLocation.fromNamespaceAndPath(ModIds.MINECRAFT_ID, id);
-				return vanillaRecipeFactory.createAnvilRecipe(ingredient, enchantedBooks, outputs, uid);
-			});
+		List<ItemStack> outputs = getEnchantedIngredients(ingredient, enchantedBooks);
+		String ingredientId = ingredientHelper.getUniqueId(ingredient, UidContext.Recipe);
+		String ingredientIdPath = ResourceLocationUtil.sanitizePath(ingredientId);
+		String id = "enchantment." + ingredientIdPath;
+		ResourceLocation uid = ResourceLocation.fromNamespaceAndPath(ModIds.MINECRAFT_ID, id);
+		return vanillaRecipeFactory.createAnvilRecipe(ingredient, enchantedBooks, outputs, uid);
 	}
 
 	private static List<ItemStack> getEnchantedIngredients(ItemStack ingredient, List<ItemStack> enchantedBooks) {
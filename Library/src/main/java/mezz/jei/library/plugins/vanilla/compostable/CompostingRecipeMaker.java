@@ -1,43 +1,38 @@
 package mezz.jei.library.plugins.vanilla.compostable;
 
-import it.unimi.dsi.fastutil.objects.Object2FloatMap;
 import mezz.jei.api.constants.ModIds;
 import mezz.jei.api.constants.VanillaTypes;
 import mezz.jei.api.ingredients.IIngredientHelper;
 import mezz.jei.api.ingredients.subtypes.UidContext;
 import mezz.jei.api.recipe.vanilla.IJeiCompostingRecipe;
 import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.library.plugins.vanilla.ItemStackFacts;
 import mezz.jei.library.util.ResourceLocationUtil;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.ItemLike;
-import net.minecraft.world.level.block.ComposterBlock;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
 public class CompostingRecipeMaker {
-	public static List<IJeiCompostingRecipe> getRecipes(IIngredientManager ingredientManager) {
-		Object2FloatMap<ItemLike> compostables = ComposterBlock.COMPOSTABLES;
-		Collection<ItemStack> allIngredients = ingredientManager.getAllItemStacks();
+	/**
+	 * Read-only: this only reads the compost chances collected by {@link ItemStackFacts},
+	 * so it is safe to run on a background thread.
+	 */
+	public static List<IJeiCompostingRecipe> getRecipes(IIngredientManager ingredientManager, ItemStackFacts itemStackFacts) {
 		IIngredientHelper<ItemStack> ingredientHelper = ingredientManager.getIngredientHelper(VanillaTypes.ITEM_STACK);
 
-		return allIngredients.stream()
-			.<IJeiCompostingRecipe>mapMulti((itemStack, consumer) -> {
-				Item item = itemStack.getItem();
-				float compostValue = compostables.getOrDefault(item, 0);
-				if (compostValue > 0) {
-					String ingredientUid = ingredientHelper.getUniqueId(itemStack, UidContext.Recipe);
-					String ingredientUidPath = ResourceLocationUtil.sanitizePath(ingredientUid);
-					ResourceLocation recipeUid = ResourceLocation.fromNamespaceAndPath(ModIds.JEI_ID, ingredientUidPath);
-					CompostingRecipe recipe = new CompostingRecipe(itemStack, compostValue, recipeUid);
-					consumer.accept(recipe);
-				}
-			})
-			.limit(compostables.size())
-			.sorted(Comparator.comparingDouble(IJeiCompostingRecipe::getChance))
-			.toList();
+		int compostableCount = itemStackFacts.getCompostableCount();
+		List<IJeiCompostingRecipe> recipes = new ArrayList<>(compostableCount);
+		for (int i = 0; i < compostableCount; i++) {
+			ItemStack itemStack = itemStackFacts.getCompostable(i);
+			String ingredientUid = ingredientHelper.getUniqueId(itemStack, UidContext.Recipe);
+			String ingredientUidPath = ResourceLocationUtil.sanitizePath(ingredientUid);
+			ResourceLocation recipeUid = ResourceLocation.fromNamespaceAndPath(ModIds.JEI_ID, ingredientUidPath);
+			recipes.add(new CompostingRecipe(itemStack, itemStackFacts.getCompostChance(i), recipeUid));
+		}
+		recipes.sort(Comparator.comparingDouble(IJeiCompostingRecipe::getChance));
+		return recipes;
 	}
 }
@@ -11,6 +11,7 @@ import mezz.jei.api.gui.ingredient.IRecipeSlotsView;
 import mezz.jei.api.helpers.IGuiHelper;
 import mezz.jei.api.recipe.IFocusGroup;
 import mezz.jei.common.Constants;
+import mezz.jei.library.plugins.vanilla.crafting.IngredientItemsCache;
 import mezz.jei.library.util.RecipeUtil;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
@@ -30,9 +31,11 @@ public abstract class AbstractCookingCategory<T extends AbstractCookingRecipe> e
 	private final IDrawable icon;
 	private final Component localizedName;
 	private final LoadingCache<Integer, IDrawableAnimated> cachedArrows;
+	protected final IngredientItemsCache ingredientItemsCache;
 
-	public AbstractCookingCategory(IGuiHelper guiHelper, Block icon, String translationKey, int regularCookTime) {
+	public AbstractCookingCategory(IGuiHelper guiHelper, IngredientItemsCache ingredientItemsCache, Block icon, String translationKey, int regularCookTime) {
 		super(guiHelper);
+		this.ingredientItemsCache = ingredientItemsCache;
 		this.background = guiHelper.createDrawable(Constants.RECIPE_GUI_VANILLA, 0, 114, 82, 54);
 		this.regularCookTime = regularCookTime;
 		this.icon = guiHelper.createDrawableItemStack(new ItemStack(icon));
@@ -113,7 +116,7 @@ public abstract class AbstractCookingCategory<T extends AbstractCookingRecipe> e
 		T recipe = recipeHolder.value();
 
 		builder.addSlot(INPUT, 1, 1)
-			.addIngredients(recipe.getIngredients().getFirst());
+			.addItemStacks(ingredientItemsCache.getItems(recipe.getIngredients().getFirst()));
 
 		builder.addSlot(OUTPUT, 61, 19)
 			.addItemStack(RecipeUtil.getResultItem(recipe));
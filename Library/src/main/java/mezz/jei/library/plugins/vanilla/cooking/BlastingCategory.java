@@ -7,10 +7,11 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.item.crafting.BlastingRecipe;
 
 import mezz.jei.api.helpers.IGuiHelper;
+import mezz.jei.library.plugins.vanilla.crafting.IngredientItemsCache;
 
 public class BlastingCategory extends AbstractCookingCategory<BlastingRecipe> {
-	public BlastingCategory(IGuiHelper guiHelper) {
-		super(guiHelper, Blocks.BLAST_FURNACE, "gui.jei.category.blasting", 100);
+	public BlastingCategory(IGuiHelper guiHelper, IngredientItemsCache ingredientItemsCache) {
+		super(guiHelper, ingredientItemsCache, Blocks.BLAST_FURNACE, "gui.jei.category.blasting", 100);
 	}
 
 	@Override
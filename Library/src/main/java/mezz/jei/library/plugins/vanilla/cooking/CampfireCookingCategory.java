@@ -7,6 +7,7 @@ import mezz.jei.api.gui.drawable.IDrawable;
 import mezz.jei.api.gui.drawable.IDrawableAnimated;
 import mezz.jei.api.gui.ingredient.IRecipeSlotsView;
 import mezz.jei.api.helpers.IGuiHelper;
+import mezz.jei.library.plugins.vanilla.crafting.IngredientItemsCache;
 import mezz.jei.api.recipe.IFocusGroup;
 import mezz.jei.api.recipe.RecipeIngredientRole;
 import mezz.jei.api.recipe.RecipeType;
@@ -19,8 +20,8 @@ import net.minecraft.world.level.block.Blocks;
 public class CampfireCookingCategory extends AbstractCookingCategory<CampfireCookingRecipe> {
 	private final IDrawable background;
 
-	public CampfireCookingCategory(IGuiHelper guiHelper) {
-		super(guiHelper, Blocks.CAMPFIRE, "gui.jei.category.campfire", 400);
+	public CampfireCookingCategory(IGuiHelper guiHelper, IngredientItemsCache ingredientItemsCache) {
+		super(guiHelper, ingredientItemsCache, Blocks.CAMPFIRE, "gui.jei.category.campfire", 400);
 		background = guiHelper.drawableBuilder(Constants.RECIPE_GUI_VANILLA, 0, 186, 82, 34)
 			.addPadding(0, 10, 0, 0)
 			.build();
@@ -48,7 +49,7 @@ public class CampfireCookingCategory extends AbstractCookingCategory<CampfireCoo
 	public void setRecipe(IRecipeLayoutBuilder builder, RecipeHolder<CampfireCookingRecipe> recipeHolder, IFocusGroup focuses) {
 		CampfireCookingRecipe recipe = recipeHolder.value();
 		builder.addSlot(RecipeIngredientRole.INPUT, 1, 1)
-			.addIngredients(recipe.getIngredients().getFirst());
+			.addItemStacks(ingredientItemsCache.getItems(recipe.getIngredients().getFirst()));
 
 		builder.addSlot(RecipeIngredientRole.OUTPUT, 61, 9)
 			.addItemStack(RecipeUtil.getResultItem(recipe));
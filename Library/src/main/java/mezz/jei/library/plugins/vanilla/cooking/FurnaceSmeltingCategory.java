@@ -7,10 +7,11 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.item.crafting.SmeltingRecipe;
 
 import mezz.jei.api.helpers.IGuiHelper;
+import mezz.jei.library.plugins.vanilla.crafting.IngredientItemsCache;
 
 public class FurnaceSmeltingCategory extends AbstractCookingCategory<SmeltingRecipe> {
-	public FurnaceSmeltingCategory(IGuiHelper guiHelper) {
-		super(guiHelper, Blocks.FURNACE, "gui.jei.category.smelting", 200);
+	public FurnaceSmeltingCategory(IGuiHelper guiHelper, IngredientItemsCache ingredientItemsCache) {
+		super(guiHelper, ingredientItemsCache, Blocks.FURNACE, "gui.jei.category.smelting", 200);
 	}
 
 	@Override
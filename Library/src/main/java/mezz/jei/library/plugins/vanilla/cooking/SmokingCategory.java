@@ -7,10 +7,11 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.item.crafting.SmokingRecipe;
 
 import mezz.jei.api.helpers.IGuiHelper;
+import mezz.jei.library.plugins.vanilla.crafting.IngredientItemsCache;
 
 public class SmokingCategory extends AbstractCookingCategory<SmokingRecipe> {
-	public SmokingCategory(IGuiHelper guiHelper) {
-		super(guiHelper, Blocks.SMOKER, "gui.jei.category.smoking", 100);
+	public SmokingCategory(IGuiHelper guiHelper, IngredientItemsCache ingredientItemsCache) {
+		super(guiHelper, ingredientItemsCache, Blocks.SMOKER, "gui.jei.category.smoking", 100);
 	}
 
 	@Override
@@ -1,10 +1,9 @@
 package mezz.jei.library.plugins.vanilla.cooking.fuel;
 
 import mezz.jei.api.recipe.vanilla.IJeiFuelingRecipe;
-import mezz.jei.api.runtime.IIngredientManager;
-import mezz.jei.common.platform.IPlatformItemStackHelper;
-import mezz.jei.common.platform.Services;
+import mezz.jei.library.plugins.vanilla.ItemStackFacts;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -13,16 +12,17 @@ public final class FuelRecipeMaker {
 	private FuelRecipeMaker() {
 	}
 
-	public static List<IJeiFuelingRecipe> getFuelRecipes(IIngredientManager ingredientManager) {
-		IPlatformItemStackHelper itemStackHelper = Services.PLATFORM.getItemStackHelper();
-		return ingredientManager.getAllItemStacks().stream()
-			.<IJeiFuelingRecipe>mapMulti((stack, consumer) -> {
-				int burnTime = itemStackHelper.getBurnTime(stack);
-				if (burnTime > 0) {
-					consumer.accept(new FuelingRecipe(List.of(stack), burnTime));
-				}
-			})
-			.sorted(Comparator.comparingInt(IJeiFuelingRecipe::getBurnTime))
-			.toList();
+	/**
+	 * Read-only: this only reads the burn times collected by {@link ItemStackFacts},
+	 * so it is safe to run on a background thread.
+	 */
+	public static List<IJeiFuelingRecipe> getFuelRecipes(ItemStackFacts itemStackFacts) {
+		int fuelCount = itemStackFacts.getFuelCount();
+		List<IJeiFuelingRecipe> recipes = new ArrayList<>(fuelCount);
+		for (int i = 0; i < fuelCount; i++) {
+			recipes.add(new FuelingRecipe(List.of(itemStackFacts.getFuel(i)), itemStackFacts.getBurnTime(i)));
+		}
+		recipes.sort(Comparator.comparingInt(IJeiFuelingRecipe::getBurnTime));
+		return recipes;
 	}
 }
@@ -18,11 +18,18 @@ public final class CategoryRecipeValidator<T extends Recipe<?>> {
 	private static final int INVALID_COUNT = -1;
 	private final IRecipeCategory<RecipeHolder<T>> recipeCategory;
 	private final IIngredientManager ingredientManager;
+	private final IngredientItemsCache ingredientItemsCache;
 	private final int maxInputs;
 
-	public CategoryRecipeValidator(IRecipeCategory<RecipeHolder<T>> recipeCategory, IIngredientManager ingredientManager, int maxInputs) {
+	public CategoryRecipeValidator(
+		IRecipeCategory<RecipeHolder<T>> recipeCategory,
+		IIngredientManager ingredientManager,
+		IngredientItemsCache ingredientItemsCache,
+		int maxInputs
+	) {
 		this.recipeCategory = recipeCategory;
 		this.ingredientManager = ingredientManager;
+		this.ingredientItemsCache = ingredientItemsCache;
 		this.maxInputs = maxInputs;
 	}
 
@@ -79,12 +86,10 @@ public final class CategoryRecipeValidator<T extends Recipe<?>> {
 		return true;
 	}
 
-	@SuppressWarnings("ConstantConditions")
-	private static int getInputCount(List<Ingredient> ingredientList) {
+	private int getInputCount(List<Ingredient> ingredientList) {
 		int inputCount = 0;
 		for (Ingredient ingredient : ingredientList) {
-			ItemStack[] input = ingredient.getItems();
-			if (input == null) {
+			if (!ingredientItemsCache.isValid(ingredient)) {
 				return INVALID_COUNT;
 			} else {
 				inputCount++;
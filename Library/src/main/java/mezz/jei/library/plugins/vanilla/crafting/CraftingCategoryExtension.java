@@ -15,11 +15,17 @@ import java.util.List;
 import java.util.Optional;
 
 public class CraftingCategoryExtension implements ICraftingCategoryExtension<CraftingRecipe> {
+	private final IngredientItemsCache ingredientItemsCache;
+
+	public CraftingCategoryExtension(IngredientItemsCache ingredientItemsCache) {
+		this.ingredientItemsCache = ingredientItemsCache;
+	}
+
 	@Override
 	public void setRecipe(RecipeHolder<CraftingRecipe> recipeHolder, IRecipeLayoutBuilder builder, ICraftingGridHelper craftingGridHelper, IFocusGroup focuses) {
 		CraftingRecipe recipe = recipeHolder.value();
 		List<List<ItemStack>> inputs = recipe.getIngredients().stream()
-			.map(ingredient -> List.of(ingredient.getItems()))
+			.map(ingredientItemsCache::getItems)
 			.toList();
 		ItemStack resultItem = RecipeUtil.getResultItem(recipe);
 
@@ -0,0 +1,70 @@
+package mezz.jei.library.plugins.vanilla.crafting;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches the item stacks that vanilla {@link Ingredient}s expand to, while the vanilla recipes are being registered.
+ *
+ * Many recipes share the same Ingredient instances (tag ingredients especially), so this lets recipe validation
+ * and the recipe layouts built for indexing expand each of them only once.
+ * Outside of recipe registration the cache is inactive and every call computes its result directly.
+ */
+public final class IngredientItemsCache {
+	private static final List<ItemStack> INVALID = Collections.unmodifiableList(Arrays.asList(new ItemStack[0]));
+
+	private @Nullable Map<Ingredient, List<ItemStack>> cache;
+
+	public void start() {
+		this.cache = new IdentityHashMap<>();
+	}
+
+	public void stop() {
+		this.cache = null;
+	}
+
+	/**
+	 * @return false if the ingredient does not expand to a valid list of item stacks.
+	 */
+	public boolean isValid(Ingredient ingredient) {
+		return getCachedItems(ingredient) != INVALID;
+	}
+
+	@Unmodifiable
+	public List<ItemStack> getItems(Ingredient ingredient) {
+		List<ItemStack> items = getCachedItems(ingredient);
+		if (items == INVALID) {
+			return List.of(ingredient.getItems());
+		}
+		return items;
+	}
+
+	private List<ItemStack> getCachedItems(Ingredient ingredient) {
+		if (cache == null) {
+			return expand(ingredient);
+		}
+		return cache.computeIfAbsent(ingredient, IngredientItemsCache::expand);
+	}
+
+	@SuppressWarnings("ConstantConditions")
+	private static List<ItemStack> expand(Ingredient ingredient) {
+		ItemStack[] items = ingredient.getItems();
+		if (items == null) {
+			return INVALID;
+		}
+		for (ItemStack item : items) {
+			if (item == null) {
+				return INVALID;
+			}
+		}
+		return List.of(items);
+	}
+}
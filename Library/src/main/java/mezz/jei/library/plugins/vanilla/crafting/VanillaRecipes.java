@@ -25,18 +25,20 @@ import java.util.Map;
 public final class VanillaRecipes {
 	private final RecipeManager recipeManager;
 	private final IIngredientManager ingredientManager;
+	private final IngredientItemsCache ingredientItemsCache;
 
-	public VanillaRecipes(IIngredientManager ingredientManager) {
+	public VanillaRecipes(IIngredientManager ingredientManager, IngredientItemsCache ingredientItemsCache) {
 		Minecraft minecraft = Minecraft.getInstance();
 		ErrorUtil.checkNotNull(minecraft, "minecraft");
 		ClientLevel world = minecraft.level;
 		ErrorUtil.checkNotNull(world, "minecraft world");
 		this.recipeManager = world.getRecipeManager();
 		this.ingredientManager = ingredientManager;
+		this.ingredientItemsCache = ingredientItemsCache;
 	}
 
 	public Map<Boolean, List<RecipeHolder<CraftingRecipe>>> getCraftingRecipes(IRecipeCategory<RecipeHolder<CraftingRecipe>> craftingCategory) {
-		var validator = new CategoryRecipeValidator<>(craftingCategory, ingredientManager, 9);
+		var validator = new CategoryRecipeValidator<>(craftingCategory, ingredientManager, ingredientItemsCache, 9);
 
 		List<RecipeHolder<CraftingRecipe>> handled = new ArrayList<>();
 		List<RecipeHolder<CraftingRecipe>> unhandled = new ArrayList<>();
@@ -58,32 +60,32 @@ public final class VanillaRecipes {
 	}
 
 	public List<RecipeHolder<StonecutterRecipe>> getStonecuttingRecipes(IRecipeCategory<RecipeHolder<StonecutterRecipe>> stonecuttingCategory) {
-		var validator = new CategoryRecipeValidator<>(stonecuttingCategory, ingredientManager, 1);
+		var validator = new CategoryRecipeValidator<>(stonecuttingCategory, ingredientManager, ingredientItemsCache, 1);
 		return getValidHandledRecipes(recipeManager, RecipeType.STONECUTTING, validator);
 	}
 
 	public List<RecipeHolder<SmeltingRecipe>> getFurnaceRecipes(IRecipeCategory<RecipeHolder<SmeltingRecipe>> furnaceCategory) {
-		CategoryRecipeValidator<SmeltingRecipe> validator = new CategoryRecipeValidator<>(furnaceCategory, ingredientManager, 1);
+		CategoryRecipeValidator<SmeltingRecipe> validator = new CategoryRecipeValidator<>(furnaceCategory, ingredientManager, ingredientItemsCache, 1);
 		return getValidHandledRecipes(recipeManager, RecipeType.SMELTING, validator);
 	}
 
 	public List<RecipeHolder<SmokingRecipe>> getSmokingRecipes(IRecipeCategory<RecipeHolder<SmokingRecipe>> smokingCategory) {
-		CategoryRecipeValidator<SmokingRecipe> validator = new CategoryRecipeValidator<>(smokingCategory, ingredientManager, 1);
+		CategoryRecipeValidator<SmokingRecipe> validator = new CategoryRecipeValidator<>(smokingCategory, ingredientManager, ingredientItemsCache, 1);
 		return getValidHandledRecipes(recipeManager, RecipeType.SMOKING, validator);
 	}
 
 	public List<RecipeHolder<BlastingRecipe>> getBlastingRecipes(IRecipeCategory<RecipeHolder<BlastingRecipe>> blastingCategory) {
-		CategoryRecipeValidator<BlastingRecipe> validator = new CategoryRecipeValidator<>(blastingCategory, ingredientManager, 1);
+		CategoryRecipeValidator<BlastingRecipe> validator = new CategoryRecipeValidator<>(blastingCategory, ingredientManager, ingredientItemsCache, 1);
 		return getValidHandledRecipes(recipeManager, RecipeType.BLASTING, validator);
 	}
 
 	public List<RecipeHolder<CampfireCookingRecipe>> getCampfireCookingRecipes(IRecipeCategory<RecipeHolder<CampfireCookingRecipe>> campfireCategory) {
-		CategoryRecipeValidator<CampfireCookingRecipe> validator = new CategoryRecipeValidator<>(campfireCategory, ingredientManager, 1);
+		CategoryRecipeValidator<CampfireCookingRecipe> validator = new CategoryRecipeValidator<>(campfireCategory, ingredientManager, ingredientItemsCache, 1);
 		return getValidHandledRecipes(recipeManager, RecipeType.CAMPFIRE_COOKING, validator);
 	}
 
 	public List<RecipeHolder<SmithingRecipe>> getSmithingRecipes(IRecipeCategory<RecipeHolder<SmithingRecipe>> smithingCategory) {
-		CategoryRecipeValidator<SmithingRecipe> validator = new CategoryRecipeValidator<>(smithingCategory, ingredientManager, 0);
+		CategoryRecipeValidator<SmithingRecipe> validator = new CategoryRecipeValidator<>(smithingCategory, ingredientManager, ingredientItemsCache, 0);
 		return getValidHandledRecipes(recipeManager, RecipeType.SMITHING, validator);
 	}
 
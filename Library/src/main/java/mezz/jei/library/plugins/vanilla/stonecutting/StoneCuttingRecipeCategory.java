@@ -16,6 +16,7 @@ import net.minecraft.resources.ResourceLocation;
 import mezz.jei.api.gui.drawable.IDrawable;
 import mezz.jei.api.helpers.IGuiHelper;
 import mezz.jei.common.Constants;
+import mezz.jei.library.plugins.vanilla.crafting.IngredientItemsCache;
 import net.minecraft.network.chat.Component;
 
 public class StoneCuttingRecipeCategory implements IRecipeCategory<RecipeHolder<StonecutterRecipe>> {
@@ -25,8 +26,10 @@ public class StoneCuttingRecipeCategory implements IRecipeCategory<RecipeHolder<
 	private final IDrawable background;
 	private final IDrawable icon;
 	private final Component localizedName;
+	private final IngredientItemsCache ingredientItemsCache;
 
-	public StoneCuttingRecipeCategory(IGuiHelper guiHelper) {
+	public StoneCuttingRecipeCategory(IGuiHelper guiHelper, IngredientItemsCache ingredientItemsCache) {
+		this.ingredientItemsCache = ingredientItemsCache;
 		ResourceLocation location = Constants.RECIPE_GUI_VANILLA;
 		background = guiHelper.createDrawable(location, 0, 220, width, height);
 		icon = guiHelper.createDrawableItemStack(new ItemStack(Blocks.STONECUTTER));
@@ -58,7 +61,7 @@ public class StoneCuttingRecipeCategory implements IRecipeCategory<RecipeHolder<
 		StonecutterRecipe recipe = recipeHolder.value();
 
 		builder.addSlot(RecipeIngredientRole.INPUT, 1, 9)
-			.addIngredients(recipe.getIngredients().getFirst());
+			.addItemStacks(ingredientItemsCache.getItems(recipe.getIngredients().getFirst()));
 
 		builder.addSlot(RecipeIngredientRole.OUTPUT, 61,  9)
 			.addItemStack(RecipeUtil.getResultItem(recipe));
@@ -110,7 +110,7 @@ public class RecipeManager implements IRecipeManager {
 	@Override
 	public IRecipeSlotDrawable createRecipeSlotDrawable(RecipeIngredientRole role, List<Optional<ITypedIngredient<?>>> ingredients, Set<Integer> focusedIngredients, int xPos, int yPos, int ingredientCycleOffset) {
 		RecipeSlot recipeSlot = new RecipeSlot(role, xPos, yPos, ingredientCycleOffset);
-		recipeSlot.set(ingredients, focusedIngredients);
+		recipeSlot.set(List.copyOf(ingredients), focusedIngredients);
 		return recipeSlot;
 	}
 
@@ -21,6 +21,7 @@ import mezz.jei.common.platform.Services;
 import mezz.jei.common.util.ErrorUtil;
 import mezz.jei.core.util.LoggedTimer;
 import mezz.jei.library.color.ColorHelper;
+import mezz.jei.library.color.SpritePaletteCache;
 import mezz.jei.library.config.ColorNameConfig;
 import mezz.jei.library.config.EditModeConfig;
 import mezz.jei.library.config.ModIdFormatConfig;
@@ -54,6 +55,7 @@ public final class JeiStarter {
 	private final ModIdFormatConfig modIdFormatConfig;
 	private final ColorNameConfig colorNameConfig;
 	private final RecipeCategorySortingConfig recipeCategorySortingConfig;
+	private final SpritePaletteCache spritePaletteCache;
 	@SuppressWarnings("FieldCanBeLocal")
 	private final FileWatcher fileWatcher = new FileWatcher("JEI Config File Watcher");
 	private final ConfigManager configManager;
@@ -91,6 +93,7 @@ public final class JeiStarter {
 		fileWatcher.start();
 
 		this.recipeCategorySortingConfig = new RecipeCategorySortingConfig(configDir.resolve("recipe-category-sort-order.ini"));
+		this.spritePaletteCache = new SpritePaletteCache(configDir.resolve("color-palette-cache.dat"));
 
 		PluginCaller.callOnPlugins("Sending ConfigManager", plugins, p -> p.onConfigManagerAvailable(configManager));
 	}
@@ -105,7 +108,9 @@ public final class JeiStarter {
 		LoggedTimer totalTime = new LoggedTimer();
 		totalTime.start("Starting JEI");
 
-		IColorHelper colorHelper = new ColorHelper(colorNameConfig);
+		String resourceFingerprint = String.join(",", minecraft.getResourcePackRepository().getSelectedIds());
+		spritePaletteCache.setResourceFingerprint(resourceFingerprint);
+		IColorHelper colorHelper = new ColorHelper(colorNameConfig, spritePaletteCache);
 
 		IClientToggleState toggleState = Internal.getClientToggleState();
 
@@ -180,5 +185,6 @@ public final class JeiStarter {
 		List<IModPlugin> plugins = data.plugins();
 		PluginCaller.callOnPlugins("Sending Runtime Unavailable", plugins, IModPlugin::onRuntimeUnavailable);
 		Internal.setRuntime(null);
+		spritePaletteCache.save();
 	}
 }
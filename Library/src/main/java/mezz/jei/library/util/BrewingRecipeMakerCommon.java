@@ -9,6 +9,7 @@ import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.common.platform.IPlatformIngredientHelper;
 import mezz.jei.common.platform.Services;
 import mezz.jei.common.util.RegistryUtil;
+import mezz.jei.core.collect.WorklistClosure;
 import mezz.jei.library.ingredients.IngredientSet;
 import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
@@ -21,7 +22,6 @@ import net.minecraft.world.item.alchemy.Potion;
 import net.minecraft.world.item.alchemy.PotionBrewing;
 import net.minecraft.world.item.alchemy.PotionContents;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class BrewingRecipeMakerCommon {
@@ -48,19 +49,21 @@ public class BrewingRecipeMakerCommon {
 			.flatMap(i -> Arrays.stream(i.getItems()))
 			.collect(Collectors.toCollection(() -> new IngredientSet<>(itemStackHelper, UidContext.Ingredient)));
 
-		boolean foundNewPotions;
-		do {
-			List<ItemStack> newPotions = getNewPotions(
+		// Each round only brews the potions that were discovered in the previous round,
+		// every potion is brewed with every reagent exactly once.
+		WorklistClosure.compute(
+			knownPotions,
+			potion -> itemStackHelper.getUniqueId(potion, UidContext.Ingredient),
+			(potionInput, newPotions) -> addRecipes(
 				potionBrewing,
 				recipeFactory,
 				itemStackHelper,
-				knownPotions,
+				potionInput,
 				potionReagents,
-				recipes
-			);
-			foundNewPotions = !newPotions.isEmpty();
-			knownPotions.addAll(newPotions);
-		} while (foundNewPotions);
+				recipes,
+				newPotions
+			)
+		);
 
 		return recipes;
 	}
@@ -86,52 +89,48 @@ public class BrewingRecipeMakerCommon {
 		return knownPotions;
 	}
 
-	private static List<ItemStack> getNewPotions(
+	private static void addRecipes(
 		PotionBrewing potionBrewing,
 		IVanillaRecipeFactory recipeFactory,
 		IIngredientHelper<ItemStack> itemStackHelper,
-		Collection<ItemStack> knownPotions,
+		ItemStack potionInput,
 		Collection<ItemStack> potionReagents,
-		Collection<IJeiBrewingRecipe> recipes
+		Collection<IJeiBrewingRecipe> recipes,
+		Consumer<ItemStack> newPotions
 	) {
-		List<ItemStack> newPotions = new ArrayList<>();
-		for (ItemStack potionInput : knownPotions) {
-			String inputId = itemStackHelper.getUniqueId(potionInput, UidContext.Recipe);
-			String inputPathId = ResourceLocationUtil.sanitizePath(inputId);
-
-			for (ItemStack potionReagent : potionReagents) {
-				ItemStack potionOutput = getOutput(potionBrewing, potionInput.copy(), potionReagent);
-				if (potionOutput.isEmpty()) {
-					continue;
-				}
+		String inputId = itemStackHelper.getUniqueId(potionInput, UidContext.Recipe);
+		String inputPathId = ResourceLocationUtil.sanitizePath(inputId);
 
-				if (potionInput.getItem() instanceof PotionItem && potionOutput.getItem() instanceof PotionItem) {
-					Optional<Holder<Potion>> potionOutputType = potionOutput.getOrDefault(DataComponents.POTION_CONTENTS, PotionContents.EMPTY).potion();
-					if (potionOutputType.isEmpty()) {
-						continue;
-					}
-				}
+		for (ItemStack potionReagent : potionReagents) {
+			ItemStack potionOutput = getOutput(potionBrewing, potionInput.copy(), potionReagent);
+			if (potionOutput.isEmpty()) {
+				continue;
+			}
 
-				String outputId = itemStackHelper.getUniqueId(potionOutput, UidContext.Recipe);
-				if (Objects.equals(inputId, outputId)) {
+			if (potionInput.getItem() instanceof PotionItem && potionOutput.getItem() instanceof PotionItem) {
+				Optional<Holder<Potion>> potionOutputType = potionOutput.getOrDefault(DataComponents.POTION_CONTENTS, PotionContents.EMPTY).potion();
+				if (potionOutputType.isEmpty()) {
 					continue;
 				}
+			}
 
-				String outputModId = itemStackHelper.getResourceLocation(potionOutput).getNamespace();
-				String uidPath = inputPathId + ".to." + ResourceLocationUtil.sanitizePath(outputId);
-				IJeiBrewingRecipe recipe = recipeFactory.createBrewingRecipe(
-					List.of(potionReagent),
-					potionInput.copy(),
-					potionOutput,
-					ResourceLocation.fromNamespaceAndPath(outputModId, uidPath)
-				);
-				if (!recipes.contains(recipe)) {
-					recipes.add(recipe);
-					newPotions.add(potionOutput);
-				}
+			String outputId = itemStackHelper.getUniqueId(potionOutput, UidContext.Recipe);
+			if (Objects.equals(inputId, outputId)) {
+				continue;
+			}
+
+			String outputModId = itemStackHelper.getResourceLocation(potionOutput).getNamespace();
+			String uidPath = inputPathId + ".to." + ResourceLocationUtil.sanitizePath(outputId);
+			IJeiBrewingRecipe recipe = recipeFactory.createBrewingRecipe(
+				List.of(potionReagent),
+				potionInput.copy(),
+				potionOutput,
+				ResourceLocation.fromNamespaceAndPath(outputModId, uidPath)
+			);
+			if (recipes.add(recipe)) {
+				newPotions.accept(potionOutput);
 			}
 		}
-		return newPotions;
 	}
 
 	private static ItemStack getOutput(PotionBrewing potionBrewing, ItemStack potion, ItemStack itemStack) {
@@ -0,0 +1,111 @@
+package mezz.jei.test.color;
+
+import mezz.jei.library.color.ColorThief;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class ColorThiefTest {
+	private static final int QUALITY = 2;
+
+	@Test
+	public void testEmptyImage() {
+		int[][] palette = ColorThief.getPalette(new int[0], 2, QUALITY, false);
+		Assertions.assertEquals(0, palette.length);
+	}
+
+	@Test
+	public void testTransparentImage() {
+		int[] pixels = new int[16 * 16];
+		int[][] palette = ColorThief.getPalette(pixels, 2, QUALITY, false);
+		Assertions.assertEquals(0, palette.length);
+	}
+
+	@Test
+	public void testSingleColor() {
+		int[] pixels = createSolidImage(16, 16, 0xFF2040C0);
+		assertPalette(new int[][]{{196, 68, 36}}, pixels, 2, false);
+	}
+
+	@Test
+	public void testIgnoreWhite() {
+		int[] pixels = createSolidImage(16, 16, 0xFFFFFFFF);
+		pixels[0] = 0xFF000000;
+		assertPalette(new int[][]{{4, 4, 4}}, pixels, 2, true);
+		assertPalette(new int[][]{{252, 252, 252}}, pixels, 2, false);
+	}
+
+	@Test
+	public void testTwoColors() {
+		int[] pixels = new int[16 * 16];
+		for (int i = 0; i < pixels.length; i++) {
+			pixels[i] = (i % 16) < 12 ? 0xFF1020F0 : 0xFF30C040;
+		}
+		assertPalette(new int[][]{{68, 196, 52}, {244, 36, 20}}, pixels, 2, false);
+	}
+
+	@Test
+	public void testRandomImages() {
+		assertPalette(
+			new int[][]{{226, 65, 77}, {12, 238, 103}, {159, 193, 24}},
+			createRandomImage(new Random(1), 16, 16), 2, false
+		);
+		assertPalette(
+			new int[][]{{191, 39, 108}, {82, 200, 226}, {102, 15, 13}},
+			createRandomImage(new Random(2), 16, 16), 4, true
+		);
+		assertPalette(
+			new int[][]{{9, 245, 141}, {230, 35, 204}, {135, 42, 19}},
+			createRandomImage(new Random(3), 32, 32), 5, false
+		);
+	}
+
+	@Test
+	public void testManyColors() {
+		assertPalette(
+			new int[][]{{140, 116, 220}, {215, 54, 235}, {217, 33, 235}, {148, 139, 188}, {130, 68, 230}},
+			createRandomImage(new Random(4), 64, 64), 8, false
+		);
+	}
+
+	private static void assertPalette(int[][] expected, int[] pixels, int colorCount, boolean ignoreWhite) {
+		int[][] actual = ColorThief.getPalette(pixels, colorCount, QUALITY, ignoreWhite);
+		Assertions.assertArrayEquals(expected, actual);
+	}
+
+	private static int[] createSolidImage(int width, int height, int abgr) {
+		int[] pixels = new int[width * height];
+		Arrays.fill(pixels, abgr);
+		return pixels;
+	}
+
+	/**
+	 * Creates an image made of a few blobs of similar colors, like an item sprite, with some transparent pixels.
+	 */
+	private static int[] createRandomImage(Random random, int width, int height) {
+		int[] baseColors = new int[1 + random.nextInt(6)];
+		for (int i = 0; i < baseColors.length; i++) {
+			baseColors[i] = random.nextInt(0x1000000);
+		}
+
+		int[] pixels = new int[width * height];
+		for (int i = 0; i < pixels.length; i++) {
+			if (random.nextInt(5) == 0) {
+				pixels[i] = random.nextInt(0x80) << 24;
+				continue;
+			}
+			int baseColor = baseColors[random.nextInt(baseColors.length)];
+			int r = vary(random, baseColor & 0xFF);
+			int g = vary(random, baseColor >> 8 & 0xFF);
+			int b = vary(random, baseColor >> 16 & 0xFF);
+			pixels[i] = 0xFF000000 | b << 16 | g << 8 | r;
+		}
+		return pixels;
+	}
+
+	private static int vary(Random random, int value) {
+		return Math.clamp(value + random.nextInt(41) - 20, 0, 255);
+	}
+}
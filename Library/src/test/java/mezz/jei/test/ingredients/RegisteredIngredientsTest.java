@@ -0,0 +1,141 @@
+package mezz.jei.test.ingredients;
+
+import mezz.jei.api.ingredients.IIngredientHelper;
+import mezz.jei.api.ingredients.IIngredientRenderer;
+import mezz.jei.api.ingredients.IIngredientType;
+import mezz.jei.library.ingredients.IngredientInfo;
+import mezz.jei.library.ingredients.RegisteredIngredients;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+public class RegisteredIngredientsTest {
+	private static final IIngredientType<CharSequence> CHAR_SEQUENCE = () -> CharSequence.class;
+	private static final IIngredientType<String> STRING = () -> String.class;
+	private static final IIngredientType<Number> NUMBER = () -> Number.class;
+
+	private static final int THREADS = 16;
+	private static final int LOOKUPS_PER_THREAD = 20_000;
+
+	private static RegisteredIngredients createRegisteredIngredients() {
+		// CharSequence is registered before String, to check that an exact class match wins over a supertype
+		List<IngredientInfo<?>> ingredientInfos = List.of(
+			createIngredientInfo(CHAR_SEQUENCE),
+			createIngredientInfo(STRING),
+			createIngredientInfo(NUMBER)
+		);
+		return new RegisteredIngredients(ingredientInfos);
+	}
+
+	private static <T> IngredientInfo<T> createIngredientInfo(IIngredientType<T> ingredientType) {
+		@SuppressWarnings("unchecked")
+		IIngredientHelper<T> ingredientHelper = createUnusedProxy(IIngredientHelper.class);
+		@SuppressWarnings("unchecked")
+		IIngredientRenderer<T> ingredientRenderer = createUnusedProxy(IIngredientRenderer.class);
+		return new IngredientInfo<>(ingredientType, List.of(), ingredientHelper, ingredientRenderer);
+	}
+
+	private static <T> T createUnusedProxy(Class<T> interfaceClass) {
+		Object proxy = Proxy.newProxyInstance(
+			interfaceClass.getClassLoader(),
+			new Class<?>[]{interfaceClass},
+			(p, method, args) -> {
+				throw new UnsupportedOperationException(method.getName());
+			}
+		);
+		return interfaceClass.cast(proxy);
+	}
+
+	private static Map<Class<?>, Optional<IIngredientType<?>>> getExpectedTypes() {
+		return Map.ofEntries(
+			Map.entry(String.class, Optional.of(STRING)),
+			Map.entry(StringBuilder.class, Optional.of(CHAR_SEQUENCE)),
+			Map.entry(StringBuffer.class, Optional.of(CHAR_SEQUENCE)),
+			Map.entry(Integer.class, Optional.of(NUMBER)),
+			Map.entry(Long.class, Optional.of(NUMBER)),
+			Map.entry(Double.class, Optional.of(NUMBER)),
+			Map.entry(Float.class, Optional.of(NUMBER)),
+			Map.entry(Short.class, Optional.of(NUMBER)),
+			Map.entry(Byte.class, Optional.of(NUMBER)),
+			Map.entry(BigInteger.class, Optional.of(NUMBER)),
+			Map.entry(BigDecimal.class, Optional.of(NUMBER)),
+			Map.entry(AtomicInteger.class, Optional.of(NUMBER)),
+			Map.entry(AtomicLong.class, Optional.of(NUMBER)),
+			Map.entry(LongAdder.class, Optional.of(NUMBER)),
+			Map.entry(DoubleAdder.class, Optional.of(NUMBER)),
+			Map.entry(Object.class, Optional.empty()),
+			Map.entry(Boolean.class, Optional.empty()),
+			Map.entry(Character.class, Optional.empty())
+		);
+	}
+
+	@Test
+	public void testGetIngredientType() {
+		RegisteredIngredients registeredIngredients = createRegisteredIngredients();
+		getExpectedTypes().forEach((ingredientClass, expectedType) -> {
+			Assertions.assertEquals(expectedType, registeredIngredients.getIngredientType(ingredientClass), ingredientClass.getName());
+			// the second lookup is served from the cache
+			Assertions.assertEquals(expectedType, registeredIngredients.getIngredientType(ingredientClass), ingredientClass.getName());
+		});
+
+		Assertions.assertEquals(Optional.of(STRING), registeredIngredients.getIngredientType("string"));
+		Assertions.assertEquals(Optional.of(NUMBER), registeredIngredients.getIngredientType(1));
+	}
+
+	@Test
+	public void testGetIngredientTypeConcurrently() throws Exception {
+		Map<Class<?>, Optional<IIngredientType<?>>> expectedTypes = getExpectedTypes();
+		List<Class<?>> ingredientClasses = List.copyOf(expectedTypes.keySet());
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			// repeat with fresh instances, so that every run starts with nothing cached
+			for (int run = 0; run < 10; run++) {
+				RegisteredIngredients registeredIngredients = createRegisteredIngredients();
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<List<String>>> futures = new ArrayList<>();
+				for (int thread = 0; thread < THREADS; thread++) {
+					final long seed = run * THREADS + thread;
+					futures.add(executor.submit(() -> {
+						start.await();
+						Random random = new Random(seed);
+						List<String> errors = new ArrayList<>();
+						for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+							Class<?> ingredientClass = ingredientClasses.get(random.nextInt(ingredientClasses.size()));
+							Optional<IIngredientType<Object>> ingredientType = registeredIngredients.getIngredientType(ingredientClass);
+							Optional<IIngredientType<?>> expectedType = expectedTypes.get(ingredientClass);
+							if (!expectedType.equals(ingredientType)) {
+								errors.add(ingredientClass.getName() + ": expected " + expectedType + " but got " + ingredientType);
+							}
+						}
+						return errors;
+					}));
+				}
+				start.countDown();
+
+				for (Future<List<String>> future : futures) {
+					List<String> errors = future.get();
+					Assertions.assertEquals(List.of(), errors);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -31,6 +31,21 @@ public class TestClientConfig implements IClientConfig {
 		return false;
 	}
 
+	@Override
+	public boolean isBatchedItemRenderingEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isIngredientGridTextureCacheEnabled() {
+		return false;
+	}
+
+	@Override
+	public int getTooltipCacheTimeout() {
+		return 0;
+	}
+
 	@Override
 	public boolean isCheatToHotbarUsingHotkeysEnabled() {
 		return false;